@@ -1,5 +1,7 @@
 package Block;
 
+import listeners.BlockChangeListener;
+
 /**
  * Abstract base class representing a building block on a cell.
  * Each block manages building levels and domes.
@@ -7,6 +9,7 @@ package Block;
 public abstract class Block {
     protected int level;         // Building level (0~3)
     protected boolean hasDome;   // True if a dome is built on the block
+    private BlockChangeListener changeListener;
 
     /**
      * Constructs a new Block with initial level 0 and no dome.
@@ -45,6 +48,43 @@ public abstract class Block {
     public void destroy(){
         if(level > 0){
             this.level -= 1;
+            changed(level + 1, hasDome);
+        }
+    }
+
+    /**
+     * Restores the block to a previously recorded level and dome state.
+     * Used when loading a position rather than playing it out.
+     *
+     * @param level The building level to restore (0~3).
+     * @param hasDome true if the block should carry a dome.
+     */
+    public void restore(int level, boolean hasDome){
+        int previousLevel = this.level;
+        boolean previousDome = this.hasDome;
+        this.level = level;
+        this.hasDome = hasDome;
+        changed(previousLevel, previousDome);
+    }
+
+    /**
+     * Sets the listener told about every level or dome change (the owning cell).
+     *
+     * @param changeListener The listener, or null to stop notifications.
+     */
+    public void setChangeListener(BlockChangeListener changeListener){
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Reports a change to the listener. Subclasses call this after modifying level or dome.
+     *
+     * @param previousLevel The level before the change.
+     * @param previousDome The dome state before the change.
+     */
+    protected void changed(int previousLevel, boolean previousDome){
+        if(changeListener != null){
+            changeListener.onBlockChanged(previousLevel, previousDome);
         }
     }
 
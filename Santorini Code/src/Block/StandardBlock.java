@@ -14,8 +14,10 @@ public class StandardBlock extends Block {
         if (!hasDome) {
             if (level < 3) {
                 level++;
+                changed(level - 1, false);
             } else {
                 hasDome = true;
+                changed(level, false);
             }
         }
     }
@@ -0,0 +1,144 @@
+package Board;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable 8-directional adjacency table for a board shape.
+ * Neighbour indices are packed per cell into one array (cell i owns the slice
+ * [start[i], start[i + 1])), so callers walk a precomputed list instead of
+ * repeating the dx/dy loop and bounds checks on every query.
+ * Tables are built once per shape and shared between boards of that shape.
+ */
+public final class AdjacencyTable {
+    private static final Map<Shape, AdjacencyTable> CACHE = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int cols;
+    private final int[] start;
+    private final int[] neighbours;
+    private final long[] masks;  // Neighbour bitmask per cell, only when the board fits in a long
+
+    private AdjacencyTable(int rows, int cols, BitSet holes) {
+        this.rows = rows;
+        this.cols = cols;
+        int size = rows * cols;
+        this.start = new int[size + 1];
+
+        int[] packed = new int[size * 8];
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            start[index] = count;
+            if (holes.get(index)) continue;
+
+            int row = index / cols;
+            int col = index % cols;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx == 0 && dy == 0) continue;
+                    int newRow = row + dx;
+                    int newCol = col + dy;
+                    if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols) continue;
+
+                    int neighbour = newRow * cols + newCol;
+                    if (!holes.get(neighbour)) {
+                        packed[count++] = neighbour;
+                    }
+                }
+            }
+        }
+        start[size] = count;
+        this.neighbours = Arrays.copyOf(packed, count);
+
+        if (size <= Long.SIZE) {
+            this.masks = new long[size];
+            for (int index = 0; index < size; index++) {
+                for (int k = start[index]; k < start[index + 1]; k++) {
+                    masks[index] |= 1L << neighbours[k];
+                }
+            }
+        } else {
+            this.masks = null;
+        }
+    }
+
+    /**
+     * Retrieves the shared table for a board shape, building it on first use.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param holes The row-major indices of positions that have no cell.
+     * @return the adjacency table for the shape.
+     */
+    public static AdjacencyTable forShape(int rows, int cols, BitSet holes) {
+        Shape shape = new Shape(rows, cols, (BitSet) holes.clone());
+        return CACHE.computeIfAbsent(shape, s -> new AdjacencyTable(s.rows(), s.cols(), s.holes()));
+    }
+
+    /**
+     * Retrieves the position in {@link #neighbourAt(int)} of the first neighbour of a cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return the inclusive start offset.
+     */
+    public int start(int index) {
+        return start[index];
+    }
+
+    /**
+     * Retrieves the position just past the last neighbour of a cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return the exclusive end offset.
+     */
+    public int end(int index) {
+        return start[index + 1];
+    }
+
+    /**
+     * Retrieves a packed neighbour entry.
+     *
+     * @param offset An offset between {@link #start(int)} and {@link #end(int)}.
+     * @return the row-major index of the neighbour.
+     */
+    public int neighbourAt(int offset) {
+        return neighbours[offset];
+    }
+
+    /**
+     * Retrieves the number of neighbours of a cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return the neighbour count (0~8).
+     */
+    public int degree(int index) {
+        return start[index + 1] - start[index];
+    }
+
+    /**
+     * Retrieves the neighbours of a cell as a bitmask.
+     * Only available on boards of at most 64 positions.
+     *
+     * @param index The row-major index of the cell.
+     * @return the neighbour bitmask.
+     */
+    public long mask(int index) {
+        if (masks == null) {
+            throw new UnsupportedOperationException("Neighbour masks need at most 64 cells, board is " + rows + "x" + cols);
+        }
+        return masks[index];
+    }
+
+    /**
+     * Checks whether neighbour bitmasks are available for this shape.
+     *
+     * @return true if the board has at most 64 positions.
+     */
+    public boolean hasMasks() {
+        return masks != null;
+    }
+
+    private record Shape(int rows, int cols, BitSet holes) {}
+}
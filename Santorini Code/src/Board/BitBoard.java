@@ -0,0 +1,391 @@
+package Board;
+
+import Block.Block;
+import Player.Player;
+import Player.Worker;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Compact bitboard representation of a board position.
+ * Each cell is one bit in a long, using the same row-major index as {@link Board#getCell(int)},
+ * so boards of up to 64 positions are supported.
+ * Move and build generation mirror {@link Worker#canMoveTo(Cell)} and {@link Worker#canBuildOn(Cell)}
+ * but are answered with a handful of masks (per-cell neighbours come from the shared
+ * {@link AdjacencyTable}) instead of walking cells.
+ * A game can keep one in step with its board (see {@link engine.GameState#enableBitBoard()}), which the
+ * rules and the computer players then use for their move queries.
+ */
+public class BitBoard {
+    public static final int MAX_CELLS = Long.SIZE;
+    public static final int MAX_LEVEL = 3;
+    public static final int WORKERS_PER_PLAYER = 2;
+
+    private final int rows;
+    private final int cols;
+    private final long boardMask;      // Bits of positions that hold a cell (holes excluded)
+    private final AdjacencyTable adjacency;
+
+    private final long[] levels = new long[MAX_LEVEL + 1];  // levels[k] = cells at exactly level k
+    private long domes;
+    private long flooded;
+    private final long[] workers;      // workers[p] = cells occupied by player p's workers
+    private final int[][] workerCells; // workerCells[p][id] = cell index of the worker, or -1
+
+    /**
+     * Creates an empty position (all cells level 0, no workers) for the given board shape.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param boardMask Bits of the positions that are part of the layout.
+     * @param numPlayers The number of players.
+     */
+    public BitBoard(int rows, int cols, long boardMask, int numPlayers) {
+        if (rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Bitboards support at most " + MAX_CELLS + " cells, got " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.boardMask = boardMask;
+
+        BitSet holes = new BitSet(rows * cols);
+        for (int index = 0; index < rows * cols; index++) {
+            if ((boardMask & (1L << index)) == 0L) holes.set(index);
+        }
+        this.adjacency = AdjacencyTable.forShape(rows, cols, holes);
+
+        this.levels[0] = boardMask;
+        this.workers = new long[numPlayers];
+        this.workerCells = new int[numPlayers][WORKERS_PER_PLAYER];
+        for (int[] ids : workerCells) {
+            Arrays.fill(ids, -1);
+        }
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other The position to copy.
+     */
+    public BitBoard(BitBoard other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.boardMask = other.boardMask;
+        this.adjacency = other.adjacency;
+        System.arraycopy(other.levels, 0, this.levels, 0, levels.length);
+        this.domes = other.domes;
+        this.flooded = other.flooded;
+        this.workers = other.workers.clone();
+        this.workerCells = new int[other.workerCells.length][];
+        for (int p = 0; p < workerCells.length; p++) {
+            this.workerCells[p] = other.workerCells[p].clone();
+        }
+    }
+
+    /**
+     * Captures the current position of a board.
+     *
+     * @param board The board to read.
+     * @param players The players, in the order used for the per-player worker masks.
+     * @return the bitboard position.
+     */
+    public static BitBoard fromBoard(Board board, Player[] players) {
+        long mask = 0L;
+        for (Cell cell : board.getAllCells()) {
+            mask |= 1L << board.indexOf(cell);
+        }
+
+        BitBoard bits = new BitBoard(board.getRows(), board.getCols(), mask, players.length);
+        for (Cell cell : board.getAllCells()) {
+            int index = board.indexOf(cell);
+            long bit = 1L << index;
+            Block block = cell.getBlock();
+
+            bits.levels[0] &= ~bit;
+            bits.levels[block.getLevel()] |= bit;
+            if (block.hasDome()) bits.domes |= bit;
+            if (cell.isFlooded()) bits.flooded |= bit;
+
+            Worker worker = cell.getOccupiedBy();
+            if (worker != null) {
+                int p = indexOfPlayer(players, worker.getOwner());
+                bits.workers[p] |= bit;
+                bits.workerCells[p][worker.getId()] = index;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Writes this position back onto a board of the same shape.
+     * Existing workers are reused and repositioned; missing workers are created.
+     *
+     * @param board The board to overwrite.
+     * @param players The players, in the same order used to build this position.
+     */
+    public void writeTo(Board board, Player[] players) {
+        Worker[][] existing = new Worker[players.length][WORKERS_PER_PLAYER];
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker != null) {
+                existing[indexOfPlayer(players, worker.getOwner())][worker.getId()] = worker;
+                worker.setPosition(null);
+                cell.setOccupiedBy(null);
+            }
+        }
+
+        for (Cell cell : board.getAllCells()) {
+            int index = board.indexOf(cell);
+            cell.getBlock().restore(getLevel(index), hasDome(index));
+            cell.setFlooded(isFlooded(index));
+        }
+
+        for (int p = 0; p < players.length; p++) {
+            for (int id = 0; id < WORKERS_PER_PLAYER; id++) {
+                int index = workerCells[p][id];
+                if (index < 0) continue;
+
+                Worker worker = existing[p][id] != null ? existing[p][id] : new Worker(players[p], id);
+                worker.move(board.getCell(index));
+            }
+        }
+    }
+
+    private static int indexOfPlayer(Player[] players, Player player) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == player) return p;
+        }
+        throw new IllegalArgumentException("Worker owner " + player.getName() + " is not one of the given players");
+    }
+
+    // === Generation ===
+
+    /**
+     * Retrieves the cells a worker standing on the given cell can move to.
+     * Targets must be unoccupied, unflooded, have no dome and be at most one level higher.
+     *
+     * @param from The index of the cell the worker stands on.
+     * @return the set of legal move targets.
+     */
+    public long moveTargets(int from) {
+        return adjacency.mask(from) & ~blocked() & reachableFrom(getLevel(from));
+    }
+
+    /**
+     * Retrieves the cells a worker standing on the given cell can build on.
+     * Targets must be unoccupied, unflooded and have no dome.
+     *
+     * @param from The index of the cell the worker stands on.
+     * @return the set of legal build targets.
+     */
+    public long buildTargets(int from) {
+        return adjacency.mask(from) & ~blocked();
+    }
+
+    /**
+     * Checks whether any of a player's workers has a legal move.
+     *
+     * @param player The player index.
+     * @return true if at least one worker can move.
+     */
+    public boolean hasAnyMove(int player) {
+        for (int id = 0; id < WORKERS_PER_PLAYER; id++) {
+            int from = workerCells[player][id];
+            if (from >= 0 && moveTargets(from) != 0L) return true;
+        }
+        return false;
+    }
+
+    private long blocked() {
+        return domes | flooded | occupied();
+    }
+
+    private long reachableFrom(int level) {
+        long result = 0L;
+        for (int k = 0; k <= Math.min(level + 1, MAX_LEVEL); k++) {
+            result |= levels[k];
+        }
+        return result;
+    }
+
+    // === Mutation ===
+
+    /**
+     * Moves the worker on one cell to another.
+     *
+     * @param from The index of the worker's current cell.
+     * @param to The index of the target cell.
+     * @return true if the worker now stands on level 3.
+     */
+    public boolean move(int from, int to) {
+        long fromBit = 1L << from;
+        long toBit = 1L << to;
+        for (int p = 0; p < workers.length; p++) {
+            if ((workers[p] & fromBit) == 0L) continue;
+
+            workers[p] ^= fromBit | toBit;
+            int[] ids = workerCells[p];
+            for (int id = 0; id < ids.length; id++) {
+                if (ids[id] == from) ids[id] = to;
+            }
+            break;
+        }
+        return (levels[MAX_LEVEL] & toBit) != 0L;
+    }
+
+    /**
+     * Builds on a cell: adds a level up to 3, then a dome.
+     *
+     * @param index The index of the cell.
+     */
+    public void build(int index) {
+        long bit = 1L << index;
+        if ((domes & bit) != 0L) return;
+
+        int level = getLevel(index);
+        if (level < MAX_LEVEL) {
+            levels[level] &= ~bit;
+            levels[level + 1] |= bit;
+        } else {
+            domes |= bit;
+        }
+    }
+
+    /**
+     * Removes the top level of a cell, mirroring {@link Block#destroy()}.
+     *
+     * @param index The index of the cell.
+     */
+    public void destroy(int index) {
+        long bit = 1L << index;
+        int level = getLevel(index);
+        if (level > 0) {
+            levels[level] &= ~bit;
+            levels[level - 1] |= bit;
+        }
+    }
+
+    /**
+     * Floods a cell.
+     *
+     * @param index The index of the cell.
+     */
+    public void flood(int index) {
+        flooded |= 1L << index;
+    }
+
+    /**
+     * Overwrites everything about one cell, e.g. to follow a change made on the {@link Board}.
+     *
+     * @param index The index of the cell.
+     * @param level The level of the cell.
+     * @param dome Whether the cell has a dome.
+     * @param flooded Whether the cell is flooded.
+     * @param player The player index of the worker on the cell, or -1 if it is empty.
+     * @param workerId The id of that worker.
+     */
+    public void setCell(int index, int level, boolean dome, boolean flooded, int player, int workerId) {
+        long bit = 1L << index;
+        for (int k = 0; k <= MAX_LEVEL; k++) {
+            levels[k] &= ~bit;
+        }
+        levels[level] |= bit;
+        domes = dome ? domes | bit : domes & ~bit;
+        this.flooded = flooded ? this.flooded | bit : this.flooded & ~bit;
+
+        for (int p = 0; p < workers.length; p++) {
+            if ((workers[p] & bit) == 0L) continue;
+            workers[p] &= ~bit;
+            int[] ids = workerCells[p];
+            for (int id = 0; id < ids.length; id++) {
+                if (ids[id] == index) ids[id] = -1;
+            }
+        }
+        if (player >= 0) {
+            workers[player] |= bit;
+            workerCells[player][workerId] = index;
+        }
+    }
+
+    // === Queries ===
+
+    public int getRows() { return rows; }
+
+    public int getCols() { return cols; }
+
+    public long getBoardMask() { return boardMask; }
+
+    /**
+     * Retrieves the cells at exactly the given level.
+     *
+     * @param level The level (0~3).
+     * @return the set of cells at that level.
+     */
+    public long getLevelMask(int level) { return levels[level]; }
+
+    public long getDomes() { return domes; }
+
+    public long getFlooded() { return flooded; }
+
+    /**
+     * Retrieves the cells occupied by a player's workers.
+     *
+     * @param player The player index.
+     * @return the set of occupied cells.
+     */
+    public long getWorkers(int player) { return workers[player]; }
+
+    /**
+     * Retrieves the cell of a specific worker.
+     *
+     * @param player The player index.
+     * @param id The worker id.
+     * @return the cell index, or -1 if the worker is not on the board.
+     */
+    public int getWorkerCell(int player, int id) { return workerCells[player][id]; }
+
+    /**
+     * Retrieves every occupied cell.
+     *
+     * @return the union of all players' worker masks.
+     */
+    public long occupied() {
+        long result = 0L;
+        for (long mask : workers) {
+            result |= mask;
+        }
+        return result;
+    }
+
+    public int getLevel(int index) {
+        long bit = 1L << index;
+        for (int k = MAX_LEVEL; k > 0; k--) {
+            if ((levels[k] & bit) != 0L) return k;
+        }
+        return 0;
+    }
+
+    public boolean hasDome(int index) { return (domes & (1L << index)) != 0L; }
+
+    public boolean isFlooded(int index) { return (flooded & (1L << index)) != 0L; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BitBoard other)) return false;
+        return rows == other.rows && cols == other.cols && boardMask == other.boardMask
+                && domes == other.domes && flooded == other.flooded
+                && Arrays.equals(levels, other.levels) && Arrays.equals(workers, other.workers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(boardMask);
+        result = 31 * result + Arrays.hashCode(levels);
+        result = 31 * result + Long.hashCode(domes);
+        result = 31 * result + Long.hashCode(flooded);
+        result = 31 * result + Arrays.hashCode(workers);
+        return result;
+    }
+}
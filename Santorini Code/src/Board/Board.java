@@ -1,11 +1,16 @@
 package Board;
 
+import Player.Worker;
 import artifacts.ArtifactCellCondition;
 import frontend.HighlightType;
 import frontend.SelectedStatus;
+import listeners.CellChangeListener;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents the game board.
@@ -15,8 +20,15 @@ public class Board {
     private final int rows;
     private final int cols;
     private final List<Cell> cells = new ArrayList<>();
-    private Cell lastBuiltCell = null;
-    private Cell lastMovedCell = null;
+    private final List<Cell> cellView = Collections.unmodifiableList(cells);
+    private final Cell[] grid;          // Row-major index of cells, null where the layout has a hole
+    private final AdjacencyTable adjacency;
+    private final List<List<Cell>> neighbours;  // Neighbouring cells per index, resolved from the adjacency table
+    private final List<CellChangeListener> cellListeners = new ArrayList<>();
+    private final BitSet dirtyCells = new BitSet();   // Row-major indices of cells changed since the last drain
+    // Cells matching each condition asked about so far, kept up to date on every cell change
+    private final List<ArtifactCellCondition> trackedConditions = new ArrayList<>();
+    private final List<BitSet> trackedCells = new ArrayList<>();
 
 
     /**
@@ -25,15 +37,65 @@ public class Board {
      * @param cols the number of columns the board has
      */
     public Board(int rows, int cols) {
+        this(rows, cols, new BitSet());
+    }
+
+    /**
+     * Initialises an irregular game board where some positions are not part of the layout.
+     * @param rows the number of rows the board has
+     * @param cols the number of columns the board has
+     * @param holes the row-major indices (row * cols + col) of positions that have no cell
+     */
+    public Board(int rows, int cols, BitSet holes) {
         this.rows = rows;
         this.cols = cols;
+        this.grid = new Cell[rows * cols];
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                cells.add(new DefaultCell(row, col));
+                int index = row * cols + col;
+                if (holes.get(index)) continue;
+
+                Cell cell = new DefaultCell(row, col);
+                cell.setChangeListener(this::fireCellChanged);
+                cell.setMarkingListener(() -> dirtyCells.set(index));
+                grid[index] = cell;
+                cells.add(cell);
+            }
+        }
+
+        this.adjacency = AdjacencyTable.forShape(rows, cols, holes);
+        this.neighbours = new ArrayList<>(grid.length);
+        for (int index = 0; index < grid.length; index++) {
+            Cell[] around = new Cell[adjacency.degree(index)];
+            for (int k = 0; k < around.length; k++) {
+                around[k] = grid[adjacency.neighbourAt(adjacency.start(index) + k)];
             }
+            neighbours.add(List.of(around));
         }
     }
 
+    /**
+     * Copies the shape and the buildings (levels, domes, floods) of another board.
+     * Workers are not copied because they belong to players; place them on the copy separately.
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        this(other.rows, other.cols, other.holes());
+        for (Cell cell : other.cells) {
+            Cell copy = grid[other.indexOf(cell)];
+            copy.getBlock().restore(cell.getBlock().getLevel(), cell.getBlock().hasDome());
+            copy.setFlooded(cell.isFlooded());
+        }
+    }
+
+    private BitSet holes() {
+        BitSet holes = new BitSet(grid.length);
+        for (int index = 0; index < grid.length; index++) {
+            if (grid[index] == null) holes.set(index);
+        }
+        return holes;
+    }
+
     /**
      * Retrieves the number of rows of the board.
      * @return the number of rows.
@@ -53,9 +115,39 @@ public class Board {
      * @return The Cell at the specified position, or null if out of bounds.
      */
     public Cell getCell(int row, int col) {
-        return cells.stream()
-                .filter(cell -> cell.getRow() == row && cell.getCol() == col)
-                .findFirst().orElse(null);
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return null;
+        }
+        return grid[row * cols + col];
+    }
+
+    /**
+     * Retrieves the cell at the given row-major index.
+     * @param index The index of the cell (row * cols + col).
+     * @return The Cell at the specified index, or null if out of bounds or a hole.
+     */
+    public Cell getCell(int index) {
+        if (index < 0 || index >= grid.length) {
+            return null;
+        }
+        return grid[index];
+    }
+
+    /**
+     * Retrieves the row-major index of a cell on this board.
+     * @param cell The cell to locate.
+     * @return the index of the cell (row * cols + col).
+     */
+    public int indexOf(Cell cell) {
+        return cell.getRow() * cols + cell.getCol();
+    }
+
+    /**
+     * Retrieves the size of the row-major index, including holes.
+     * @return rows * cols.
+     */
+    public int getIndexSize() {
+        return grid.length;
     }
 
     /**
@@ -63,10 +155,29 @@ public class Board {
      * This allows iteration over the entire board without relying on
      * a fixed two-dimensional structure, enabling flexible board layouts.
      *
-     * @return a list of all active Cell objects on the board.
+     * @return a read-only list of all active Cell objects on the board.
      */
     public List<Cell> getAllCells() {
-        return cells;
+        return cellView;
+    }
+
+    /**
+     * Retrieves the cells adjacent to the given cell in all 8 directions.
+     * The list is precomputed from the board's adjacency table, so no bounds checks happen per call.
+     *
+     * @param cell The centre cell.
+     * @return a read-only list of neighbouring cells.
+     */
+    public List<Cell> getNeighbours(Cell cell) {
+        return neighbours.get(indexOf(cell));
+    }
+
+    /**
+     * Retrieves the adjacency table shared by boards of this shape.
+     * @return the adjacency table.
+     */
+    public AdjacencyTable getAdjacency() {
+        return adjacency;
     }
 
     /**
@@ -76,7 +187,89 @@ public class Board {
      * @return true if the position is valid; false otherwise.
      */
     public boolean isValidPosition(int row, int col) {
-        return getCell(row, col) != null;
+        return row >= 0 && row < rows && col >= 0 && col < cols && grid[row * cols + col] != null;
+    }
+
+    /**
+     * Registers a listener told about every level, dome, flood and occupant change on this board.
+     * @param listener the listener to add
+     */
+    public void addCellChangeListener(CellChangeListener listener) {
+        cellListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered cell change listener.
+     * @param listener the listener to remove
+     */
+    public void removeCellChangeListener(CellChangeListener listener) {
+        cellListeners.remove(listener);
+    }
+
+    private void fireCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded, Worker previousOccupant) {
+        int index = indexOf(cell);
+        dirtyCells.set(index);
+        for (int i = 0; i < trackedConditions.size(); i++) {
+            trackedCells.get(i).set(index, trackedConditions.get(i).isCellUsable(cell));
+        }
+        for (int i = 0; i < cellListeners.size(); i++) {
+            cellListeners.get(i).onCellChanged(cell, previousLevel, previousDome, previousFlooded, previousOccupant);
+        }
+    }
+
+    /**
+     * Checks whether any cell matches a condition.
+     * The first question about a condition scans the board once; after that the matching cells are
+     * updated on every change to a cell, so the answer is a lookup. The condition must only depend on the
+     * cell's own level, dome, flood and occupant, and should be a shared constant: conditions are told apart
+     * by identity, so a new lambda on every call would be scanned for, and tracked, again each time.
+     * @param condition the condition, e.g. an artifact's target condition
+     * @return true if at least one cell matches
+     */
+    public boolean hasMatchingCell(ArtifactCellCondition condition) {
+        return !matchingCells(condition).isEmpty();
+    }
+
+    /**
+     * Finds the next cell matching a condition, in row-major order; see {@link #hasMatchingCell}.
+     * Iterate with {@code for (int i = board.nextMatchingCell(c, 0); i >= 0; i = board.nextMatchingCell(c, i + 1))}.
+     * @param condition the condition, e.g. an artifact's target condition
+     * @param fromIndex the row-major index to start at
+     * @return the index of the next matching cell, or -1 if there is none
+     */
+    public int nextMatchingCell(ArtifactCellCondition condition, int fromIndex) {
+        return matchingCells(condition).nextSetBit(fromIndex);
+    }
+
+    private BitSet matchingCells(ArtifactCellCondition condition) {
+        for (int i = 0; i < trackedConditions.size(); i++) {
+            if (trackedConditions.get(i) == condition) {
+                return trackedCells.get(i);
+            }
+        }
+
+        BitSet matching = new BitSet(grid.length);
+        for (Cell cell : cells) {
+            if (condition.isCellUsable(cell)) {
+                matching.set(indexOf(cell));
+            }
+        }
+        trackedConditions.add(condition);
+        trackedCells.add(matching);
+        return matching;
+    }
+
+    /**
+     * Hands every cell changed since the last call (level, dome, flood, occupant, status or highlight)
+     * to the given action, once each in row-major order, and forgets them.
+     * Lets a view repaint only the cells that changed.
+     * @param action the action to run for each changed cell
+     */
+    public void drainDirtyCells(Consumer<Cell> action) {
+        for (int index = dirtyCells.nextSetBit(0); index >= 0; index = dirtyCells.nextSetBit(index + 1)) {
+            action.accept(grid[index]);
+        }
+        dirtyCells.clear();
     }
 
     /**
@@ -88,7 +281,6 @@ public class Board {
         Cell targetCell = getCell(row, col);
         if (targetCell != null && targetCell.canBuild()) {
             targetCell.getBlock().build();
-            lastBuiltCell = targetCell;
         }
     }
 
@@ -114,31 +306,4 @@ public class Board {
                 .filter(cell -> cell.getStatus() == SelectedStatus.SELECTED)
                 .findFirst().orElse(null);
     }
-
-    /**
-     * Retrieves the latest cell that had been built on.
-     * @return the last built cell.
-     */
-    public Cell getLastBuiltCell() {
-        return lastBuiltCell;
-    }
-
-
-    /**
-     * Retrieves the cell a worker has previously moved to
-     * @return the previous cell
-     */
-    public Cell getLastMovedCell() {
-
-        return this.lastMovedCell;
-    }
-
-    /**
-     * Sets the last moved cell
-     * @param lastMovedCell the cell to be set
-     */
-    public void setLastMovedCell(Cell lastMovedCell) {
-        this.lastMovedCell = lastMovedCell;
-    }
 }
-
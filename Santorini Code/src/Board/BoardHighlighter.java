@@ -4,6 +4,8 @@ import artifacts.ArtifactCellCondition;
 import frontend.HighlightType;
 import frontend.SelectedStatus;
 
+import java.util.List;
+
 public class BoardHighlighter {
     private Board board;
     public BoardHighlighter(Board board){
@@ -33,27 +35,21 @@ public class BoardHighlighter {
 
         center.setStatus(SelectedStatus.SELECTED);
 
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue;
-                int newX = centerX + dx;
-                int newY = centerY + dy;
-                Cell target = board.getCell(newX, newY);
-                if (target == null || target == excluded) continue;
+        for (Cell target : board.getNeighbours(center)) {
+            if (target == excluded) continue;
 
-                boolean valid = switch (type) {
-                    case MOVE -> center.getOccupiedBy().canMoveTo(target);
-                    case BUILD -> center.getOccupiedBy().canBuildOn(target);
-                    default -> false;
-                };
+            boolean valid = switch (type) {
+                case MOVE -> center.getOccupiedBy().canMoveTo(target);
+                case BUILD -> center.getOccupiedBy().canBuildOn(target);
+                default -> false;
+            };
 
-                if (valid) {
-                    target.setStatus(SelectedStatus.HIGHLIGHTED);
-                    target.setHighlightType(type);
-                } else {
-                    target.setStatus(SelectedStatus.NONE);
-                    target.setHighlightType(HighlightType.NONE);
-                }
+            if (valid) {
+                target.setStatus(SelectedStatus.HIGHLIGHTED);
+                target.setHighlightType(type);
+            } else {
+                target.setStatus(SelectedStatus.NONE);
+                target.setHighlightType(HighlightType.NONE);
             }
         }
 
@@ -85,28 +81,21 @@ public class BoardHighlighter {
     }
 
     /**
-     * Highlights valid movable cells for the currently selected worker,
-     * excluding the original cell (used for Artemis second move).
+     * Highlights an explicit set of target cells around a selected cell,
+     * e.g. the extra moves or builds allowed by a god power.
      *
-     * @param excluded The initial cell to exclude from highlighting.
+     * @param selected The cell of the acting worker (can be null).
+     * @param targets The cells to highlight.
+     * @param type The type of action the targets are valid for.
      */
-    public void highlightMovableExclude(Cell excluded) {
-        Cell selected = board.getSelected();
+    public void highlightCells(Cell selected, List<Cell> targets, HighlightType type) {
+        clearHighlights();
         if (selected != null) {
-            highlightNeighbors(selected.getRow(), selected.getCol(), HighlightType.MOVE, excluded);
+            selected.setStatus(SelectedStatus.SELECTED);
         }
-    }
-
-    /**
-     * Highlights valid buildable cells for the currently selected worker,
-     * excluding the original cell (used for Demeter second build).
-     *
-     * @param excluded The initial cell to exclude from highlighting.
-     */
-    public void highlightBuildableExclude(Cell excluded) {
-        Cell selected = board.getSelected();
-        if (selected != null) {
-            highlightNeighbors(selected.getRow(), selected.getCol(), HighlightType.BUILD, excluded);
+        for (Cell target : targets) {
+            target.setStatus(SelectedStatus.HIGHLIGHTED);
+            target.setHighlightType(type);
         }
     }
 
@@ -115,14 +104,12 @@ public class BoardHighlighter {
      * Valid cells are unOccupied and does not have a full building (
      */
     public void highlightUsableArtifactCells(ArtifactCellCondition condition){
-        for (Cell cell : board.getAllCells()) {
-            if (condition.isCellUsable(cell)) {
-                cell.setHighlightType(HighlightType.ARTIFACT_USABLE);
-                cell.setStatus(SelectedStatus.HIGHLIGHTED);
-            } else {
-                cell.setHighlightType(HighlightType.NONE);
-                cell.setStatus(SelectedStatus.NONE);
-            }
+        clearHighlights();
+        for (int index = board.nextMatchingCell(condition, 0); index >= 0;
+             index = board.nextMatchingCell(condition, index + 1)) {
+            Cell cell = board.getCell(index);
+            cell.setHighlightType(HighlightType.ARTIFACT_USABLE);
+            cell.setStatus(SelectedStatus.HIGHLIGHTED);
         }
     }
 }
@@ -4,6 +4,7 @@ import Block.Block;
 import Player.Worker;
 import frontend.HighlightType;
 import frontend.SelectedStatus;
+import listeners.CellChangeListener;
 
 
 /**
@@ -17,11 +18,15 @@ public abstract class Cell {
     private int col;
     private SelectedStatus selectStatus;
     private boolean flooded = false;
+    private CellChangeListener changeListener;  // The owning board, told about every game state change
+    private Runnable markingListener;           // The owning board, told when the status or highlight changes
 
     private HighlightType highlightType = HighlightType.NONE;
 
     public void setHighlightType(HighlightType type) {
+        if (this.highlightType == type) return;
         this.highlightType = type;
+        markingChanged();
     }
 
     public HighlightType getHighlightType() {
@@ -56,7 +61,9 @@ public abstract class Cell {
      * @param status the status to be set
      */
     public void setStatus(SelectedStatus status) {
+        if (this.selectStatus == status) return;
         this.selectStatus = status;
+        markingChanged();
     }
     /**
      * Checks if the cell is currently occupied by a worker.
@@ -85,21 +92,76 @@ public abstract class Cell {
     }
 
     public void flood() {
+        boolean previousFlooded = this.flooded;
         this.flooded = true;
         this.setStatus(SelectedStatus.NONE);
         this.setHighlightType(HighlightType.NONE);
+        changed(block.getLevel(), block.hasDome(), previousFlooded, occupiedBy);
     }
 
     public boolean isFlooded() {
         return flooded;
     }
 
+    /**
+     * Sets the flooded state directly without touching the cell markings.
+     * Used when loading a position rather than playing it out.
+     *
+     * @param flooded true if the cell should be flooded.
+     */
+    public void setFlooded(boolean flooded) {
+        boolean previousFlooded = this.flooded;
+        this.flooded = flooded;
+        changed(block.getLevel(), block.hasDome(), previousFlooded, occupiedBy);
+    }
+
     /**
      * Gets the block on this cell.
      *
      * @return The block instance.
      */
     public Block getBlock() { return this.block; }
+
+    /**
+     * Assigns the block of this cell and forwards its changes as cell changes.
+     *
+     * @param block The block instance.
+     */
+    protected void setBlock(Block block) {
+        this.block = block;
+        block.setChangeListener((previousLevel, previousDome) ->
+                changed(previousLevel, previousDome, flooded, occupiedBy));
+    }
+
+    /**
+     * Sets the listener told about every game state change of this cell.
+     *
+     * @param changeListener The listener, or null to stop notifications.
+     */
+    void setChangeListener(CellChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Sets the listener told when the status or highlight of this cell changes.
+     *
+     * @param markingListener The listener, or null to stop notifications.
+     */
+    void setMarkingListener(Runnable markingListener) {
+        this.markingListener = markingListener;
+    }
+
+    private void markingChanged() {
+        if (markingListener != null) {
+            markingListener.run();
+        }
+    }
+
+    private void changed(int previousLevel, boolean previousDome, boolean previousFlooded, Worker previousOccupant) {
+        if (changeListener != null) {
+            changeListener.onCellChanged(this, previousLevel, previousDome, previousFlooded, previousOccupant);
+        }
+    }
     /**
      * Gets the worker occupying this cell, if any.
      *
@@ -114,7 +176,9 @@ public abstract class Cell {
      * @param worker The worker to set, or null to clear.
      */
     public void setOccupiedBy(Worker worker) {
+        Worker previousOccupant = this.occupiedBy;
         this.occupiedBy = worker;
+        changed(block.getLevel(), block.hasDome(), flooded, previousOccupant);
     }
     /**
      * Gets the row index of this cell.
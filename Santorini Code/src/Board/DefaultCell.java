@@ -16,7 +16,7 @@ public class DefaultCell extends Cell {
      */
     public DefaultCell(int row, int col) {
         super(row, col);
-        this.block = new StandardBlock();
+        setBlock(new StandardBlock());
     }
 
     /**
@@ -8,19 +8,25 @@ import Player.Player;
 import GodCard.GodCard;
 import artifacts.Artifact;
 import artifacts.shops.ShopPopup;
+import engine.GameActor;
+import listeners.GameUpdateListener;
 import listeners.TimerListener;
 
+import javax.swing.SwingUtilities;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.Executor;
 
 /**
  * Abstract base class for managing overall game flow.
  * Handles board setup, player management, and winner status.
  * Supports polymorphic behavior for different game modes and god powers.
  * Implements the TimerListener so that it knows when the timer has expired to end a player's turn.
+ * Clicks, button presses, timer expiries and computer moves are all submitted to one {@link GameActor},
+ * so they change the game one at a time on the same thread (the Swing event dispatch thread by default).
  */
 public abstract class Config implements TimerListener {
 
@@ -42,6 +48,8 @@ public abstract class Config implements TimerListener {
 
     protected ShopManager shopManager = new ShopManager();
     protected ShopPopup currentShopPopup;
+    protected List<GameUpdateListener> updateListeners = new ArrayList<>();
+    protected GameActor actor = new GameActor(SwingUtilities::invokeLater, this::fireGameUpdated);
 
     /**
      * Constructs the game configuration with player names and their assigned god cards.
@@ -72,6 +80,41 @@ public abstract class Config implements TimerListener {
         this.currentPlayerIndex = new Random().nextInt(numPlayers);
     }
 
+    /**
+     * Queues a game event (click, button, timer expiry, computer move) to run after the events before it.
+     * Update listeners are told once per batch of events.
+     * @param event the event to run
+     */
+    public void submit(Runnable event){
+        actor.submit(event);
+    }
+
+    /**
+     * Runs the game's events on another executor, e.g. a thread pool for headless games.
+     * Must be called before any event is submitted.
+     * @param executor the executor the events run on
+     */
+    public void setEventExecutor(Executor executor){
+        this.actor = new GameActor(executor, this::fireGameUpdated);
+    }
+
+    /**
+     * Registers a listener told after every batch of game events.
+     * @param listener the listener to add
+     */
+    public void addUpdateListener(GameUpdateListener listener){
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Tells every update listener that the game has changed.
+     */
+    protected void fireGameUpdated(){
+        for(GameUpdateListener listener : updateListeners){
+            listener.onGameUpdated();
+        }
+    }
+
     public ShopPopup getCurrentShopPopup(){
         return this.currentShopPopup;
     }
@@ -99,11 +142,18 @@ public abstract class Config implements TimerListener {
      public void onTick(int secondsLeft){}
 
     /**
-     * Is called when the Game Timer expires.
-     * Handles the actions to be done when the countdown is at 0:00.
+     * Is called on the timer thread when the Game Timer expires.
+     * Queues {@link #handleTimeExpired()} so the expiry is handled in turn with the other game events.
      */
     @Override
-    public abstract void onTimeExpired();
+    public void onTimeExpired(){
+        submit(this::handleTimeExpired);
+    }
+
+    /**
+     * Handles the actions to be done when the countdown is at 0:00.
+     */
+    protected abstract void handleTimeExpired();
 
     /**
      * Called when a cell is clicked by the player.
@@ -2,37 +2,64 @@ package GameMode;
 
 import Board.Board;
 import Board.Cell;
+import GameMode.gameutils.ClockMode;
 import GameMode.gameutils.GameTimer;
 import Player.Player;
 import Player.Worker;
 
 import GodCard.GodCard;
 import GodCard.PowerPhase;
+import ai.AlphaBetaPlayer;
+import ai.ComputerPlayer;
 import artifacts.Artifact;
 import artifacts.ArtifactCellCondition;
+import artifacts.ArtifactType;
+import engine.Action;
+import engine.ActionType;
+import engine.GameState;
+import engine.Rules;
+import frontend.HighlightType;
 import frontend.SelectedStatus;
 import artifacts.shops.ShopPopup;
+import listeners.ShopListener;
+import records.GameJournal;
+import records.GameRecord;
+import records.GameRecorder;
+import records.SavedGame;
 import Board.BoardHighlighter;
 
-import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Handles two-player game logic, including turn management, game rules,
- * GodCard integration, and win condition checking.
+ * Handles a two-player game on screen: turn handover, timers, the shop popup and cell highlights.
+ * All rule decisions are delegated to the headless {@link Rules} engine; this class only
+ * translates clicks and button presses into engine actions and reflects the result on the board.
  */
 public class TwoPlayerConfig extends Config {
+    private static final int SNAPSHOT_INTERVAL = 16;  // Actions logged to the journal between two snapshots
+
     private Board board;
     private Player[] players;
-    private int currentPlayerIndex;
+    private GameState state;
     private BoardHighlighter boardHighlighter;
-    private Worker activeWorker;
     private int turnTime = 900; //15 minutes
     private GameTimer player1Timer = new GameTimer(turnTime);
     private GameTimer player2Timer = new GameTimer(turnTime);
     private Artifact currentArtifactInUse;
+    private boolean godPowerActive = false;  // True after "Use God Power" until the power is used or skipped
+    private ComputerPlayer computer;         // Only present when one seat is played by the computer
+    private int computerSeat = -1;
+    private ExecutorService computerThread;
+    private GameRecorder recorder;           // Created when the first turn starts, once the workers are placed
+    private GameJournal journal;             // Only present when the game is saved as it is played
+    private int actionsSinceSnapshot = 0;
 
 
     public TwoPlayerConfig(Vector<String> playerNames, Vector<GodCard> gods) {
@@ -55,20 +82,178 @@ public class TwoPlayerConfig extends Config {
         players[0] = new Player(playerNames.get(0), gods.get(0), Color.BLUE);
         players[1] = new Player(playerNames.get(1), gods.get(1), Color.RED);
 
-        currentPlayerIndex = new Random().nextInt(2);
         numPlayers = 2;
+        state = new GameState(board, players, new Random().nextInt(2), turnState, shopManager, true);
+        addTimers();
+    }
+
+    /**
+     * Creates the configuration of a saved game, ready to continue where it was saved.
+     * The workers are already placed.
+     * @param saved the game loaded from its journal
+     * @return the configuration
+     */
+    public static TwoPlayerConfig resume(SavedGame saved) {
+        GameState state = saved.getState();
+        Vector<String> names = new Vector<>();
+        Vector<GodCard> gods = new Vector<>();
+        for (Player player : state.getPlayers()) {
+            names.add(player.getName());
+            gods.add(player.getGod());
+        }
+
+        TwoPlayerConfig config = new TwoPlayerConfig(names, gods);
+        config.state = state;
+        config.board = state.getBoard();
+        config.boardHighlighter = new BoardHighlighter(config.board);
+        config.players = state.getPlayers();
+        config.turnState = state.getTurnState();
+        config.shopManager = state.getShopManager();
+        config.recorder = saved.getRecorder();
+        if (saved.getClockCount() == 2) {
+            config.player1Timer.setRemainingMillis(saved.getClockMillis(0));
+            config.player2Timer.setRemainingMillis(saved.getClockMillis(1));
+        }
+        if (saved.getComputerSeat() >= 0) {
+            config.setComputerPlayer(saved.getComputerSeat());
+        }
+        config.addTimers();
+
+        // Show the targets of a turn saved halfway, as the clicks that led there would have
+        if (config.turnState.hasMoved() && !config.turnState.hasBuilt()) {
+            config.highlightTargets(ActionType.BUILD, HighlightType.BUILD);
+        } else if (config.turnState.hasBuilt() && state.getActiveWorker() != null) {
+            state.getActiveWorker().getPosition().setStatus(SelectedStatus.SELECTED);
+        }
+        return config;
+    }
 
-        // Add listener for both timers
+    /**
+     * Registers both timers and listens for their expiry.
+     */
+    private void addTimers() {
         addPlayerTimer(player1Timer);
         addPlayerTimer(player2Timer);
 
         player1Timer.addListener(this);
         player2Timer.addListener(this);
+    }
 
+    /**
+     * Saves the game to a journal as it is played: a snapshot now and every few actions, the actions in between.
+     * Must be called once the workers are placed, before the first turn starts.
+     * @param journal the journal, closed by this game when it ends or is saved and closed
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+        writeSnapshot();
     }
+
+    /**
+     * Stops the clocks and saves the whole game, waiting until it is on disk, e.g. when the player exits.
+     * The game cannot be continued in this window afterwards.
+     * @throws IOException if the game could not be saved
+     */
+    public void saveAndClose() throws IOException {
+        player1Timer.stop();
+        player2Timer.stop();
+        if (journal == null) return;
+        writeSnapshot();
+        GameJournal closing = journal;
+        journal = null;
+        closing.close();
+    }
+
+    private void writeSnapshot() {
+        journal.writeSnapshot(state, getRecorder().toRecord(GameRecord.End.UNFINISHED), clockMillis(), computerSeat);
+        actionsSinceSnapshot = 0;
+    }
+
+    /**
+     * Logs an applied action, or takes a new snapshot every {@link #SNAPSHOT_INTERVAL} actions.
+     * Once the game is over there is nothing to resume, so the save is deleted.
+     */
+    private void journalAction(Action action) {
+        if (journal == null) return;
+        if (Rules.isTerminal(state)) {
+            discardJournal();
+        } else if (++actionsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+            writeSnapshot();
+        } else {
+            journal.writeAction(action, clockMillis());
+        }
+    }
+
+    private void discardJournal() {
+        if (journal == null) return;
+        try {
+            journal.discard();
+        } catch (IOException e) {
+            System.out.println("Could not delete the saved game: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    private long[] clockMillis() {
+        return new long[] {player1Timer.getRemainingMillis(), player2Timer.getRemainingMillis()};
+    }
+    /**
+     * Lets the alpha-beta computer player play one of the seats. Must be called before the game starts.
+     * @param seat the seat (0 or 1) the computer plays
+     */
+    public void setComputerPlayer(int seat) {
+        setComputerPlayer(seat, new AlphaBetaPlayer());
+    }
+
+    /**
+     * Lets a computer player play one of the seats. Must be called before the game starts.
+     * @param seat the seat (0 or 1) the computer plays
+     * @param computer the computer player
+     */
+    public void setComputerPlayer(int seat, ComputerPlayer computer) {
+        this.computer = computer;
+        this.computerSeat = seat;
+        this.computerThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checks whether the computer is the one to act now; clicks and buttons are ignored meanwhile.
+     * @return true while it is the computer's turn in a running game
+     */
+    public boolean isComputerTurn() {
+        return computer != null && state.getCurrentPlayerIndex() == computerSeat && !Rules.isTerminal(state);
+    }
+
+    /**
+     * Searches the computer's next action on a copy of the game, off the game's event thread,
+     * then submits it as a game event and carries on until the turn is over.
+     */
+    private void playComputerAction() {
+        if (!isComputerTurn()) return;
+
+        GameState snapshot = state.copy();
+        GameTimer timer = computerSeat == 0 ? player1Timer : player2Timer;
+        long budget = ComputerPlayer.allocateMillis(timer.getSecondsLeft());
+        computerThread.execute(() -> {
+            Action action = computer.chooseAction(snapshot, budget);
+            submit(() -> {
+                if (action == null || !isComputerTurn()) return;
+
+                if (applyAction(action) && isComputerTurn()) {
+                    playComputerAction();
+                }
+            });
+        });
+    }
+
     @Override
     public void startTurn(Player current){
-        if (currentPlayerIndex == 0) {
+        getRecorder();
+        if (state.getCurrentPlayerIndex() == 0) {
             player2Timer.pause();
             player1Timer.start(true);
         } else {
@@ -76,12 +261,19 @@ public class TwoPlayerConfig extends Config {
             player2Timer.start(true);
         }
 
+        if (isComputerTurn()) {
+            playComputerAction(); // the computer buys through the engine, so no shop popup
+            return;
+        }
+
         // Display shop during buy phase
         if(!turnState.hasCompletedBuyPhase()){
             // Delay pop up by 1 second
             javax.swing.Timer delay = new javax.swing.Timer(800, e -> {
-                currentShopPopup = new ShopPopup(current, shopManager, turnState);
-                currentShopPopup.setVisible(true);
+                if (turnState.hasCompletedBuyPhase() || getCurrentPlayer() != current || getWinner() != null) {
+                    return; // The buy phase ended before the delay ran out
+                }
+                getShopPopup().showFor(current);
             });
             delay.setRepeats(false);  // make sure it only fires once
             delay.start();
@@ -89,28 +281,82 @@ public class TwoPlayerConfig extends Config {
     }
 
     /**
-     * Ends the current player's turn and resets flags for the next.
+     * Retrieves the shop window of this game, building it on first use.
+     * Purchases and leaving the shop are submitted as game events and applied through the engine.
+     * @return the shop window
+     */
+    private ShopPopup getShopPopup() {
+        if (currentShopPopup == null) {
+            currentShopPopup = new ShopPopup(shopManager, new ShopListener() {
+                @Override
+                public void onBuy(ArtifactType type) {
+                    submit(() -> applyAction(Action.buy(type)));
+                }
+
+                @Override
+                public void onEndBuy() {
+                    submit(() -> applyAction(Action.endBuy()));
+                }
+            });
+        }
+        return currentShopPopup;
+    }
+
+    /**
+     * Ends the current player's turn by skipping the remaining optional god power.
+     * The turn can only be ended once the player has moved and built.
      */
     @Override
     public void endTurn() {
-
-        if (!turnState.isTurnComplete()) {
+        if (isComputerTurn()) return;
+        if (!turnState.hasMoved() || !turnState.hasBuilt()) {
             System.out.println("You must move, build, and use or skip god power before ending the turn.");
             return;
         }
+        applyAction(Action.skipPower());
+    }
 
-        // Pause the timer for the current player
-        if (currentPlayerIndex == 0) {
-            player1Timer.pause();
-        } else {
-            player2Timer.pause();
+    /**
+     * Hands the board over to the next player once the engine has advanced the turn.
+     */
+    private void onTurnSwitched(int previousPlayerIndex) {
+        // Pause the timer for the previous player
+        GameTimer previousTimer = previousPlayerIndex == 0 ? player1Timer : player2Timer;
+        previousTimer.pause();
+        getRecorder().onTurnEnded(previousTimer.getRemainingMillis());
+
+        godPowerActive = false;
+        currentArtifactInUse = null;
+        boardHighlighter.clearHighlights();
+        if (currentShopPopup != null) {
+            currentShopPopup.setVisible(false);
         }
+        startTurn(getCurrentPlayer()); // Start the next player's timer
+    }
 
-        currentPlayerIndex = (currentPlayerIndex + 1) % 2;
-        boardHighlighter.clearHighlights();
-        turnState.resetTurn(); // Set all flags to false
-        currentShopPopup.dispose();
-        startTurn(players[currentPlayerIndex]); // Start the next player's timer
+    /**
+     * Applies an action through the engine and reflects the result: winner and turn handover.
+     *
+     * @param action the action to apply
+     * @return true if the action was legal and applied
+     */
+    private boolean applyAction(Action action) {
+        if (!Rules.isLegal(state, action)) {
+            return false;
+        }
+
+        int previousPlayerIndex = state.getCurrentPlayerIndex();
+        getRecorder().onAction(action);
+        Rules.apply(state, action);
+
+        if (Rules.isTerminal(state)) {
+            setWinner(Rules.winner(state));
+            boardHighlighter.clearHighlights();
+        } else if (state.getCurrentPlayerIndex() != previousPlayerIndex) {
+            onTurnSwitched(previousPlayerIndex);
+        }
+        journalAction(action);
+        return true;
     }
 
     /**
@@ -124,58 +370,75 @@ public class TwoPlayerConfig extends Config {
 
 
     /**
-     * Is called when the Game Timer expires.
      * Handles the actions to be done when the countdown is at 0:00.
      * Automatically crown the other player (not current)  as the winner
      */
     @Override
-    public void onTimeExpired() {
+    protected void handleTimeExpired() {
         System.out.println("Time ENDS");
         shopManager.closeShop(turnState);
-        currentShopPopup.dispose();
+        if (currentShopPopup != null) {
+            currentShopPopup.setVisible(false);
+        }
         turnState.completeTurn(); // consider the turn has been completed when timer ends
         board.clearMarkings(); // Clear any cell highlights
 
 
         // Automatically set the winner as the other player
-        if (player1Timer.getSecondsLeft() <= 0) {
-            setWinner(players[1]);
-        } else {
-            setWinner(players[0]);
-        }
+        Rules.forfeit(state, player1Timer.isExpired() ? 0 : 1);
+        setWinner(Rules.winner(state));
+        discardJournal();
     }
 
+    /**
+     * Retrieves the recorder of this game, starting it from the current state on first use.
+     * Must first be called once the workers are placed, before any action is applied.
+     * @return the recorder
+     */
+    private GameRecorder getRecorder() {
+        if (recorder == null) {
+            recorder = new GameRecorder(state, true, null);
+            recorder.setClock(ClockMode.SUDDEN_DEATH, turnTime * 1000L, 0);
+        }
+        return recorder;
+    }
 
     /**
-     * Gets the current player
-     * @return the current player
+     * Retrieves the record of the game so far, e.g. to save it.
+     * @return the record, or null if the first turn has not started yet
      */
-    @Override
-    public Player getCurrentPlayer() {
-        return players[currentPlayerIndex];
+    public GameRecord getRecord() {
+        if (recorder == null) {
+            return null;
+        }
+        GameRecord.End end = player1Timer.isExpired() || player2Timer.isExpired() ? GameRecord.End.TIMEOUT
+                : Rules.isTerminal(state) ? GameRecord.End.RULES : GameRecord.End.UNFINISHED;
+        return recorder.toRecord(end);
     }
 
     /**
-     * Get the current active worker
-     * @return the current selected worker
+     * Retrieves the headless game state driven by this configuration.
+     * @return the engine state
      */
-    public Worker getActiveWorker(){
-        return this.activeWorker;
+    public GameState getState() {
+        return state;
     }
 
     /**
-     * Sets the active worker to the selected worker
-     * @param worker the worker to set
+     * Gets the current player
+     * @return the current player
      */
-    public void setActiveWorker(Worker worker){
-        this.activeWorker = worker;
+    @Override
+    public Player getCurrentPlayer() {
+        return state.getCurrentPlayer();
     }
 
     /**
-     * Resets the current active worker to null
+     * Get the current active worker
+     * @return the worker that has moved this turn, or null before moving
      */
-    public void resetActiveWorker(){
-        this.activeWorker = null;
+    public Worker getActiveWorker(){
+        return state.getActiveWorker();
     }
 
     /**
@@ -197,13 +460,12 @@ public class TwoPlayerConfig extends Config {
     }
 
     /**
-     * Executes god power logic when button is clicked; depending on current phase and validity.
+     * Activates the god power when the button is clicked and highlights the cells it can be used on.
      */
     @Override
     public void useGodPower() {
-        Player currentPlayer = getCurrentPlayer();
-        GodCard god = currentPlayer.getGod();
-        Worker activeWorker = getActiveWorker();
+        if (isComputerTurn()) return;
+        GodCard god = getCurrentPlayer().getGod();
 
         if (!turnState.hasMoved() && god.getPowerPhase() == PowerPhase.MOVE) {
             System.out.println("You must move before using god power.");
@@ -220,14 +482,9 @@ public class TwoPlayerConfig extends Config {
             return;
         }
 
-        if (god.godPowerAvailable(this.getBoard(), currentPlayer, turnState, activeWorker)) {
-            god.usingGodPower(this.getBoard(), boardHighlighter,currentPlayer, activeWorker);
+        if (highlightGodPowerTargets()) {
+            godPowerActive = true;
             System.out.println("Use your god power now by clicking a cell.");
-
-            // Automatically end turn if everything is complete
-            if (turnState.hasMoved() && turnState.hasBuilt() && turnState.hasUsedOrSkippedGodPower() && god.getPowerPhase() == PowerPhase.BUILD) {
-                endTurn();
-            }
         } else {
             System.out.println("God power not available.");
         }
@@ -239,35 +496,27 @@ public class TwoPlayerConfig extends Config {
      */
     @Override
     public void skipGodPower() {
-        if (turnState.hasBuilt() && !turnState.hasUsedOrSkippedGodPower()) {
-            turnState.setGodPowerUsedOrSkipped(true);
-
-            System.out.println("God power skipped.");
-
-            if (turnState.hasMoved() && turnState.hasBuilt()) {
-                endTurn();
-                return;
-            }
+        if (isComputerTurn()) return;
+        if (turnState.hasUsedOrSkippedGodPower() || !turnState.hasMoved()) {
+            return;
         }
 
-        if (!turnState.hasBuilt() && turnState.hasMoved() && !turnState.hasUsedOrSkippedGodPower()) {
-            // player skipped Artemis's move power
-            Cell selected = board.getSelected();
-            if (selected != null && selected.getOccupiedBy() != null) {
-                boardHighlighter.clearHighlights(); // Clear previous yellow MOVE highlights
-                boardHighlighter.highlightBuildable(selected.getRow(), selected.getCol());
-            }
-
-            turnState.setGodPowerUsedOrSkipped(true);
+        godPowerActive = false;
+        applyAction(Action.skipPower());
+        System.out.println("God power skipped.");
 
+        if (!turnState.hasBuilt() && !Rules.isTerminal(state)) {
+            // player skipped a move power, so go straight to building
+            highlightTargets(ActionType.BUILD, HighlightType.BUILD);
         }
     }
 
     /**
-     * Executes god power logic when button is clicked; depending on current phase and validity.
+     * Highlights the cells the chosen artifact can be used on.
      */
     @Override
     public void useArtifact(Artifact artifact) {
+        if (isComputerTurn()) return;
         boardHighlighter.clearHighlights(); // clear all markings to avoid confusion
         Player currentPlayer = getCurrentPlayer();
 
@@ -293,7 +542,7 @@ public class TwoPlayerConfig extends Config {
             }
         }
 
-        System.out.println("Player uses artifact");
+        System.out.println("Artifact cannot be used right now.");
     }
 
 
@@ -312,63 +561,31 @@ public class TwoPlayerConfig extends Config {
      * Returns true if the current player has no valid moves.
      */
     public boolean currentPlayerHasNoValidMoves() {
-        Player current = getCurrentPlayer();
-
-        for (int row = 0; row < board.getRows(); row++) {
-            for (int col = 0; col < board.getCols(); col++) {
-                Cell cell = board.getCell(row, col);
-                if (cell.isOccupied() && cell.getOccupiedBy().getOwner() == current) {
-                    for (int dx = -1; dx <= 1; dx++) {
-                        for (int dy = -1; dy <= 1; dy++) {
-                            if (dx == 0 && dy == 0) continue;
-                            int newRow = row + dx;
-                            int newCol = col + dy;
-                            if (board.isValidPosition(newRow, newCol)) {
-                                Cell target = board.getCell(newRow, newCol);
-                                if (cell.getOccupiedBy().canMoveTo(target)) {
-                                    return false;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return true;
+        return !Rules.hasValidMove(state);
     }
 
     /**
-     * Handles all gameplay logic triggered when the player clicks a cell.
+     * Translates a cell click into the engine action it stands for in the current phase.
      */
     @Override
     public void handleClick(int row, int col) {
         Player current = getCurrentPlayer();
-        GodCard god = current.getGod();
         Cell clicked = board.getCell(row, col);
         Cell selected = board.getSelected();
 
-        // Complete buy phase
-        if(!turnState.hasCompletedBuyPhase()){
+        // Complete buy phase; the computer's turn is played without clicks
+        if(!turnState.hasCompletedBuyPhase() || clicked == null || isComputerTurn()){
             return;
         }
 
+        int target = board.indexOf(clicked);
+
         // Using Artifact
         if(currentArtifactInUse != null){
             if(clicked.getStatus() == SelectedStatus.HIGHLIGHTED){
-
-                System.out.println("Currently Artifact in Use");
-
-                if(currentArtifactInUse.performAction(clicked, current)){
-                    turnState.setUsedOrSkippedArtifact(true);
-                    currentArtifactInUse = null; // reset to null
-                    boardHighlighter.clearHighlights();
-                    return;// skip click logic for this turn
-
-                }
-                else{
-                    turnState.setUsedOrSkippedArtifact(true); // skipped
-                }
-
+                applyAction(Action.useArtifact(currentArtifactInUse.getType(), target));
+                currentArtifactInUse = null; // reset to null
+                boardHighlighter.clearHighlights();
             }else{
                 System.out.println("Must select valid cell.");
             }
@@ -376,138 +593,82 @@ public class TwoPlayerConfig extends Config {
 
         }
 
-        if (!turnState.hasMoved() && currentPlayerHasNoValidMoves()) {
-            Player opponent = players[(currentPlayerIndex + 1) % players.length];
-            setWinner(opponent);
-            return;
-        }
-
         // === MOVE Phase ===
         if (!turnState.hasMoved()) {
             if (clicked.isOccupied() && clicked.getOccupiedBy().getOwner() == current) {
                 // Worker selection
                 boardHighlighter.clearHighlights();
                 clicked.setStatus(SelectedStatus.SELECTED);
-                board.setLastMovedCell(clicked);
                 boardHighlighter.highlightMovable(row, col);
                 return;
             }
 
-            if (clicked.getStatus() == SelectedStatus.HIGHLIGHTED &&
-                    selected != null &&
-                    selected.isOccupied() &&
-                    selected.getOccupiedBy().canMoveTo(clicked)) {
-
-                setActiveWorker(selected.getOccupiedBy()); // Set the worker currently being used
-
-                // Perform movement
-                boolean reachedLevel3 = selected.getOccupiedBy().move(clicked);
-                if (reachedLevel3) { //Check if the worker is on Level 3
-                    setWinner(current);
-                }
-
-                boardHighlighter.clearHighlights();
-                clicked.setStatus(SelectedStatus.SELECTED);
-                boardHighlighter.highlightBuildable(clicked.getRow(), clicked.getCol());
-                turnState.setMoved(true);
-
-                return;
+            if (clicked.getStatus() == SelectedStatus.HIGHLIGHTED && selected != null &&
+                    applyAction(Action.move(board.indexOf(selected), target)) && !Rules.isTerminal(state)) {
+                highlightTargets(ActionType.BUILD, HighlightType.BUILD);
             }
-
             return; // prevent invalid clicks during MOVE phase
         }
 
-        // === BUILD Phase (including god power second move) ===
-        if (turnState.hasMoved() && !turnState.hasBuilt()) {
-
-            // Handle MOVE-phase god power (e.g., Artemis/Triton second move)
-            if (god.getPowerPhase() == PowerPhase.MOVE &&
-                    !turnState.hasUsedOrSkippedGodPower() &&
-                    clicked.getStatus() == SelectedStatus.HIGHLIGHTED) {
-
-                // Try to use God Power
-                boolean useGodPower = god.performExtraAction(this.getBoard(), boardHighlighter, getActiveWorker(), clicked, turnState);
-
-                // If has player clicked "Use God Power" Button
-                if (useGodPower) {
-                    if (turnState.hasUsedOrSkippedGodPower()) {
-
-                        // God is done (Triton ended on non-perimeter or Artemis used second move)
-                        boardHighlighter.clearHighlights();
-                        clicked.setStatus(SelectedStatus.SELECTED);
-                        System.out.println("Clicked:" + clicked.getRow() + clicked.getCol());
-                        boardHighlighter.highlightBuildable(clicked.getRow(), clicked.getCol());
-                        turnState.setMoved(true);
-                    }
-
-                    return; // if god not done, stay in extra move phase
-
-                }
+        if (clicked.getStatus() != SelectedStatus.HIGHLIGHTED || state.getActiveWorker() == null) {
+            return; // ignore clicks outside the highlighted cells
+        }
+        int from = board.indexOf(state.getActiveWorker().getPosition());
 
-                // If player has not clicked on "Use God Power" Button but clicked on a cell, assume the player skipped god power
-                if(!turnState.hasUsedOrSkippedGodPower()){
-                    turnState.setGodPowerUsedOrSkipped(true);
+        // === BUILD Phase (including god power second move) ===
+        if (!turnState.hasBuilt()) {
+            if (godPowerActive) {
+                applyAction(Action.extraMove(from, target));
+                if (Rules.isTerminal(state)) return;
+
+                if (turnState.hasUsedOrSkippedGodPower() || !highlightGodPowerTargets()) {
+                    // God is done (Triton ended on non-perimeter or Artemis used second move)
+                    godPowerActive = false;
+                    highlightTargets(ActionType.BUILD, HighlightType.BUILD);
                 }
+                return; // if god not done, stay in extra move phase
             }
 
-            // Standard build
-            if (clicked.getStatus() == SelectedStatus.HIGHLIGHTED &&
-                    selected != null &&
-                    selected.getOccupiedBy().canBuildOn(clicked)) {
-
-                board.build(clicked.getRow(), clicked.getCol());
+            // Standard build (clicking a build cell skips any unused move power)
+            int playerIndex = state.getCurrentPlayerIndex();
+            if (applyAction(Action.build(from, target)) && state.getCurrentPlayerIndex() == playerIndex) {
                 boardHighlighter.clearHighlights();
-                selected.setStatus(SelectedStatus.SELECTED);
-                turnState.setBuilt(true);
-                increasePlayerToken(current, clicked);
-
-                if (god.getPowerPhase() == PowerPhase.MOVE) {
-                    resetActiveWorker();
-                    endTurn();
-                }
-
-                return;
+                state.getActiveWorker().getPosition().setStatus(SelectedStatus.SELECTED);
             }
-
-            return; // ignore invalid build clicks
+            return;
         }
 
         // === Optional God Power Phase (after Build) ===
-        if (turnState.hasMoved() && turnState.hasBuilt() && !turnState.hasUsedOrSkippedGodPower() &&
-                god.getPowerPhase() == PowerPhase.BUILD &&
-                clicked.getStatus() == SelectedStatus.HIGHLIGHTED) {
-
-            boolean success = god.performExtraAction(this.getBoard(), boardHighlighter, getActiveWorker(), clicked, turnState);
-            if (success) {
-                increasePlayerToken(current, clicked);
-                boardHighlighter.clearHighlights();
-                resetActiveWorker();
-                endTurn();
-            }
-
-            return;
+        if (godPowerActive) {
+            applyAction(Action.extraBuild(from, target));
         }
+    }
 
-        // === End Turn if All Done ===
-
-        if(turnState.isTurnComplete()){
-            resetActiveWorker();
-            endTurn();
-        }
+    /**
+     * Highlights the targets of the current god power actions.
+     * @return true if the power has at least one target
+     */
+    private boolean highlightGodPowerTargets() {
+        ActionType powerType = turnState.hasBuilt() ? ActionType.EXTRA_BUILD : ActionType.EXTRA_MOVE;
+        HighlightType highlight = turnState.hasBuilt() ? HighlightType.BUILD : HighlightType.MOVE;
+        return highlightTargets(powerType, highlight);
     }
 
     /**
-     * Player receives a token if they build a level 3 block
-     * 2 tokens received if they build a dome.
+     * Highlights the target cells of every legal action of one type around the active worker.
+     * @return true if at least one cell was highlighted
      */
-    private void increasePlayerToken(Player current, Cell clicked) {
-        if(clicked.getBlock().hasDome()){
-            current.increaseTokens(2);
-        }
-        else if(clicked.getBlock().getLevel() == 3){
-            current.increaseTokens(1);
+    private boolean highlightTargets(ActionType type, HighlightType highlight) {
+        List<Cell> targets = new ArrayList<>();
+        for (Action action : Rules.legalActions(state)) {
+            if (action.getType() == type) {
+                targets.add(board.getCell(action.getTarget()));
+            }
         }
-        System.out.println("Player tokens: " + current.getTokens());
+
+        Worker worker = state.getActiveWorker();
+        boardHighlighter.highlightCells(worker != null ? worker.getPosition() : null, targets, highlight);
+        return !targets.isEmpty();
     }
 
     // === State Getters for UI ===
@@ -0,0 +1,13 @@
+package GameMode.gameutils;
+
+/**
+ * How a {@link GameTimer} gives time back when a player's turn ends.
+ */
+public enum ClockMode {
+    /** No time is given back. */
+    SUDDEN_DEATH,
+    /** A fixed increment is added after every turn. */
+    FISCHER,
+    /** The time used in the turn is given back, up to a fixed delay. */
+    BRONSTEIN
+}
@@ -1,29 +1,94 @@
 package GameMode.gameutils;
 import listeners.TimerListener;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Concrete class representing the countdown timer of every play turn.
  * It handles the starting and stopping a Game Timer.
+ * All timers share one scheduler thread by default, so starting or pausing a timer only
+ * schedules or cancels a task instead of creating a thread; one thread can drive thousands of clocks.
+ * The remaining time is measured with {@link System#nanoTime()} between start and pause, so late ticks,
+ * GC pauses and partial seconds never skew it; ticks are only scheduled to land on whole seconds of
+ * the remaining time and report it. Expiry is reported exactly once.
  */
 public class GameTimer {
-    private final int initialSeconds;
-    private int secondsLeft;
-    private Timer timer;
-    private final List<TimerListener> listeners = new ArrayList<>();
+    private static final ScheduledExecutorService SHARED_SCHEDULER = createScheduler();
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long initialNanos;
+    private final ClockMode mode;
+    private final long incrementNanos;
+    private final ScheduledExecutorService scheduler;
+    private final List<TimerListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean expired = new AtomicBoolean(false);
+
+    // Guarded by this
+    private long remainingNanos;     // Remaining time when the clock was last started or paused
+    private long startedAt;          // nanoTime of the last start, only meaningful while running
+    private boolean running = false;
+    private int generation = 0;      // Bumped on every start/stop so stale ticks can tell they are stale
+    private ScheduledFuture<?> tick;
 
     /**
-     * Constructor for a GameTimer
+     * Constructor for a GameTimer driven by the shared scheduler
      * @param seconds the duration of the timer before it expires
      */
     public GameTimer(int seconds){
-        this.initialSeconds = seconds;
-        this.secondsLeft = seconds;
+        this(seconds, SHARED_SCHEDULER);
+    }
 
+    /**
+     * Constructor for a GameTimer driven by a given scheduler, e.g. one per server
+     * @param seconds the duration of the timer before it expires
+     * @param scheduler the scheduler that runs the ticks
+     */
+    public GameTimer(int seconds, ScheduledExecutorService scheduler){
+        this(seconds * 1000L, ClockMode.SUDDEN_DEATH, 0L, scheduler);
+    }
+
+    /**
+     * Constructor for a chess-style clock
+     * @param initialMillis the starting time
+     * @param mode how time is given back at the end of each turn
+     * @param incrementMillis the Fischer increment or Bronstein delay
+     * @param scheduler the scheduler that runs the ticks
+     */
+    public GameTimer(long initialMillis, ClockMode mode, long incrementMillis, ScheduledExecutorService scheduler){
+        this.initialNanos = initialMillis * NANOS_PER_MILLI;
+        this.mode = mode;
+        this.incrementNanos = incrementMillis * NANOS_PER_MILLI;
+        this.scheduler = scheduler;
+        this.remainingNanos = initialNanos;
+    }
+
+    /**
+     * Creates the scheduler shared by all timers: one daemon thread that drops cancelled ticks immediately.
+     * @return the scheduler
+     */
+    private static ScheduledExecutorService createScheduler(){
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "game-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Retrieves the scheduler shared by all timers created without an explicit scheduler.
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService getSharedScheduler(){
+        return SHARED_SCHEDULER;
     }
 
     /**
@@ -40,69 +105,166 @@ public class GameTimer {
      * Is called in the initial launch of the game and at the start of every play turn.
      */
     public void start(boolean resume){
-        stop(); // Stop any existing timer
-        if(!resume){
-            this.secondsLeft = initialSeconds; // Reset if not resume
+        int secondsLeft;
+        synchronized (this) {
+            cancelTick();
+            if(!resume){
+                this.remainingNanos = initialNanos; // Reset if not resume
+                expired.set(false);
+            }
+            if(expired.get()){
+                return;
+            }
+            running = true;
+            startedAt = System.nanoTime();
+            secondsLeft = toSeconds(remainingNanos);
+            scheduleTick(remainingNanos);
         }
 
-        this.timer = new Timer();
-
         // Reset the tick
         for(TimerListener listener: listeners) {
             listener.onTick(secondsLeft);
         }
-        timer.scheduleAtFixedRate(new TimerTask(){
+    }
 
-            // Run the timer
-            public void run(){
-                secondsLeft--;
+    /**
+     * Runs on the scheduler thread on every whole second of the remaining time.
+     */
+    private void onTick(int tickGeneration){
+        long remaining;
+        synchronized (this) {
+            if(!running || tickGeneration != generation){
+                return; // Paused or restarted since this tick was scheduled
+            }
+            remaining = remainingNanosAt(System.nanoTime());
+            if(remaining > 0){
+                scheduleTick(remaining);
+            }else{
+                remainingNanos = 0;
+                running = false;
+                tick = null;
+            }
+        }
 
-                // Tell listener of the update
-                for(TimerListener listener: listeners){
-                    listener.onTick(secondsLeft);
+        // Tell listener of the update
+        int secondsLeft = toSeconds(remaining);
+        for(TimerListener listener: listeners){
+            listener.onTick(secondsLeft);
+        }
 
-                }
-                // Check if the timer has expired
-                if(secondsLeft <= 0){
-                    for(TimerListener listener: listeners){
-                        stop(); // Stop the timer
-                        listener.onTimeExpired();
-                    }
-                    ;
-                }
+        if(remaining <= 0){
+            fireExpired();
+        }
+    }
 
+    /**
+     * Reports the expiry once, however many ticks or stops race to it.
+     */
+    private void fireExpired(){
+        if(expired.compareAndSet(false, true)){
+            for(TimerListener listener: listeners){
+                listener.onTimeExpired();
+            }
+        }
+    }
 
+    /**
+     * Stops the current timer instance from running, keeping the time used so far.
+     */
+    public synchronized void stop(){
+        if(running){
+            remainingNanos = Math.max(0, remainingNanosAt(System.nanoTime()));
+            running = false;
+            if(remainingNanos == 0){
+                scheduler.execute(this::fireExpired); // Ran out before the final tick could report it
             }
-        }, 1000, 1000);
+        }
+        cancelTick();
     }
 
     /**
-     * Stops the current timer instance from running.
+     * Ends the player's turn: stops the clock and gives back time according to the clock mode.
+     * Pausing a clock that is not running has no effect.
      */
-    public void stop(){
-        /*
-        Check if there is a timer set up already
-        e.g. start of the game = no timer yet
-         */
-        if(timer!= null){
-            timer.cancel();
-            timer.purge(); //cleanup
+    public synchronized void pause() {
+        if(!running){
+            cancelTick();
+            return;
+        }
+        long now = System.nanoTime();
+        long used = now - startedAt;
+        stop();
+        if(remainingNanos > 0){
+            switch (mode) {
+                case FISCHER -> remainingNanos += incrementNanos;
+                case BRONSTEIN -> remainingNanos += Math.min(used, incrementNanos);
+                case SUDDEN_DEATH -> { }
+            }
         }
+    }
+
+    /**
+     * Retrieves the amount of seconds remaining on the timer countdown, rounded up
+     * @return seconds remaining on the timer
+     */
+    public int getSecondsLeft(){
+        return toSeconds(getRemainingNanos());
+    }
 
+    /**
+     * Retrieves the remaining time with millisecond precision
+     * @return milliseconds remaining on the timer
+     */
+    public long getRemainingMillis(){
+        return getRemainingNanos() / NANOS_PER_MILLI;
     }
 
-    public void pause() {
-        stop(); // Stop the timer without resetting secondsLeft
+    /**
+     * Sets the remaining time of a stopped timer, e.g. when a saved game is resumed
+     * @param millis milliseconds remaining on the timer
+     */
+    public synchronized void setRemainingMillis(long millis){
+        if(running){
+            throw new IllegalStateException("Cannot set the time of a running timer");
+        }
+        remainingNanos = millis * NANOS_PER_MILLI;
     }
 
+    /**
+     * Checks whether the timer has run out
+     * @return true once the expiry has been reported
+     */
+    public boolean isExpired(){
+        return expired.get();
+    }
 
+    private synchronized long getRemainingNanos(){
+        return Math.max(0, running ? remainingNanosAt(System.nanoTime()) : remainingNanos);
+    }
 
+    private long remainingNanosAt(long now){
+        return remainingNanos - (now - startedAt);
+    }
 
     /**
-     * Retrieves the amount of seconds remaining on the timer countdown
-     * @return seconds remaining on the timer
+     * Schedules the next tick for the moment the remaining time crosses the next whole second.
      */
-    public int getSecondsLeft(){
-        return secondsLeft;
+    private void scheduleTick(long remaining){
+        long untilNextSecond = remaining % NANOS_PER_SECOND;
+        long delay = untilNextSecond == 0 ? NANOS_PER_SECOND : untilNextSecond;
+        int tickGeneration = ++generation;
+        tick = scheduler.schedule(() -> onTick(tickGeneration), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelTick(){
+        generation++;
+        if(tick != null){
+            tick.cancel(false);
+            tick = null;
+        }
+    }
+
+    private static int toSeconds(long nanos){
+        return nanos <= 0 ? 0 : (int) ((nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
     }
 }
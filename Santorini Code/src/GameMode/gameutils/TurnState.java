@@ -118,6 +118,30 @@ public class TurnState {
         this.buyPhaseCompleted = buyPhaseCompleted;
     }
 
+    /**
+     * Packs all flags into an int so a turn can be recorded and restored cheaply.
+     * @return the flags as bits (moved, built, god power, buy phase, artifact)
+     */
+    public int getFlags(){
+        return (moved ? 1 : 0)
+                | (built ? 2 : 0)
+                | (godPowerUsedOrSkipped ? 4 : 0)
+                | (buyPhaseCompleted ? 8 : 0)
+                | (artifactUsedOrSkipped ? 16 : 0);
+    }
+
+    /**
+     * Restores all flags from a value returned by {@link #getFlags()}.
+     * @param flags the packed flags
+     */
+    public void setFlags(int flags){
+        this.moved = (flags & 1) != 0;
+        this.built = (flags & 2) != 0;
+        this.godPowerUsedOrSkipped = (flags & 4) != 0;
+        this.buyPhaseCompleted = (flags & 8) != 0;
+        this.artifactUsedOrSkipped = (flags & 16) != 0;
+    }
+
     /**
      * Sets the status of all the flags to true which would mean that the turn is complete.
      *
@@ -1,16 +1,13 @@
 package GodCard;
 
+import Board.Board;
 import Board.Cell;
-import GameMode.gameutils.TurnState;
-import Player.Player;
 import Player.Worker;
-
-import Board.Board;
-import Board.BoardHighlighter;
+import engine.Action;
+import engine.GameState;
 
 
-import javax.swing.*;
-import java.util.Objects;
+import java.util.List;
 
 /**
  * Represents the god Demeter who can build twice per turn.
@@ -18,8 +15,6 @@ import java.util.Objects;
 public class Demeter extends GodCard {
 
     private static final String GOD_NAME = "Demeter";
-    private Cell firstBuildCell;
-    private boolean awaitingSecondBuild = false;
 
     /**
      * Constructs a Demeter god instance.
@@ -29,62 +24,29 @@ public class Demeter extends GodCard {
     }
 
     @Override
-    public ImageIcon getCardImg() {
-        return new ImageIcon(Objects.requireNonNull(getClass().getResource("/assets/demeter.png")));
-    }
-    /**
-     * Determines if Demeter's power is available to use.
-     *
-     * @param board The current board instance.
-     * @param player The player attempting to use the god power.
-     * @return true if Demeter's power can be used.
-     */
-    @Override
-    public boolean godPowerAvailable(Board board, Player player, TurnState turnState, Worker worker) {
-        // If the player has made a move, has built once and has not used/skipped the god power = return true
-        return turnState.hasMoved() && turnState.hasBuilt() && !turnState.hasUsedOrSkippedGodPower();
+    protected String getCardResource() {
+        return "/assets/demeter.png";
     }
 
     /**
-     * Activates Demeter's special power.
+     * Adds Demeter's second build: the worker that built may build once more,
+     * but not on the same space as the first build.
      *
-     * @param board The current board instance.
-     * @param player The player using the god power.
+     * @param state The current game state.
+     * @param actions The list of legal actions to append to.
      */
     @Override
-    public void usingGodPower(Board board, BoardHighlighter highlighter, Player player, Worker worker) {
-        Cell selected = board.getSelected();
-        if (selected != null && selected.isOccupied()) {
-            this.firstBuildCell = board.getLastBuiltCell();
-            this.setAwaitingSecondBuild(true);
-            highlighter.highlightBuildableExclude(firstBuildCell);
-            System.out.println("Demeter: Select a different space to build again.");
-        } else {
-            System.out.println("No worker selected for Demeter's power.");
+    public void addPowerActions(GameState state, List<Action> actions) {
+        Worker worker = state.getActiveWorker();
+        if (worker == null || !state.getTurnState().hasBuilt()) return;
+
+        Board board = state.getBoard();
+        Cell position = worker.getPosition();
+        int from = board.indexOf(position);
+        for (Cell target : board.getNeighbours(position)) {
+            if (target != state.getFirstBuildCell() && worker.canBuildOn(target)) {
+                actions.add(Action.extraBuild(from, board.indexOf(target)));
+            }
         }
     }
-
-    public void setAwaitingSecondBuild(boolean value) {
-        this.awaitingSecondBuild = value;
-    }
-
-    @Override
-    public boolean performExtraAction(Board board, BoardHighlighter highlighter, Worker worker, Cell target, TurnState turnState) {
-        if (!awaitingSecondBuild) return false;
-
-        if (target != null && target != firstBuildCell &&
-            target.getOccupiedBy() == null && !target.getBlock().hasDome()) {
-
-            target.build();
-            this.setAwaitingSecondBuild(false);
-            turnState.setGodPowerUsedOrSkipped(true);
-            System.out.println("Demeter built successfully on (" + target.getRow() + "," + target.getCol() + ")");
-            return true;
-        }
-
-        System.out.println("Demeter: Invalid second build.");
-        return false;
-    }
-
-
 }
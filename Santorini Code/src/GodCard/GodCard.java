@@ -1,13 +1,11 @@
 package GodCard;
 
-import Board.Cell;
-import GameMode.gameutils.TurnState;
-import Player.Player;
-import Player.Worker;
-import Board.Board;
-import Board.BoardHighlighter;
+import engine.Action;
+import engine.GameState;
+import frontend.ImageCache;
 
 import javax.swing.*;
+import java.util.List;
 
 /**
  * Abstract base class representing a God with special powers.
@@ -29,24 +27,46 @@ public abstract class GodCard {
     }
 
 
-    public abstract ImageIcon getCardImg();
+    /**
+     * Retrieves the classpath resource of this god's card image.
+     * @return the resource path, e.g. "/assets/artemis.png".
+     */
+    protected abstract String getCardResource();
+
+    /**
+     * Retrieves the card image of this god, decoded once and shared by all instances.
+     * @return the card image.
+     */
+    public ImageIcon getCardImg() {
+        return ImageCache.get(getCardResource());
+    }
+
+    /**
+     * Retrieves the card image of this god scaled to the given size, scaled once and shared.
+     * @param width the width to scale to
+     * @param height the height to scale to
+     * @return the scaled card image.
+     */
+    public ImageIcon getCardImg(int width, int height) {
+        return ImageCache.get(getCardResource(), width, height);
+    }
 
     /**
-     * Determines if the player can use the god's power at this time.
+     * Adds the extra actions this god's power allows at the current point of the turn.
+     * Only called while the power is in its phase and has not been used or skipped.
      *
-     * @param board The current board instance.
-     * @param player The player attempting to use the god power.
-     * @return true if the god power can be used; false otherwise.
+     * @param state The current game state.
+     * @param actions The list of legal actions to append to.
      */
-    public abstract boolean godPowerAvailable(Board board, Player player, TurnState turnState, Worker worker);
+    public abstract void addPowerActions(GameState state, List<Action> actions);
 
     /**
-     * Applies the god's special power effect to the game.
+     * Decides whether the power stays available after one of its extra actions has been applied.
      *
-     * @param board The current board instance.
-     * @param player The player using the god power.
+     * @param state The game state after the extra action.
+     * @return true if the player may use the power again this turn.
      */
-    public abstract void usingGodPower(Board board, BoardHighlighter highlighter, Player player, Worker worker);
+    public boolean keepsPowerAfter(GameState state) { return false; }
 
     /**
      * Gets the name of the god.
@@ -57,18 +77,6 @@ public abstract class GodCard {
         return this.name;
     }
 
-    /**
-     * Performs the special action enabled by the god (extra move or build).
-     * Must return true if the action was successful to update turn status.
-     *
-     * @param board The board instance.
-     * @param worker The current worker.
-     * @param target The target cell for the god power.
-     * @return true if the action was valid and completed.
-     * @since Sprint 2
-     */
-    public boolean performExtraAction(Board board, BoardHighlighter highlighter,  Worker worker, Cell target, TurnState turnState) { return false; }
-
     /**
      * Retrieves the phase when the god card is usable.
      * @return phase of god card.
@@ -0,0 +1,83 @@
+package GodCard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the playable gods, by name and by a stable index.
+ * The index is stored in game records, so new gods must be appended at the end, never inserted or reordered.
+ */
+public final class GodRegistry {
+    private static final Map<String, Supplier<GodCard>> GODS = new LinkedHashMap<>();
+    private static final List<String> NAMES;
+
+    static {
+        // Register new gods here, at the end
+        GODS.put("Artemis", Artemis::new);
+        GODS.put("Demeter", Demeter::new);
+        GODS.put("Triton", Triton::new);
+        NAMES = Collections.unmodifiableList(new ArrayList<>(GODS.keySet()));
+    }
+
+    private GodRegistry() {
+    }
+
+    /**
+     * Retrieves the names of all registered gods, in index order.
+     * @return the read-only list of names.
+     */
+    public static List<String> names() {
+        return NAMES;
+    }
+
+    /**
+     * Checks whether a god is registered.
+     * @param name the name of the god
+     * @return true if a god of that name exists.
+     */
+    public static boolean contains(String name) {
+        return GODS.containsKey(name);
+    }
+
+    /**
+     * Creates a new instance of a god.
+     * @param name the name of the god
+     * @return the god card.
+     */
+    public static GodCard create(String name) {
+        Supplier<GodCard> god = GODS.get(name);
+        if (god == null) {
+            throw new IllegalArgumentException("Unknown god " + name + ", expected one of " + NAMES);
+        }
+        return god.get();
+    }
+
+    /**
+     * Retrieves the stable index of a god.
+     * @param name the name of the god
+     * @return the index.
+     */
+    public static int indexOf(String name) {
+        int index = NAMES.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown god " + name + ", expected one of " + NAMES);
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the name of the god at a stable index.
+     * @param index the index
+     * @return the name of the god.
+     */
+    public static String nameAt(int index) {
+        if (index < 0 || index >= NAMES.size()) {
+            throw new IllegalArgumentException("Unknown god index " + index);
+        }
+        return NAMES.get(index);
+    }
+}
@@ -1,74 +1,62 @@
 package GodCard;
 
 import Board.Board;
-import Board.BoardHighlighter;
-import GameMode.gameutils.TurnState;
-import Player.Player;
-import Player.Worker;
 import Board.Cell;
+import Player.Worker;
+import engine.Action;
+import engine.GameState;
 
-import javax.swing.*;
-import java.util.Objects;
+import java.util.List;
 
 
+/**
+ * Represents the god Triton whose worker may keep moving while it is on a perimeter space.
+ */
 public class Triton extends GodCard{
 
     private static final String GOD_NAME = "Triton";
-    private boolean awaitingSecondMove = false;
 
     /**
-     * Constructs an Artemis god instance.
+     * Constructs a Triton god instance.
      */
     public Triton() {
         super(GOD_NAME, PowerPhase.MOVE);
     }
 
     @Override
-    public ImageIcon getCardImg() {
-        return new ImageIcon(Objects.requireNonNull(getClass().getResource("/assets/triton.png")));
+    protected String getCardResource() {
+        return "/assets/triton.png";
     }
 
+    /**
+     * Adds Triton's extra move: available whenever the worker that moved stands on the perimeter.
+     *
+     * @param state The current game state.
+     * @param actions The list of legal actions to append to.
+     */
     @Override
-    public boolean godPowerAvailable(Board board, Player player, TurnState turnState, Worker worker) {
-        // If the player hasn't moved yet OR the player has already build OR the player has already made their second move
-        return turnState.hasMoved() && !turnState.hasBuilt() && worker.isOnPerimeter(board) && !turnState.hasUsedOrSkippedGodPower();
-    }
+    public void addPowerActions(GameState state, List<Action> actions) {
+        Worker worker = state.getActiveWorker();
+        if (worker == null || state.getTurnState().hasBuilt() || !worker.isOnPerimeter(state.getBoard())) return;
 
-    @Override
-    public void usingGodPower(Board board, BoardHighlighter highlighter, Player player, Worker worker) {
+        Board board = state.getBoard();
         Cell position = worker.getPosition();
-        this.awaitingSecondMove = true;
-        highlighter.highlightMovable(position.getRow(), position.getCol());
+        int from = board.indexOf(position);
+        for (Cell target : board.getNeighbours(position)) {
+            if (worker.canMoveTo(target)) {
+                actions.add(Action.extraMove(from, board.indexOf(target)));
+            }
+        }
     }
 
     /**
-     * Perform extra action for Triton
-     * @param board The board instance.
-     * @param worker The current worker.
-     * @param target The target cell for the god power.
-     * @param turnState
-     * @return
+     * Triton's power continues for as long as the worker keeps landing on perimeter spaces.
+     *
+     * @param state The game state after the extra move.
+     * @return true if the worker is still on the perimeter.
      */
     @Override
-    public boolean performExtraAction(Board board, BoardHighlighter highlighter, Worker worker, Cell target, TurnState turnState) {
-
-        if (!awaitingSecondMove) return false;
-
-        if (worker != null && worker.canMoveTo(target)) {
-            worker.move(target);
-            if (worker.isOnPerimeter(board) && !turnState.hasUsedOrSkippedGodPower()) {
-                Cell newPos = worker.getPosition();
-                highlighter.clearHighlights();
-                highlighter.highlightMovable(newPos.getRow(), newPos.getCol());
-                // stay in extra move state
-
-            } else {
-                turnState.setGodPowerUsedOrSkipped(true);
-                awaitingSecondMove = false; // end power if not on perimeter
-            }
-            return true;
-        }
-        System.out.println("Triton: Invalid extra move.");
-        return false;
+    public boolean keepsPowerAfter(GameState state) {
+        return state.getActiveWorker().isOnPerimeter(state.getBoard());
     }
 }
@@ -38,6 +38,21 @@ public class Player {
         this.winner = false;
     }
 
+    /**
+     * Copies a player's identity, tokens and inventory.
+     * Artifacts are recreated so the copy can use them without affecting the original.
+     *
+     * @param other the player to copy
+     */
+    public Player(Player other) {
+        this(other.name, other.god, other.color);
+        this.winner = other.winner;
+        this.tokens = other.tokens;
+        for (Artifact artifact : other.artifacts) {
+            this.artifacts.add(artifact.getType().create());
+        }
+    }
+
     /**
      * Returns the name of the player.
      *
@@ -2,10 +2,10 @@ package Player;
 import Board.Board;
 import Board.Cell;
 
-import java.awt.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 
 /**
@@ -29,28 +29,39 @@ public class Worker {
     }
 
     public static void placeMultipleRandomly(Board board, List<Player> players) {
-        List<Point> available = new ArrayList<>();
-
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getCols(); c++) {
-                Cell cell = board.getCell(r, c);
-                if (!cell.isOccupied() && !cell.getBlock().hasDome()) {
-                    available.add(new Point(r, c));
-                }
+        placeMultipleRandomly(board, players, new Random());
+
+        for (Cell cell : board.getAllCells()) {
+            Worker w = cell.getOccupiedBy();
+            if (w != null) {
+                System.out.println(w.getOwner().getName() + " placed Worker " + (w.getId() + 1) + " at (" + cell.getRow() + "," + cell.getCol() + ")");
             }
         }
+    }
 
-        Collections.shuffle(available);
+    /**
+     * Places two workers per player on random free cells without any console output.
+     * @param board The board to place workers on.
+     * @param players The two players, in seat order.
+     * @param random The source of randomness, so placements can be reproduced.
+     */
+    public static void placeMultipleRandomly(Board board, List<Player> players, Random random) {
+        List<Cell> available = new ArrayList<>();
+
+        for (Cell cell : board.getAllCells()) {
+            if (!cell.isOccupied() && !cell.getBlock().hasDome()) {
+                available.add(cell);
+            }
+        }
+
+        Collections.shuffle(available, random);
 
         for (int i = 0; i < 4; i++) {
-            Point p = available.get(i);
             Player owner = players.get(i < 2 ? 0 : 1);
             int workerId = i % 2;
 
             Worker w = new Worker(owner, workerId);
-            w.move(board.getCell(p.x, p.y));
-
-            System.out.println(owner.getName() + " placed Worker " + (workerId + 1) + " at (" + p.x + "," + p.y + ")");
+            w.move(available.get(i));
         }
     }
 
@@ -0,0 +1,250 @@
+package ai;
+
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computer opponent using iterative-deepening alpha-beta search over engine actions.
+ * Every action of a turn (buy, artifact, move, god power moves and builds, build) is one ply, so
+ * Artemis' second move, Demeter's second build and Triton's perimeter chains are searched like any other action.
+ * Positions are explored with {@link Rules#apply(GameState, Action)} and {@link Rules#undo(GameState)},
+ * so the search allocates nothing per node apart from the reused action lists.
+ * Positions already reached during the current turn are never chosen again, which stops endless
+ * Triton chains between two perimeter cells.
+ * Results are kept in a {@link TranspositionTable}, so positions reached again through different
+ * orders of extra moves and builds are not searched twice; the table can be shared between players and threads.
+ * Scores are negamax style, from the point of view of the player to move.
+ */
+public class AlphaBetaPlayer implements ComputerPlayer {
+    static final int WIN = 1_000_000;
+    private static final int MAX_DEPTH = 64;
+    private static final int CHECK_INTERVAL = 1024;  // Nodes between deadline checks
+
+    private final TranspositionTable table;
+    private final List<List<Action>> actionLists = new ArrayList<>();
+    private final Set<Long> turnHistory = new HashSet<>();  // Position keys chosen during the current turn
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int completedDepth;
+
+    /**
+     * Creates a player with its own 64 MB transposition table.
+     */
+    public AlphaBetaPlayer() {
+        this(TranspositionTable.ofMegabytes(64));
+    }
+
+    /**
+     * Creates a player that stores its results in the given table.
+     *
+     * @param table The transposition table, possibly shared with other players.
+     */
+    public AlphaBetaPlayer(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Chooses the best action for the current player within a time budget.
+     * The state is searched in place (undo, hashing and the bitboard get enabled on it) and left exactly as it was;
+     * pass a {@link GameState#copy()} if the state is shared with another thread such as the UI.
+     *
+     * @param state The position to search.
+     * @param budgetMillis The time allowed for the decision.
+     * @return the best action found, or null if the game is over.
+     */
+    @Override
+    public Action chooseAction(GameState state, long budgetMillis) {
+        List<Action> rootActions = Rules.legalActions(state);
+        if (rootActions.isEmpty()) return null;
+
+        state.enableUndo();
+        state.enableHashing();
+        state.enableBitBoard();
+        if (!state.getTurnState().hasMoved()) {
+            turnHistory.clear();
+        }
+        removeRepetitions(state, rootActions);
+        if (rootActions.size() == 1) return remember(state, rootActions.get(0));
+
+        int seat = state.getCurrentPlayerIndex();
+        deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        aborted = false;
+        nodes = 0;
+        completedDepth = 0;
+        table.newSearch();
+        moveToFront(rootActions, TranspositionTable.action(table.probe(state.getHash())));
+
+        Action best = rootActions.get(0);
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            int alpha = -WIN - 1;
+            Action iterationBest = null;
+            for (Action action : rootActions) {
+                int score = searchAfter(state, action, seat, depth - 1, 1, alpha, WIN + 1);
+                if (aborted) break;
+
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = action;
+                }
+            }
+            if (aborted) break;
+
+            // Search the best action first in the next iteration
+            best = iterationBest;
+            rootActions.remove(best);
+            rootActions.add(0, best);
+            completedDepth = depth;
+            if (alpha >= WIN - MAX_DEPTH || alpha <= -WIN + MAX_DEPTH) break;  // Forced result found
+        }
+        return remember(state, best);
+    }
+
+    private void removeRepetitions(GameState state, List<Action> rootActions) {
+        if (turnHistory.isEmpty()) return;
+
+        List<Action> fresh = new ArrayList<>(rootActions.size());
+        for (Action action : rootActions) {
+            Rules.apply(state, action);
+            if (!turnHistory.contains(state.getHash())) fresh.add(action);
+            Rules.undo(state);
+        }
+        // A build or skip never repeats a position, but keep every action if somehow all of them do
+        if (!fresh.isEmpty()) {
+            rootActions.retainAll(fresh);
+        }
+    }
+
+    private Action remember(GameState state, Action action) {
+        Rules.apply(state, action);
+        turnHistory.add(state.getHash());
+        Rules.undo(state);
+        return action;
+    }
+
+    /**
+     * Retrieves the number of positions visited by the last search.
+     * @return the node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retrieves the deepest fully searched depth of the last search.
+     * @return the depth in actions.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Applies an action, searches the resulting position and undoes the action.
+     * The score is negated only when the action handed the turn to the opponent.
+     */
+    private int searchAfter(GameState state, Action action, int seat, int depth, int ply, int alpha, int beta) {
+        Rules.apply(state, action);
+        int score = state.getCurrentPlayerIndex() == seat
+                ? search(state, depth, ply, alpha, beta)
+                : -search(state, depth, ply, -beta, -alpha);
+        Rules.undo(state);
+        return score;
+    }
+
+    private int search(GameState state, int depth, int ply, int alpha, int beta) {
+        if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        int seat = state.getCurrentPlayerIndex();
+        if (Rules.isTerminal(state)) {
+            return state.getWinnerIndex() == seat ? WIN - ply : -WIN + ply;
+        }
+        if (depth <= 0 || ply >= MAX_DEPTH) {
+            return Evaluator.evaluate(state, seat);
+        }
+
+        long key = state.getHash();
+        long entry = table.probe(key);
+        if (entry != 0L && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        List<Action> actions = actionsAt(ply);
+        Rules.legalActions(state, actions);
+        moveToFront(actions, TranspositionTable.action(entry));
+        int remaining = actions.size() == 1 ? depth : depth - 1;  // Forced actions do not use up depth
+
+        int alphaStart = alpha;
+        int best = -WIN - 1;
+        int bestAction = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            Action action = actions.get(i);
+            int score = searchAfter(state, action, seat, remaining, ply + 1, alpha, beta);
+            if (aborted) return 0;
+
+            if (score > best) {
+                best = score;
+                bestAction = action.encode();
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+
+        int bound = best <= alphaStart ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, depth, bound, toTable(best, ply), bestAction);
+        return best;
+    }
+
+    /**
+     * Win scores count plies from the root; the table keeps them relative to the stored position instead.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN - MAX_DEPTH) return score + ply;
+        if (score <= -WIN + MAX_DEPTH) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN - MAX_DEPTH) return score - ply;
+        if (score <= -WIN + MAX_DEPTH) return score + ply;
+        return score;
+    }
+
+    /**
+     * Moves the action with the given encoding (typically the table's best action) to the front.
+     */
+    private static void moveToFront(List<Action> actions, int code) {
+        if (code == 0) return;
+        for (int i = 1; i < actions.size(); i++) {
+            if (actions.get(i).encode() == code) {
+                actions.set(i, actions.set(0, actions.get(i)));
+                return;
+            }
+        }
+    }
+
+    private List<Action> actionsAt(int ply) {
+        while (actionLists.size() <= ply) {
+            actionLists.add(new ArrayList<>());
+        }
+        List<Action> actions = actionLists.get(ply);
+        actions.clear();
+        return actions;
+    }
+}
@@ -0,0 +1,38 @@
+package ai;
+
+import engine.Action;
+import engine.GameState;
+
+/**
+ * A computer player that picks one engine action at a time.
+ */
+public interface ComputerPlayer {
+
+    /**
+     * Chooses the action to play for the current player within a time budget.
+     * The given state is left as it was.
+     *
+     * @param state The position to decide in.
+     * @param budgetMillis The time allowed for the decision.
+     * @return the chosen action, or null if the game is over.
+     */
+    Action chooseAction(GameState state, long budgetMillis);
+
+    /**
+     * Releases any threads or memory the player holds. The player cannot be used afterwards.
+     */
+    default void close() {
+    }
+
+    /**
+     * Allocates the thinking time for one action from the remaining clock.
+     * Assumes about 60 more actions will be needed and never uses more than 1.5 seconds,
+     * so a whole turn stays quick enough to play against.
+     *
+     * @param secondsLeft The seconds left on the player's timer.
+     * @return the budget in milliseconds.
+     */
+    static long allocateMillis(int secondsLeft) {
+        return Math.max(50, Math.min(1500, secondsLeft * 1000L / 60));
+    }
+}
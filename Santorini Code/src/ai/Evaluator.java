@@ -0,0 +1,84 @@
+package ai;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.Cell;
+import Player.Player;
+import Player.Worker;
+import engine.GameState;
+
+/**
+ * Static evaluation of non-terminal positions, shared by the computer players.
+ * Rewards height, mobility towards higher cells, a level 2 worker next to a reachable level 3,
+ * and the token/artifact economy.
+ */
+final class Evaluator {
+
+    private Evaluator() {}
+
+    /**
+     * Scores a position from the point of view of one seat.
+     *
+     * @param state The position.
+     * @param seat The seat to score for.
+     * @return a positive score if the seat is ahead.
+     */
+    static int evaluate(GameState state, int seat) {
+        Board board = state.getBoard();
+        Player[] players = state.getPlayers();
+        BitBoard bits = state.getBitBoard();
+        int score = 0;
+        if (bits != null) {
+            for (int p = 0; p < players.length; p++) {
+                for (int id = 0; id < BitBoard.WORKERS_PER_PLAYER; id++) {
+                    int from = bits.getWorkerCell(p, id);
+                    if (from < 0) continue;
+
+                    int value = workerValue(bits, from);
+                    score += p == seat ? value : -value;
+                }
+            }
+        } else {
+            for (Cell cell : board.getAllCells()) {
+                Worker worker = cell.getOccupiedBy();
+                if (worker == null) continue;
+
+                int value = workerValue(board, cell, worker);
+                score += worker.getOwner() == players[seat] ? value : -value;
+            }
+        }
+        for (int p = 0; p < players.length; p++) {
+            int tokens = players[p].getTokens() + 3 * players[p].getArtifacts().size();
+            score += p == seat ? tokens : -tokens;
+        }
+        return score;
+    }
+
+    private static int workerValue(Board board, Cell cell, Worker worker) {
+        int level = cell.getBlock().getLevel();
+        int value = 100 * level;
+        for (Cell target : board.getNeighbours(cell)) {
+            if (!worker.canMoveTo(target)) continue;
+
+            int targetLevel = target.getBlock().getLevel();
+            value += 4 + 6 * targetLevel;
+            if (level == 2 && targetLevel == 3) value += 200;  // Threatens to win next move
+        }
+        return value;
+    }
+
+    /**
+     * Scores a worker as {@link #workerValue(Board, Cell, Worker)} does, counting its move targets per level
+     * on the bitboard instead of checking each neighbour.
+     */
+    private static int workerValue(BitBoard bits, int from) {
+        int level = bits.getLevel(from);
+        long targets = bits.moveTargets(from);
+        int value = 100 * level;
+        for (int k = 0; k <= BitBoard.MAX_LEVEL; k++) {
+            value += (4 + 6 * k) * Long.bitCount(targets & bits.getLevelMask(k));
+        }
+        if (level == 2) value += 200 * Long.bitCount(targets & bits.getLevelMask(3));  // Threatens to win next move
+        return value;
+    }
+}
@@ -0,0 +1,213 @@
+package ai;
+
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Computer player using parallel Monte Carlo Tree Search.
+ * Every search thread works on its own copy of the position and shares one tree with the others.
+ * Tree statistics are plain atomics updated without locks: a thread counts its visit while descending,
+ * which acts as a virtual loss until the playout result is added, so threads spread over different branches.
+ * Children are created on first visit and published with a single compare-and-set.
+ * Playouts are random games through {@link Rules}, so god powers, tokens and the shop all take part.
+ */
+public class MctsPlayer implements ComputerPlayer {
+    private static final double EXPLORATION = 1.4;
+    private static final int MAX_PLAYOUT_ACTIONS = 400;  // Longer playouts are scored by the evaluator
+    private static final int WIN = 2;                    // Scores are kept doubled so a draw is 1
+    private static final int DRAW = 1;
+
+    private final ForkJoinPool pool;
+    private final int threads;
+    private final SplittableRandom seeds;
+    private final LongAdder playouts = new LongAdder();
+
+    /**
+     * Creates a player that searches on every available core.
+     */
+    public MctsPlayer() {
+        this(Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Creates a player with a fixed number of search threads.
+     *
+     * @param threads The number of search threads.
+     * @param seed The seed for the playout randomness.
+     */
+    public MctsPlayer(int threads, long seed) {
+        this.threads = threads;
+        this.pool = new ForkJoinPool(threads);
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Chooses the most visited root action after searching until the budget runs out.
+     * The state is only copied, never changed.
+     *
+     * @param state The position to search.
+     * @param budgetMillis The time allowed for the decision.
+     * @return the best action found, or null if the game is over.
+     */
+    @Override
+    public Action chooseAction(GameState state, long budgetMillis) {
+        List<Action> rootActions = Rules.legalActions(state);
+        if (rootActions.isEmpty()) return null;
+        if (rootActions.size() == 1) return rootActions.get(0);
+
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        Node root = new Node(null, -1);
+        root.children.set(Node.create(rootActions, state.getCurrentPlayerIndex()));
+        playouts.reset();
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            GameState copy = state.copy();
+            SplittableRandom random = seeds.split();
+            tasks.add(pool.submit(() -> searchUntil(root, copy, random, deadline)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        Node best = null;
+        for (Node child : root.children.get()) {
+            if (best == null || child.visits.get() > best.visits.get()) best = child;
+        }
+        return best.action;
+    }
+
+    /**
+     * Retrieves the number of playouts run by the last search, over all threads.
+     * @return the playout count.
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * Stops the search threads. The player cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    private void searchUntil(Node root, GameState state, SplittableRandom random, long deadline) {
+        state.enableUndo();
+        state.enableBitBoard();
+        List<Node> path = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            iterate(root, state, random, path, actions);
+            playouts.increment();
+        }
+    }
+
+    /**
+     * Runs one selection, expansion, playout and backpropagation, then undoes back to the root.
+     */
+    private void iterate(Node root, GameState state, SplittableRandom random, List<Node> path, List<Action> actions) {
+        path.clear();
+        Node node = root;
+        node.visits.incrementAndGet();
+        path.add(node);
+
+        // Selection and expansion
+        while (!Rules.isTerminal(state)) {
+            Node[] children = node.children.get();
+            boolean expanded = false;
+            if (children == null) {
+                actions.clear();
+                Rules.legalActions(state, actions);
+                node.children.compareAndSet(null, Node.create(actions, state.getCurrentPlayerIndex()));
+                children = node.children.get();
+                expanded = true;
+            }
+
+            node = select(node, children);
+            node.visits.incrementAndGet();  // Virtual loss until the result is added
+            path.add(node);
+            Rules.apply(state, node.action);
+            if (expanded) break;
+        }
+
+        // Playout
+        int steps = 0;
+        while (!Rules.isTerminal(state) && steps++ < MAX_PLAYOUT_ACTIONS) {
+            actions.clear();
+            Rules.legalActions(state, actions);
+            Rules.apply(state, actions.get(random.nextInt(actions.size())));
+        }
+        int winner = state.getWinnerIndex();
+        if (winner < 0) {
+            int score = Evaluator.evaluate(state, 0);
+            winner = score > 0 ? 0 : score < 0 ? 1 : -1;
+        }
+
+        // Backpropagation
+        for (int i = 1; i < path.size(); i++) {
+            Node visited = path.get(i);
+            visited.score.addAndGet(winner == visited.mover ? WIN : winner < 0 ? DRAW : 0);
+        }
+        while (state.getUndoDepth() > 0) {
+            Rules.undo(state);
+        }
+    }
+
+    private static Node select(Node parent, Node[] children) {
+        double logParent = Math.log(Math.max(1, parent.visits.get()));
+        Node best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            int visits = child.visits.get();
+            if (visits == 0) return child;
+
+            double value = child.score.get() / (2.0 * visits) + EXPLORATION * Math.sqrt(logParent / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Shared tree node. Statistics are from the point of view of the seat that played the action.
+     */
+    private static final class Node {
+        final Action action;
+        final int mover;
+        final AtomicInteger visits = new AtomicInteger();
+        final AtomicLong score = new AtomicLong();
+        final AtomicReference<Node[]> children = new AtomicReference<>();
+
+        Node(Action action, int mover) {
+            this.action = action;
+            this.mover = mover;
+        }
+
+        static Node[] create(List<Action> actions, int mover) {
+            Node[] nodes = new Node[actions.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = new Node(actions.get(i), mover);
+            }
+            return nodes;
+        }
+    }
+}
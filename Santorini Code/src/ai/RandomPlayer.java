@@ -0,0 +1,40 @@
+package ai;
+
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Computer player that picks a uniformly random legal action. Used as a baseline and for fast self-play.
+ */
+public class RandomPlayer implements ComputerPlayer {
+    private final SplittableRandom random;
+    private final List<Action> actions = new ArrayList<>();
+
+    /**
+     * Creates a random player.
+     *
+     * @param seed The seed, so games can be reproduced.
+     */
+    public RandomPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Picks a random legal action; the budget is ignored.
+     *
+     * @param state The position to decide in.
+     * @param budgetMillis Not used.
+     * @return a random legal action, or null if the game is over.
+     */
+    @Override
+    public Action chooseAction(GameState state, long budgetMillis) {
+        actions.clear();
+        Rules.legalActions(state, actions);
+        return actions.isEmpty() ? null : actions.get(random.nextInt(actions.size()));
+    }
+}
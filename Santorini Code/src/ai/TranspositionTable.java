@@ -0,0 +1,148 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table of search results, keyed by the position's Zobrist key.
+ * Entries live in one primitive long array (two longs each), so the table costs no objects and no GC work
+ * whatever its size. Buckets hold two entries: the first keeps the deepest result of the current search,
+ * the second is always replaced.
+ * Threads may share a table without locks: an entry is stored as (key ^ data, data), so a torn write
+ * from two racing threads fails the key check on the next probe and is treated as a miss.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;  // Score is at least the stored value (beta cutoff)
+    public static final int UPPER = 3;  // Score is at most the stored value (failed low)
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_LONGS = 2 * ENTRY_LONGS;
+    private static final long MIN_BYTES = 1L << 16;
+    private static final long MAX_BYTES = 4L << 30;  // 2^29 longs, well within the limit of one array
+
+    // Data layout: action (30 bits) | depth (8 bits) | bound (2 bits) | score + SCORE_BIAS (22 bits) | age (2 bits)
+    private static final int DEPTH_SHIFT = 30;
+    private static final int BOUND_SHIFT = 38;
+    private static final int SCORE_SHIFT = 40;
+    private static final int AGE_SHIFT = 62;
+    private static final int SCORE_BIAS = 1 << 21;
+
+    private final long[] table;
+    private final long bucketMask;
+    private int age = 0;
+
+    /**
+     * Creates a table that uses at most the given amount of memory.
+     * The number of buckets is rounded down to a power of two.
+     *
+     * @param budgetBytes The memory budget in bytes (64 KB to 4 GB).
+     */
+    public TranspositionTable(long budgetBytes) {
+        long bytes = Math.max(MIN_BYTES, Math.min(MAX_BYTES, budgetBytes));
+        long buckets = Long.highestOneBit(bytes / (BUCKET_LONGS * Long.BYTES));
+        this.table = new long[(int) (buckets * BUCKET_LONGS)];
+        this.bucketMask = table.length / BUCKET_LONGS - 1;
+    }
+
+    /**
+     * Creates a table with a budget in megabytes.
+     *
+     * @param megabytes The memory budget, e.g. 64 to 4096.
+     * @return the table.
+     */
+    public static TranspositionTable ofMegabytes(int megabytes) {
+        return new TranspositionTable((long) megabytes << 20);
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key The Zobrist key of the position.
+     * @return the stored data, or 0 if the position is not in the table.
+     */
+    public long probe(long key) {
+        int bucket = bucketOf(key);
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0L) return data;
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result. The deep slot is only replaced by a result at least as deep,
+     * by the same position, or when it is left over from an earlier search; otherwise the
+     * result goes to the always-replace slot.
+     *
+     * @param key The Zobrist key of the position.
+     * @param depth The remaining depth the score was searched to.
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+     * @param score The score, from the point of view of the player to move.
+     * @param action The encoded best action, or 0 if there is none.
+     */
+    public void store(long key, int depth, int bound, int score, int action) {
+        long data = (action & 0x3FFFFFFFL)
+                | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (score + SCORE_BIAS) << SCORE_SHIFT)
+                | ((long) age << AGE_SHIFT);
+
+        int slot = bucketOf(key);
+        long deep = table[slot + 1];
+        boolean replaceDeep = deep == 0L
+                || (table[slot] ^ deep) == key
+                || ageOf(deep) != age
+                || depth >= depth(deep);
+        if (!replaceDeep) {
+            slot += ENTRY_LONGS;
+        }
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+    /**
+     * Marks the start of a new search, so entries from earlier searches become the first to be replaced.
+     */
+    public void newSearch() {
+        age = (age + 1) & 0x3;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    /**
+     * Retrieves the memory held by the entries.
+     * @return the size in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    public static int action(long data) {
+        return (int) (data & 0x3FFFFFFFL);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    public static int score(long data) {
+        return (int) ((data >>> SCORE_SHIFT) & 0x3FFFFF) - SCORE_BIAS;
+    }
+
+    private static int ageOf(long data) {
+        return (int) (data >>> AGE_SHIFT);
+    }
+
+    private int bucketOf(long key) {
+        return (int) (key & bucketMask) * BUCKET_LONGS;
+    }
+}
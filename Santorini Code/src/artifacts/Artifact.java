@@ -23,6 +23,12 @@ public abstract class Artifact{
 
     public abstract String getDescription();
 
+    /**
+     * Retrieves the catalogue entry of this artifact.
+     * @return the artifact type
+     */
+    public abstract ArtifactType getType();
+
 
     public int getCost(){
         return this.cost;
@@ -0,0 +1,38 @@
+package artifacts;
+
+/**
+ * Catalogue of the artifacts that can be bought in the shop.
+ * Used wherever an artifact has to be named without holding an instance,
+ * e.g. in engine actions and saved games.
+ */
+public enum ArtifactType {
+    TRIDENT,
+    THUNDERBOLT;
+
+    private static final int[] COSTS = new int[values().length];
+
+    static {
+        for (ArtifactType type : values()) {
+            COSTS[type.ordinal()] = type.create().getCost();
+        }
+    }
+
+    /**
+     * Creates a fresh instance of this artifact for a player's inventory.
+     * @return the new artifact
+     */
+    public Artifact create() {
+        return switch (this) {
+            case TRIDENT -> new Trident();
+            case THUNDERBOLT -> new Thunderbolt();
+        };
+    }
+
+    /**
+     * Retrieves the token cost of this artifact without creating an instance.
+     * @return the cost in tokens
+     */
+    public int getCost() {
+        return COSTS[ordinal()];
+    }
+}
@@ -3,9 +3,6 @@ package artifacts;
 import Board.Board;
 import Board.Cell;
 import Player.Player;
-import Player.Worker;
-
-import java.util.List;
 
 /**
  * Class representation of Zeus' Thunderbolt.
@@ -18,6 +15,13 @@ public class Thunderbolt extends Artifact {
     // To buy this artifact, player has to offer three tokens
     private static final int COST = 3;
 
+    private static final ArtifactCellCondition HAS_BLOCK = cell -> cell.getBlock().getLevel() >= 1;
+    private static final ArtifactCellCondition TARGET = cell ->
+            cell.getBlock() != null &&
+                    !cell.isOccupied() &&
+                    cell.getBlock().getLevel() >= 1 &&
+                    cell.getBlock().getLevel() <= 3;
+
     public Thunderbolt() {
         super(ARTIFACT_NAME, COST);
     }
@@ -30,22 +34,16 @@ public class Thunderbolt extends Artifact {
      */
     @Override
     public boolean canUse(Board board){
-        List<Cell> cells = board.getAllCells();
-        for(Cell cell : cells){
-            int level = cell.getBlock().getLevel();
-            if(level >= 1){
-                return true;
-            }
-        }
-        return false;
+        return board.hasMatchingCell(HAS_BLOCK);
+    }
+
+    @Override
+    public ArtifactType getType() {
+        return ArtifactType.THUNDERBOLT;
     }
 
     public ArtifactCellCondition getArtifactCondition(){
-        return cell ->
-                cell.getBlock() != null &&
-                        !cell.isOccupied() &&
-                        cell.getBlock().getLevel() >= 1 &&
-                        cell.getBlock().getLevel() <= 3;
+        return TARGET;
     }
 
     /**
@@ -4,14 +4,18 @@ import Board.Board;
 import Board.Cell;
 import Player.Player;
 
-import java.util.List;
-
 public class Trident extends Artifact{
     private static final String ARTIFACT_NAME = "Poseidon's Trident";
 
     // To buy this artifact, player has to offer one token
     private static final int COST = 2;
 
+    private static final ArtifactCellCondition EMPTY_GROUND = cell ->
+            cell.getBlock().getLevel() == 0 && !cell.isOccupied();
+    private static final ArtifactCellCondition TARGET = cell ->
+            !cell.isOccupied() && !cell.isFlooded() &&
+                    !cell.getBlock().hasDome() && cell.getBlock().getLevel() == 0;
+
     public Trident() {
         super(ARTIFACT_NAME, COST);
     }
@@ -37,21 +41,17 @@ public class Trident extends Artifact{
      */
     @Override
     public boolean canUse(Board board) {
-        List<Cell> cells = board.getAllCells();
-        for(Cell cell : cells){
-            int level = cell.getBlock().getLevel();
-            if(level == 0 && !cell.isOccupied()){
-                return true;
-            }
-        }
-        return false;
+        return board.hasMatchingCell(EMPTY_GROUND);
     }
 
 
+    @Override
+    public ArtifactType getType() {
+        return ArtifactType.TRIDENT;
+    }
+
     public ArtifactCellCondition getArtifactCondition(){
-        return cell ->
-                !cell.isOccupied() && !cell.isFlooded() &&
-                        cell.getBlock().getLevel() == 0;
+        return TARGET;
     }
 
 
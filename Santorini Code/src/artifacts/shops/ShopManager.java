@@ -2,18 +2,49 @@ package artifacts.shops;
 
 import GameMode.gameutils.TurnState;
 import Player.Player;
-import artifacts.Artifact;
+import artifacts.ArtifactType;
 
+import java.util.List;
+
+/**
+ * Handles the artifact shop without any user interface, so computer players and headless games can buy too.
+ */
 public class ShopManager {
+    private static final List<ArtifactType> CATALOGUE = List.of(ArtifactType.values());
+
     public ShopManager() {}
 
-    public boolean processPayment(Artifact artifact, Player player) {
-        if (player.getTokens() >= artifact.getCost()) {
-            player.decreaseTokens(artifact.getCost());
-            player.addArtifact(artifact);
-            return true;
+    /**
+     * Retrieves the artifacts on sale.
+     * @return the catalogue, in display order
+     */
+    public List<ArtifactType> getCatalogue() {
+        return CATALOGUE;
+    }
+
+    /**
+     * Checks whether a player has enough tokens for an artifact.
+     * @param player the buyer
+     * @param type the artifact
+     * @return true if the player can pay for it
+     */
+    public boolean canAfford(Player player, ArtifactType type) {
+        return player.getTokens() >= type.getCost();
+    }
+
+    /**
+     * Sells an artifact to a player if they can afford it.
+     * @param player the buyer
+     * @param type the artifact
+     * @return true if the artifact was paid for and added to the player's inventory
+     */
+    public boolean buy(Player player, ArtifactType type) {
+        if (!canAfford(player, type)) {
+            return false;
         }
-        return false;
+        player.decreaseTokens(type.getCost());
+        player.addArtifact(type.create());
+        return true;
     }
 
     public void closeShop(TurnState turnState){
@@ -1,28 +1,29 @@
 package artifacts.shops;
 
-import GameMode.gameutils.TurnState;
 import Player.Player;
 import artifacts.Artifact;
-import artifacts.Thunderbolt;
-import artifacts.Trident;
+import artifacts.ArtifactType;
+import listeners.ShopListener;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.util.ArrayList;
-import java.util.List;
 
+/**
+ * The shop window of one game. It is built once and shown to each human player at the start of their turn,
+ * refreshed with their tokens; choices are passed to the listener, which applies them through the engine.
+ */
 public class ShopPopup extends JFrame {
-    private List<Artifact> artifactOptions = new ArrayList<>();
-    public ShopPopup(Player player, ShopManager shopManager, TurnState turnState){
+    private final ShopManager shopManager;
+    private final JLabel tokenLabel;
+    private Player player;
 
-        // Populate artifacts list
-        artifactOptions.add(new Trident());
-        artifactOptions.add(new Thunderbolt());
+    public ShopPopup(ShopManager shopManager, ShopListener listener){
+        this.shopManager = shopManager;
 
         setTitle("Buy Phase");
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
         setSize(600, 400);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout(10,10));
@@ -32,7 +33,7 @@ public class ShopPopup extends JFrame {
             public void windowClosing(WindowEvent e) {
                 // When player closes the window instead of clicking "End Buy Phase" button
                 System.out.println("Shop popup was closed by player.");
-                turnState.setBuyPhaseCompleted(true);
+                listener.onEndBuy();
             }
         });
 
@@ -48,7 +49,7 @@ public class ShopPopup extends JFrame {
         // Token Display
         JPanel tokenPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         tokenPanel.setBackground(new Color(144, 171, 111));
-        JLabel tokenLabel = new JLabel("Your Current Tokens: " + player.getTokens());
+        tokenLabel = new JLabel();
         tokenLabel.setForeground(Color.WHITE);
         tokenLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
         tokenPanel.add(tokenLabel);
@@ -71,24 +72,22 @@ public class ShopPopup extends JFrame {
         descriptionArea.setFont(new Font("Arial", Font.PLAIN, 12));
         descriptionArea.setBorder(BorderFactory.createTitledBorder("Artifact Description"));
 
-        // Add artifact buttons
-        for(Artifact artifact: artifactOptions){
+        // Add artifact buttons, one per catalogue entry
+        for(ArtifactType type: shopManager.getCatalogue()){
+            Artifact artifact = type.create(); // Only read for its name and description
             JButton artifactButton = new JButton(artifact.getName() + "     " + artifact.getCost() + " Token(s)");
 
             Dimension buttonSize = new Dimension(Integer.MAX_VALUE, 40);
             artifactButton.setMaximumSize(buttonSize);
 
             artifactButton.addActionListener(e->{
-                // Process purchase
-                boolean success = shopManager.processPayment(artifact, player);
-
-                if(success){
+                if(shopManager.canAfford(player, type)){
+                    listener.onBuy(type);
                     JOptionPane.showMessageDialog(this,
                             "You purchased: " + artifact.getName(),
                             "Purchase Successful",
                             JOptionPane.INFORMATION_MESSAGE);
-                    shopManager.closeShop(turnState);
-                    dispose(); // Close the popup after successful purchase
+                    setVisible(false); // Close the popup after successful purchase
                 }
                 else{
                     JOptionPane.showMessageDialog(this,
@@ -114,7 +113,6 @@ public class ShopPopup extends JFrame {
             artifactPanel.add(Box.createVerticalStrut(5));
             artifactPanel.add(artifactButton);
         }
-        add(artifactPanel, BorderLayout.CENTER);
         JScrollPane artifactScroll = new JScrollPane(artifactPanel);
         centerPanel.add(artifactScroll, BorderLayout.CENTER);
         centerPanel.add(descriptionArea, BorderLayout.EAST);
@@ -124,15 +122,20 @@ public class ShopPopup extends JFrame {
         JPanel bottomPanel = new JPanel(new BorderLayout());
         JButton endButton = new JButton("End Buy Phase");
         endButton.addActionListener(e -> {
-            shopManager.closeShop(turnState);
-            dispose();
+            listener.onEndBuy();
+            setVisible(false);
         }); // Close the popup
         bottomPanel.add(endButton, BorderLayout.EAST);
         add(bottomPanel, BorderLayout.SOUTH);
+    }
 
+    /**
+     * Shows the shop to a player, refreshed with their current tokens.
+     * @param player the player in their buy phase
+     */
+    public void showFor(Player player){
+        this.player = player;
+        tokenLabel.setText("Your Current Tokens: " + player.getTokens());
         setVisible(true);
-
     }
-
-
 }
@@ -0,0 +1,111 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The measured iterations of one benchmark on one board size, grouped by the JVM (fork) they ran in.
+ * Scores are nanoseconds per call of the measured method.
+ */
+final class BenchmarkResult {
+    private final String name;
+    private final int size;
+    private final List<double[]> forks = new ArrayList<>();
+
+    /**
+     * @param name the benchmark name
+     * @param size the number of rows and columns of the board
+     */
+    BenchmarkResult(String name, int size) {
+        this.name = name;
+        this.size = size;
+    }
+
+    /**
+     * Adds the iterations measured in one JVM.
+     * @param scores the score of each iteration
+     */
+    void addFork(double[] scores) {
+        forks.add(scores);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Retrieves the mean score over all iterations of all forks.
+     * @return the mean in nanoseconds per call
+     */
+    double getScore() {
+        double total = 0;
+        int count = 0;
+        for (double[] scores : forks) {
+            for (double score : scores) {
+                total += score;
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : total / count;
+    }
+
+    /**
+     * Retrieves the sample standard deviation of the iterations.
+     * @return the deviation in nanoseconds per call, or 0 with fewer than two iterations.
+     */
+    double getError() {
+        double mean = getScore();
+        double squares = 0;
+        int count = 0;
+        for (double[] scores : forks) {
+            for (double score : scores) {
+                squares += (score - mean) * (score - mean);
+                count++;
+            }
+        }
+        return count < 2 ? 0 : Math.sqrt(squares / (count - 1));
+    }
+
+    /**
+     * Appends the result as an element of JMH's JSON result array, so the tools that chart JMH runs read it too.
+     * @param json the text to append to
+     * @param settings the run settings, as JSON members without braces
+     */
+    void appendJson(StringBuilder json, String settings) {
+        double score = getScore();
+        double error = getError();
+        json.append("  {\n");
+        json.append("    \"benchmark\": \"bench.").append(name).append("\",\n");
+        json.append("    \"mode\": \"avgt\",\n");
+        json.append(settings);
+        json.append("    \"params\": {\"size\": \"").append(size).append("\"},\n");
+        json.append("    \"primaryMetric\": {\n");
+        json.append("      \"score\": ").append(number(score)).append(",\n");
+        json.append("      \"scoreError\": ").append(number(error)).append(",\n");
+        json.append("      \"scoreConfidence\": [").append(number(score - error)).append(", ")
+                .append(number(score + error)).append("],\n");
+        json.append("      \"scoreUnit\": \"ns/op\",\n");
+        json.append("      \"rawData\": [");
+        for (int fork = 0; fork < forks.size(); fork++) {
+            json.append(fork == 0 ? "[" : ", [");
+            double[] scores = forks.get(fork);
+            for (int i = 0; i < scores.length; i++) {
+                json.append(i == 0 ? "" : ", ").append(number(scores[i]));
+            }
+            json.append("]");
+        }
+        json.append("]\n");
+        json.append("    },\n");
+        json.append("    \"secondaryMetrics\": {}\n");
+        json.append("  }");
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
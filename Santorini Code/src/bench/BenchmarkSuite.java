@@ -0,0 +1,270 @@
+package bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmarks of the board, rules and rendering hot paths (see {@link HotPaths}) on square boards of several
+ * sizes, to catch performance regressions between releases.
+ * Each benchmark and size runs in its own JVM (fork), so the JIT profile of one benchmark cannot slow down the
+ * next: a few warm-up iterations, then the measured ones, each calling the benchmark in batches for a fixed time.
+ * Scores are the average time per call of the measured method. With --json the results are written in the
+ * layout of JMH's JSON output, where scoreError is the standard deviation of the iterations.
+ *
+ * <pre>
+ * java bench.BenchmarkSuite [--sizes 5,8,16,32,64] [--include REGEX] [--warmup N] [--iterations N]
+ *                           [--time MS] [--forks F] [--json FILE] [--list]
+ * </pre>
+ */
+public class BenchmarkSuite {
+    private static final long MIN_BATCH_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final String SCORES = "scores";
+
+    private static volatile long sink;  // Where the results of the calls go, so the JIT cannot drop them
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationMillis;
+    private final int forks;
+
+    /**
+     * Creates a suite.
+     *
+     * @param warmupIterations The number of unmeasured iterations before the measured ones.
+     * @param iterations The number of measured iterations per fork.
+     * @param iterationMillis The length of each iteration.
+     * @param forks The number of JVMs each benchmark runs in, or 0 to run them all in this one.
+     */
+    public BenchmarkSuite(int warmupIterations, int iterations, long iterationMillis, int forks) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+        this.forks = forks;
+    }
+
+    /**
+     * Runs one benchmark on one board size.
+     *
+     * @param name The benchmark name, as listed by --list.
+     * @param size The number of rows and columns of the board.
+     * @return the measured iterations.
+     * @throws IOException if a forked JVM fails.
+     */
+    BenchmarkResult run(String name, int size) throws IOException, InterruptedException {
+        BenchmarkResult result = new BenchmarkResult(name, size);
+        if (forks <= 0) {
+            result.addFork(measure(name, size));
+        }
+        for (int fork = 0; fork < forks; fork++) {
+            result.addFork(runForked(name, size));
+        }
+        return result;
+    }
+
+    /**
+     * Warms up and measures a benchmark in this JVM.
+     * @return the score of each measured iteration.
+     */
+    private double[] measure(String name, int size) {
+        IntFunction<HotPaths.Prepared> setup = HotPaths.all().get(name);
+        if (setup == null) {
+            throw new IllegalArgumentException("Unknown benchmark " + name);
+        }
+        HotPaths.Prepared prepared = setup.apply(size);
+        long iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+
+        // Grow the batch until the clock is read rarely enough not to count
+        int batch = 1;
+        while (batch < Integer.MAX_VALUE / 2 && timeBatch(prepared.operation, batch) < MIN_BATCH_NANOS) {
+            batch *= 2;
+        }
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(prepared, batch, iterationNanos);
+        }
+        double[] scores = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            scores[i] = iterate(prepared, batch, iterationNanos);
+        }
+        return scores;
+    }
+
+    private static long timeBatch(HotPaths.Operation operation, int batch) {
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < batch; i++) {
+            total += operation.run();
+        }
+        sink = total;
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Calls the benchmark in batches for the length of one iteration.
+     * @return the nanoseconds per call of the measured method.
+     */
+    private static double iterate(HotPaths.Prepared prepared, int batch, long iterationNanos) {
+        HotPaths.Operation operation = prepared.operation;
+        long total = 0;
+        long calls = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                total += operation.run();
+            }
+            calls += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        sink = total;
+        return (double) elapsed / calls / prepared.operations;
+    }
+
+    /**
+     * Measures a benchmark in a new JVM with the same class path and options as this one.
+     * @return the score of each measured iteration.
+     */
+    private double[] runForked(String name, int size) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-Djava.awt.headless=true");
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), BenchmarkSuite.class.getName(),
+                "--run", name, "--size", String.valueOf(size),
+                "--warmup", String.valueOf(warmupIterations), "--iterations", String.valueOf(iterations),
+                "--time", String.valueOf(iterationMillis)));
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+        double[] scores = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(SCORES + " ")) {
+                    scores = Arrays.stream(line.substring(SCORES.length() + 1).split(" "))
+                            .mapToDouble(Double::parseDouble).toArray();
+                }
+            }
+        }
+        int exit = process.waitFor();
+        if (exit != 0 || scores == null) {
+            throw new IOException("Benchmark " + name + " on " + size + "x" + size + " failed (exit code " + exit + ")");
+        }
+        return scores;
+    }
+
+    /**
+     * Writes the results as JSON.
+     *
+     * @param results The results to write.
+     * @param file The file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    void writeJson(List<BenchmarkResult> results, Path file) throws IOException {
+        String settings = "    \"jdkVersion\": \"" + System.getProperty("java.version") + "\",\n"
+                + "    \"vmName\": \"" + System.getProperty("java.vm.name") + "\",\n"
+                + "    \"threads\": 1,\n"
+                + "    \"forks\": " + forks + ",\n"
+                + "    \"warmupIterations\": " + warmupIterations + ",\n"
+                + "    \"warmupTime\": \"" + iterationMillis + " ms\",\n"
+                + "    \"measurementIterations\": " + iterations + ",\n"
+                + "    \"measurementTime\": \"" + iterationMillis + " ms\",\n";
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            if (i > 0) json.append(",\n");
+            results.get(i).appendJson(json, settings);
+        }
+        json.append("\n]\n");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int[] sizes = {5, 8, 16, 32, 64};
+        Pattern include = Pattern.compile("");
+        int warmup = 3;
+        int iterations = 5;
+        long time = 500;
+        int forks = 1;
+        String jsonFile = null;
+        boolean list = false;
+        String runName = null;  // Set in a forked JVM, which measures one benchmark and prints its scores
+        int runSize = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--sizes" -> sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--include" -> include = Pattern.compile(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Integer.parseInt(value);
+                case "--time" -> time = Long.parseLong(value);
+                case "--forks" -> forks = Integer.parseInt(value);
+                case "--json" -> jsonFile = value;
+                case "--list" -> {
+                    list = true;
+                    continue;  // Takes no value
+                }
+                case "--run" -> runName = value;
+                case "--size" -> runSize = Integer.parseInt(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: BenchmarkSuite [--sizes 5,8,16,32,64] [--include REGEX] [--warmup N]"
+                            + " [--iterations N] [--time MS] [--forks F] [--json FILE] [--list]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+
+        if (runName != null) {
+            BenchmarkSuite suite = new BenchmarkSuite(warmup, iterations, time, 0);
+            StringBuilder line = new StringBuilder(SCORES);
+            for (double score : suite.measure(runName, runSize)) {
+                line.append(' ').append(score);
+            }
+            System.out.println(line);
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, IntFunction<HotPaths.Prepared>> benchmark : HotPaths.all().entrySet()) {
+            if (include.matcher(benchmark.getKey()).find()) {
+                names.add(benchmark.getKey());
+            }
+        }
+        if (list) {
+            names.forEach(System.out::println);
+            return;
+        }
+
+        System.out.println("# " + names.size() + " benchmarks, sizes " + Arrays.toString(sizes) + ", warmup "
+                + warmup + " x " + time + " ms, " + iterations + " x " + time + " ms, forks " + forks);
+        BenchmarkSuite suite = new BenchmarkSuite(warmup, iterations, time, forks);
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (String name : names) {
+            for (int size : sizes) {
+                if (!HotPaths.supports(name, size)) continue;
+
+                BenchmarkResult result = suite.run(name, size);
+                results.add(result);
+                System.out.printf("%-36s %7s %14.2f +- %10.2f ns/op%n", name, size + "x" + size,
+                        result.getScore(), result.getError());
+            }
+        }
+        if (jsonFile != null) {
+            suite.writeJson(results, Path.of(jsonFile));
+            System.out.println("# results written to " + jsonFile);
+        }
+    }
+}
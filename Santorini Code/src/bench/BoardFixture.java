@@ -0,0 +1,70 @@
+package bench;
+
+import Board.Board;
+import Board.Cell;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import engine.GameState;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A position for the benchmarks: a square board with random buildings, domes and floods, and two players
+ * with two workers each, the first player to move. The same size, gods and seed always give the same position.
+ */
+final class BoardFixture {
+    final Board board;
+    final Player[] players;
+    final GameState state;
+    final List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Builds a position for Artemis against Demeter.
+     * @param size the number of rows and columns
+     */
+    BoardFixture(int size) {
+        this(size, "Artemis", "Demeter", size);
+    }
+
+    /**
+     * Builds a position.
+     * @param size the number of rows and columns
+     * @param god the god of the player to move
+     * @param opponent the god of the other player
+     * @param seed the seed of the buildings and placement
+     */
+    BoardFixture(int size, String god, String opponent, long seed) {
+        Random random = new Random(seed);
+        board = new Board(size, size);
+        for (Cell cell : board.getAllCells()) {
+            int roll = random.nextInt(100);
+            if (roll < 35) {
+                cell.getBlock().restore(1, false);
+            } else if (roll < 55) {
+                cell.getBlock().restore(2, false);
+            } else if (roll < 65) {
+                cell.getBlock().restore(3, false);
+            } else if (roll < 70) {
+                cell.getBlock().restore(3, true);
+            }
+        }
+
+        players = new Player[]{
+                new Player("Player 1", GodRegistry.create(god), Color.BLUE),
+                new Player("Player 2", GodRegistry.create(opponent), Color.RED)
+        };
+        Worker.placeMultipleRandomly(board, List.of(players), random);
+        for (Cell cell : board.getAllCells()) {
+            if (cell.getOccupiedBy() != null) {
+                workers.add(cell.getOccupiedBy());
+            } else if (random.nextInt(100) < 3) {
+                cell.setFlooded(true);
+            }
+        }
+        state = new GameState(board, players, 0, false);
+    }
+}
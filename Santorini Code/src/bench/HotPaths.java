@@ -0,0 +1,299 @@
+package bench;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.BoardHighlighter;
+import Board.Cell;
+import GodCard.GodCard;
+import GodCard.GodRegistry;
+import GodCard.PowerPhase;
+import Player.Worker;
+import artifacts.Artifact;
+import artifacts.ArtifactType;
+import engine.Action;
+import engine.ActionType;
+import engine.GameState;
+import engine.Rules;
+import frontend.CellPanel;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * The benchmarks: the board, rules and rendering code that runs on every click, every search node or every frame.
+ * Each one is prepared on a fresh {@link BoardFixture} of the size being measured.
+ */
+final class HotPaths {
+    private static final int PANEL_SIZE = 100;
+    private static final int MAX_SEEDS = 1000;
+
+    private HotPaths() {
+    }
+
+    /**
+     * One timed call of a benchmark. The result is added up by the runner so the work cannot be optimised away.
+     */
+    interface Operation {
+        long run();
+    }
+
+    /**
+     * A benchmark ready to run.
+     */
+    static final class Prepared {
+        final int operations;
+        final Operation operation;
+
+        /**
+         * @param operations how many calls of the measured method one run makes, so scores are per call
+         * @param operation the run
+         */
+        Prepared(int operations, Operation operation) {
+            this.operations = operations;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Lists every benchmark by name, in the order they run.
+     * @return the benchmarks, each preparing itself for a board size
+     */
+    static Map<String, IntFunction<Prepared>> all() {
+        Map<String, IntFunction<Prepared>> benchmarks = new LinkedHashMap<>();
+        benchmarks.put("board.getCell", HotPaths::getCell);
+        benchmarks.put("highlighter.highlightMovable", size -> highlight(size, true));
+        benchmarks.put("highlighter.highlightBuildable", size -> highlight(size, false));
+        benchmarks.put("rules.hasValidMove", size -> hasValidMove(size, false));
+        benchmarks.put("rules.hasValidMove.bitboard", size -> hasValidMove(size, true));
+        benchmarks.put("bitboard.moveTargets", HotPaths::moveTargets);
+        benchmarks.put("worker.canMoveTo", size -> workerChecks(size, true));
+        benchmarks.put("worker.canBuildOn", size -> workerChecks(size, false));
+        for (String god : GodRegistry.names()) {
+            benchmarks.put("god." + god + ".power", size -> godPower(size, god));
+        }
+        for (ArtifactType type : ArtifactType.values()) {
+            String name = type.name().toLowerCase(Locale.ROOT);
+            benchmarks.put("artifact." + name + ".canUse", size -> artifactCanUse(size, type));
+            benchmarks.put("artifact." + name + ".highlight", size -> artifactHighlight(size, type));
+        }
+        benchmarks.put("cellPanel.paint", HotPaths::paintCells);
+        return benchmarks;
+    }
+
+    /**
+     * Checks whether a benchmark can run on a board size: those using a {@link BitBoard} need boards of at most
+     * {@link BitBoard#MAX_CELLS} positions.
+     * @param name the benchmark name
+     * @param size the number of rows and columns of the board
+     * @return false if the benchmark cannot be prepared on that size
+     */
+    static boolean supports(String name, int size) {
+        return !name.contains("bitboard") || size * size <= BitBoard.MAX_CELLS;
+    }
+
+    /**
+     * Looks up every cell by row and column.
+     */
+    private static Prepared getCell(int size) {
+        Board board = new BoardFixture(size).board;
+        return new Prepared(size * size, () -> {
+            long sum = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    sum += board.getCell(row, col).getCol();
+                }
+            }
+            return sum;
+        });
+    }
+
+    /**
+     * Highlights the cells around each worker, as a click on a worker does.
+     */
+    private static Prepared highlight(int size, boolean move) {
+        BoardFixture fixture = new BoardFixture(size);
+        BoardHighlighter highlighter = new BoardHighlighter(fixture.board);
+        List<Worker> workers = fixture.workers;
+        return new Prepared(workers.size(), () -> {
+            for (Worker worker : workers) {
+                Cell position = worker.getPosition();
+                if (move) {
+                    highlighter.highlightMovable(position.getRow(), position.getCol());
+                } else {
+                    highlighter.highlightBuildable(position.getRow(), position.getCol());
+                }
+            }
+            return workers.size();
+        });
+    }
+
+    /**
+     * Checks whether the player to move is blocked, which
+     * {@link GameMode.TwoPlayerConfig#currentPlayerHasNoValidMoves()} asks at the start of every turn.
+     */
+    private static Prepared hasValidMove(int size, boolean bitBoard) {
+        GameState state = new BoardFixture(size).state;
+        if (bitBoard) {
+            state.enableBitBoard();
+        }
+        return new Prepared(1, () -> Rules.hasValidMove(state) ? 1 : 0);
+    }
+
+    /**
+     * Lists the move targets of every worker on the bitboard, as the computer players' evaluation does.
+     */
+    private static Prepared moveTargets(int size) {
+        BoardFixture fixture = new BoardFixture(size);
+        BitBoard bits = BitBoard.fromBoard(fixture.board, fixture.players);
+        int[] from = new int[fixture.workers.size()];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = fixture.board.indexOf(fixture.workers.get(i).getPosition());
+        }
+        return new Prepared(from.length, () -> {
+            long targets = 0;
+            for (int cell : from) {
+                targets += Long.bitCount(bits.moveTargets(cell));
+            }
+            return targets;
+        });
+    }
+
+    /**
+     * Checks every neighbour of every worker as a move or build target.
+     */
+    private static Prepared workerChecks(int size, boolean move) {
+        BoardFixture fixture = new BoardFixture(size);
+        List<Worker> workers = fixture.workers;
+        List<List<Cell>> targets = new ArrayList<>();
+        int checks = 0;
+        for (Worker worker : workers) {
+            List<Cell> around = fixture.board.getNeighbours(worker.getPosition());
+            targets.add(around);
+            checks += around.size();
+        }
+        return new Prepared(checks, () -> {
+            long allowed = 0;
+            for (int i = 0; i < workers.size(); i++) {
+                Worker worker = workers.get(i);
+                for (Cell target : targets.get(i)) {
+                    if (move ? worker.canMoveTo(target) : worker.canBuildOn(target)) {
+                        allowed++;
+                    }
+                }
+            }
+            return allowed;
+        });
+    }
+
+    /**
+     * Lists a god's extra actions at the point of the turn its power applies, then plays the first and takes it back.
+     */
+    private static Prepared godPower(int size, String god) {
+        for (long seed = 0; seed < MAX_SEEDS; seed++) {
+            GameState state = new BoardFixture(size, god, opponentOf(god), seed).state;
+            state.enableUndo();
+            if (!reachPower(state)) continue;
+
+            GodCard card = state.getCurrentGod();
+            List<Action> actions = new ArrayList<>();
+            return new Prepared(1, () -> {
+                actions.clear();
+                card.addPowerActions(state, actions);
+                Rules.apply(state, actions.get(0));
+                Rules.undo(state);
+                return actions.size();
+            });
+        }
+        throw new IllegalStateException("No position found where " + god + " can use its power on a " + size
+                + "x" + size + " board");
+    }
+
+    /**
+     * Plays the first move (and build, for a build power) after which the current god has extra actions.
+     * @return false if no move leads there.
+     */
+    private static boolean reachPower(GameState state) {
+        GodCard god = state.getCurrentGod();
+        List<Action> actions = new ArrayList<>();
+        for (Action move : Rules.legalActions(state)) {
+            if (move.getType() != ActionType.MOVE) continue;
+            Rules.apply(state, move);
+            int applied = 1;
+            if (god.getPowerPhase() == PowerPhase.BUILD && !Rules.isTerminal(state)) {
+                for (Action build : Rules.legalActions(state)) {
+                    if (build.getType() == ActionType.BUILD) {
+                        Rules.apply(state, build);
+                        applied++;
+                        break;
+                    }
+                }
+            }
+            if (!Rules.isTerminal(state)) {
+                actions.clear();
+                god.addPowerActions(state, actions);
+                if (!actions.isEmpty()) return true;
+            }
+            for (int i = 0; i < applied; i++) {
+                Rules.undo(state);
+            }
+        }
+        return false;
+    }
+
+    private static String opponentOf(String god) {
+        for (String name : GodRegistry.names()) {
+            if (!name.equals(god)) return name;
+        }
+        return god;
+    }
+
+    /**
+     * Asks whether an artifact can be used, as the artifact buttons do after every action.
+     */
+    private static Prepared artifactCanUse(int size, ArtifactType type) {
+        Board board = new BoardFixture(size).board;
+        Artifact artifact = type.create();
+        return new Prepared(1, () -> artifact.canUse(board) ? 1 : 0);
+    }
+
+    /**
+     * Highlights every cell an artifact can target, as choosing an artifact does.
+     */
+    private static Prepared artifactHighlight(int size, ArtifactType type) {
+        Board board = new BoardFixture(size).board;
+        BoardHighlighter highlighter = new BoardHighlighter(board);
+        Artifact artifact = type.create();
+        return new Prepared(1, () -> {
+            highlighter.highlightUsableArtifactCells(artifact.getArtifactCondition());
+            return 1;
+        });
+    }
+
+    /**
+     * Paints the panel of every cell into an off-screen image. {@code paint} runs the panel's
+     * {@code paintComponent} and then its border, as a repaint of the board does.
+     */
+    private static Prepared paintCells(int size) {
+        Board board = new BoardFixture(size).board;
+        List<CellPanel> panels = new ArrayList<>();
+        for (Cell cell : board.getAllCells()) {
+            CellPanel panel = new CellPanel(cell, null);
+            panel.setSize(PANEL_SIZE, PANEL_SIZE);
+            panels.add(panel);
+        }
+        BufferedImage image = new BufferedImage(PANEL_SIZE, PANEL_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        return new Prepared(panels.size(), () -> {
+            for (CellPanel panel : panels) {
+                panel.paint(graphics);
+            }
+            return image.getRGB(PANEL_SIZE / 2, PANEL_SIZE / 2);
+        });
+    }
+}
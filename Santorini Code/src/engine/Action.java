@@ -0,0 +1,142 @@
+package engine;
+
+import artifacts.ArtifactType;
+
+/**
+ * An immutable step of a turn, expressed in board cell indices so it can be applied
+ * to any state of the same board shape.
+ * Every action also has a compact int encoding (see {@link #encode()}) for search tables and game records.
+ */
+public final class Action {
+    private static final ActionType[] TYPES = ActionType.values();
+    private static final ArtifactType[] ARTIFACTS = ArtifactType.values();
+
+    private static final int TYPE_BITS = 4;
+    private static final int CELL_BITS = 13;
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    private static final Action END_BUY = new Action(ActionType.END_BUY, -1, -1, null);
+    private static final Action SKIP_POWER = new Action(ActionType.SKIP_POWER, -1, -1, null);
+
+    private final ActionType type;
+    private final int from;              // Cell of the worker that acts, or -1
+    private final int target;            // Cell the action is aimed at, or -1
+    private final ArtifactType artifact; // Artifact bought or used, or null
+
+    private Action(ActionType type, int from, int target, ArtifactType artifact) {
+        this.type = type;
+        this.from = from;
+        this.target = target;
+        this.artifact = artifact;
+    }
+
+    public static Action buy(ArtifactType artifact) {
+        return new Action(ActionType.BUY, -1, -1, artifact);
+    }
+
+    public static Action endBuy() {
+        return END_BUY;
+    }
+
+    public static Action useArtifact(ArtifactType artifact, int target) {
+        return new Action(ActionType.USE_ARTIFACT, -1, target, artifact);
+    }
+
+    public static Action move(int from, int target) {
+        return new Action(ActionType.MOVE, from, target, null);
+    }
+
+    public static Action extraMove(int from, int target) {
+        return new Action(ActionType.EXTRA_MOVE, from, target, null);
+    }
+
+    public static Action build(int from, int target) {
+        return new Action(ActionType.BUILD, from, target, null);
+    }
+
+    public static Action extraBuild(int from, int target) {
+        return new Action(ActionType.EXTRA_BUILD, from, target, null);
+    }
+
+    public static Action skipPower() {
+        return SKIP_POWER;
+    }
+
+    public ActionType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the cell of the acting worker.
+     * @return the row-major cell index, or -1 for actions without a worker.
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Retrieves the cell the action is aimed at.
+     * @return the row-major cell index, or -1 for actions without a target.
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Retrieves the artifact bought or used.
+     * @return the artifact type, or null for non-artifact actions.
+     */
+    public ArtifactType getArtifact() {
+        return artifact;
+    }
+
+    /**
+     * Packs this action into a non-negative int.
+     * Layout: type (4 bits) | from + 1 or artifact + 1 (13 bits) | target + 1 (13 bits).
+     * @return the encoded action.
+     */
+    public int encode() {
+        int second = artifact != null ? artifact.ordinal() + 1 : from + 1;
+        return type.ordinal() | (second << TYPE_BITS) | ((target + 1) << (TYPE_BITS + CELL_BITS));
+    }
+
+    /**
+     * Unpacks an action produced by {@link #encode()}.
+     * @param code The encoded action.
+     * @return the decoded action.
+     */
+    public static Action decode(int code) {
+        ActionType type = TYPES[code & ((1 << TYPE_BITS) - 1)];
+        int second = ((code >>> TYPE_BITS) & CELL_MASK) - 1;
+        int target = ((code >>> (TYPE_BITS + CELL_BITS)) & CELL_MASK) - 1;
+        return switch (type) {
+            case BUY -> buy(ARTIFACTS[second]);
+            case END_BUY -> END_BUY;
+            case USE_ARTIFACT -> useArtifact(ARTIFACTS[second], target);
+            case SKIP_POWER -> SKIP_POWER;
+            default -> new Action(type, second, target, null);
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Action other)) return false;
+        return type == other.type && from == other.from && target == other.target && artifact == other.artifact;
+    }
+
+    @Override
+    public int hashCode() {
+        return encode();
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case BUY -> "BUY " + artifact;
+            case USE_ARTIFACT -> "USE_ARTIFACT " + artifact + " -> " + target;
+            case END_BUY, SKIP_POWER -> type.name();
+            default -> type + " " + from + " -> " + target;
+        };
+    }
+}
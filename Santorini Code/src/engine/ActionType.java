@@ -0,0 +1,15 @@
+package engine;
+
+/**
+ * The kinds of atomic steps a player can take during a turn.
+ */
+public enum ActionType {
+    BUY,            // Buy an artifact during the buy phase (closes the shop)
+    END_BUY,        // Leave the shop without buying
+    USE_ARTIFACT,   // Use an owned artifact on a cell before moving
+    MOVE,           // Move a worker
+    EXTRA_MOVE,     // God power move (Artemis second move, Triton perimeter move)
+    BUILD,          // Build with the worker that moved
+    EXTRA_BUILD,    // God power build (Demeter second build)
+    SKIP_POWER      // Decline the god power for this turn
+}
@@ -0,0 +1,56 @@
+package engine;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.Cell;
+import Player.Player;
+import Player.Worker;
+import listeners.CellChangeListener;
+
+/**
+ * Keeps a {@link BitBoard} equal to the board of a game: it listens to the board and copies every changed
+ * cell (including those written back by an undo) into the bitboard, so move queries never walk cells.
+ */
+final class BitBoardMirror implements CellChangeListener {
+    private final Board board;
+    private final Player[] players;
+    private final BitBoard bits;
+
+    /**
+     * Captures the board once and starts following it.
+     *
+     * @param state The game, with at most {@link BitBoard#MAX_CELLS} positions.
+     */
+    BitBoardMirror(GameState state) {
+        this.board = state.getBoard();
+        this.players = state.getPlayers();
+        this.bits = BitBoard.fromBoard(board, players);
+        board.addCellChangeListener(this);
+    }
+
+    @Override
+    public void onCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded,
+                              Worker previousOccupant) {
+        Worker worker = cell.getOccupiedBy();
+        bits.setCell(board.indexOf(cell), cell.getBlock().getLevel(), cell.getBlock().hasDome(), cell.isFlooded(),
+                worker == null ? -1 : seatOf(worker), worker == null ? 0 : worker.getId());
+    }
+
+    BitBoard getBits() {
+        return bits;
+    }
+
+    /**
+     * Stops following the board.
+     */
+    void detach() {
+        board.removeCellChangeListener(this);
+    }
+
+    private int seatOf(Worker worker) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == worker.getOwner()) return p;
+        }
+        throw new IllegalArgumentException("Worker owner " + worker.getOwner().getName() + " is not in this game");
+    }
+}
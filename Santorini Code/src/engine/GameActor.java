@@ -0,0 +1,92 @@
+package engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Serial event queue for one game.
+ * Clicks, timer expiries, computer moves and network messages are submitted from any thread and run
+ * one at a time, in order, on the given executor, so the game state needs no locks. Events that
+ * arrive together are drained as one batch and followed by a single after-batch callback (e.g. one repaint).
+ * With {@code SwingUtilities::invokeLater} as executor every event runs on the event dispatch thread;
+ * with a thread pool many games run in parallel while each game stays single-threaded.
+ */
+public class GameActor {
+    private static final int MAX_BATCH = 256;  // Events per drain before yielding the executor to others
+
+    private final Executor executor;
+    private final Runnable afterBatch;
+    private final Consumer<RuntimeException> onError;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * Creates an actor.
+     *
+     * @param executor The executor the events run on.
+     * @param afterBatch Called on the executor after every drained batch, or null.
+     */
+    public GameActor(Executor executor, Runnable afterBatch) {
+        this(executor, afterBatch, null);
+    }
+
+    /**
+     * Creates an actor that hands failing events to a handler instead of the executor, so one broken
+     * event cannot stop a thread that other games share.
+     *
+     * @param executor The executor the events run on.
+     * @param afterBatch Called on the executor after every drained batch, or null.
+     * @param onError Called on the executor with whatever an event or the after-batch callback threw,
+     *                or null to let it propagate.
+     */
+    public GameActor(Executor executor, Runnable afterBatch, Consumer<RuntimeException> onError) {
+        this.executor = executor;
+        this.afterBatch = afterBatch;
+        this.onError = onError;
+    }
+
+    /**
+     * Queues an event. Safe to call from any thread, including from inside an event.
+     *
+     * @param event The event to run.
+     */
+    public void submit(Runnable event) {
+        mailbox.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable event;
+            for (int count = 0; count < MAX_BATCH && (event = mailbox.poll()) != null; count++) {
+                run(event);
+            }
+            if (afterBatch != null) {
+                run(afterBatch);
+            }
+        } finally {
+            scheduled.set(false);
+            // Events that arrived after the last poll, or did not fit in this batch
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        if (onError == null) {
+            task.run();
+            return;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            onError.accept(e);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package engine;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.TurnState;
+import GodCard.GodCard;
+import Player.Player;
+import Player.Worker;
+import artifacts.shops.ShopManager;
+
+/**
+ * Everything the rules need to know about a game in progress, with no UI attached.
+ * The board, players and turn flags are the same objects the Swing front end renders,
+ * so a state can be driven headless or shared with {@link GameMode.TwoPlayerConfig}.
+ */
+public class GameState {
+    private final Board board;
+    private final Player[] players;
+    private final TurnState turnState;
+    private final ShopManager shopManager;
+    private final boolean shopEnabled;
+
+    private int currentPlayerIndex;
+    private Worker activeWorker;     // Worker that moved this turn
+    private Cell moveOrigin;         // Cell the active worker moved from (Artemis may not return to it)
+    private Cell firstBuildCell;     // Cell of this turn's regular build (Demeter may not build on it again)
+    private int winnerIndex = -1;
+    private UndoLog undoLog;         // Only present once undo has been enabled
+    private ZobristHash hash;        // Only present once hashing has been enabled
+    private BitBoardMirror bitBoard; // Only present once bitboards have been enabled on a small enough board
+
+    /**
+     * Creates a state for a fresh turn of the given player.
+     *
+     * @param board The board, with workers already placed.
+     * @param players The players in seat order.
+     * @param firstPlayerIndex The seat that moves first.
+     * @param turnState The turn flags to drive (shared with the UI when there is one).
+     * @param shopManager The shop used for purchases.
+     * @param shopEnabled false to skip the buy phase and artifacts entirely.
+     */
+    public GameState(Board board, Player[] players, int firstPlayerIndex, TurnState turnState,
+                     ShopManager shopManager, boolean shopEnabled) {
+        this.board = board;
+        this.players = players;
+        this.currentPlayerIndex = firstPlayerIndex;
+        this.turnState = turnState;
+        this.shopManager = shopManager;
+        this.shopEnabled = shopEnabled;
+        if (!shopEnabled) {
+            turnState.setBuyPhaseCompleted(true);
+            turnState.setUsedOrSkippedArtifact(true);
+        }
+    }
+
+    /**
+     * Creates a headless state with its own turn flags and shop.
+     *
+     * @param board The board, with workers already placed.
+     * @param players The players in seat order.
+     * @param firstPlayerIndex The seat that moves first.
+     * @param shopEnabled false to skip the buy phase and artifacts entirely.
+     */
+    public GameState(Board board, Player[] players, int firstPlayerIndex, boolean shopEnabled) {
+        this(board, players, firstPlayerIndex, new TurnState(), new ShopManager(), shopEnabled);
+    }
+
+    /**
+     * Creates an independent copy of this state, e.g. for a search thread.
+     * The copy has its own board, players, workers and turn flags; gods are shared since they hold no state.
+     * Undo, hashing and bitboards are not carried over.
+     *
+     * @return the copy.
+     */
+    public GameState copy() {
+        Board boardCopy = new Board(board);
+        Player[] playersCopy = new Player[players.length];
+        for (int p = 0; p < players.length; p++) {
+            playersCopy[p] = new Player(players[p]);
+        }
+
+        Worker activeCopy = null;
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker == null) continue;
+
+            int p = 0;
+            while (players[p] != worker.getOwner()) p++;
+            Worker copy = new Worker(playersCopy[p], worker.getId());
+            copy.move(boardCopy.getCell(board.indexOf(cell)));
+            if (worker == activeWorker) activeCopy = copy;
+        }
+
+        GameState copy = new GameState(boardCopy, playersCopy, currentPlayerIndex, new TurnState(), new ShopManager(), shopEnabled);
+        copy.turnState.setFlags(turnState.getFlags());
+        copy.setActiveWorker(activeCopy, copyOf(boardCopy, moveOrigin));
+        copy.firstBuildCell = copyOf(boardCopy, firstBuildCell);
+        copy.winnerIndex = winnerIndex;
+        return copy;
+    }
+
+    private Cell copyOf(Board boardCopy, Cell cell) {
+        return cell == null ? null : boardCopy.getCell(board.indexOf(cell));
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    public TurnState getTurnState() {
+        return turnState;
+    }
+
+    public ShopManager getShopManager() {
+        return shopManager;
+    }
+
+    public boolean isShopEnabled() {
+        return shopEnabled;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public Player getCurrentPlayer() {
+        return players[currentPlayerIndex];
+    }
+
+    public GodCard getCurrentGod() {
+        return players[currentPlayerIndex].getGod();
+    }
+
+    public Worker getActiveWorker() {
+        return activeWorker;
+    }
+
+    public Cell getMoveOrigin() {
+        return moveOrigin;
+    }
+
+    public Cell getFirstBuildCell() {
+        return firstBuildCell;
+    }
+
+    /**
+     * Retrieves the seat of the winner.
+     * @return the winner's index, or -1 while the game is running.
+     */
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    /**
+     * Starts recording every applied action so it can be reverted with {@link Rules#undo(GameState)}.
+     * Must be called after the workers have been placed.
+     */
+    public void enableUndo() {
+        if (undoLog == null) {
+            undoLog = new UndoLog(this);
+        }
+    }
+
+    /**
+     * Stops recording actions and forgets the recorded history.
+     */
+    public void disableUndo() {
+        if (undoLog != null) {
+            undoLog.detach();
+            undoLog = null;
+        }
+    }
+
+    /**
+     * Retrieves the number of actions that can currently be undone.
+     * @return the undo depth, 0 when undo is disabled.
+     */
+    public int getUndoDepth() {
+        return undoLog == null ? 0 : undoLog.size();
+    }
+
+    /**
+     * Starts maintaining a Zobrist hash of the position, updated incrementally on every cell change.
+     * Must be called after the workers have been placed.
+     */
+    public void enableHashing() {
+        if (hash == null) {
+            hash = new ZobristHash(this);
+        }
+    }
+
+    /**
+     * Stops maintaining the position hash.
+     */
+    public void disableHashing() {
+        if (hash != null) {
+            hash.detach();
+            hash = null;
+        }
+    }
+
+    /**
+     * Retrieves the 64-bit position key (board, side to move and turn context).
+     * @return the Zobrist key of the current position.
+     */
+    public long getHash() {
+        if (hash == null) {
+            throw new IllegalStateException("Hashing is not enabled for this game");
+        }
+        return hash.getKey();
+    }
+
+    /**
+     * Starts keeping a {@link BitBoard} of the position in step with the board, for fast move queries.
+     * Does nothing on boards of more than {@link BitBoard#MAX_CELLS} positions, which bitboards cannot hold.
+     * Must be called after the workers have been placed.
+     */
+    public void enableBitBoard() {
+        if (bitBoard == null && board.getIndexSize() <= BitBoard.MAX_CELLS) {
+            bitBoard = new BitBoardMirror(this);
+        }
+    }
+
+    /**
+     * Stops keeping the bitboard.
+     */
+    public void disableBitBoard() {
+        if (bitBoard != null) {
+            bitBoard.detach();
+            bitBoard = null;
+        }
+    }
+
+    /**
+     * Retrieves the bitboard kept in step with the board.
+     * @return the bitboard, or null when it is not enabled or the board is too large.
+     */
+    public BitBoard getBitBoard() {
+        return bitBoard == null ? null : bitBoard.getBits();
+    }
+
+    /**
+     * Retrieves the position hash itself, e.g. to verify it against a full recompute.
+     * @return the hash, or null when hashing is disabled.
+     */
+    public ZobristHash getZobristHash() {
+        return hash;
+    }
+
+    /**
+     * Restores the turn context of a saved game; the board, players and turn flags are restored directly.
+     *
+     * @param currentPlayerIndex The seat to move.
+     * @param winnerIndex The winner's seat, or -1 while the game is running.
+     * @param activeWorker The worker that moved this turn, or null.
+     * @param moveOrigin The cell the active worker moved from, or null.
+     * @param firstBuildCell The cell of this turn's regular build, or null.
+     */
+    public void restoreTurn(int currentPlayerIndex, int winnerIndex, Worker activeWorker, Cell moveOrigin,
+                            Cell firstBuildCell) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.winnerIndex = winnerIndex;
+        this.activeWorker = activeWorker;
+        this.moveOrigin = moveOrigin;
+        this.firstBuildCell = firstBuildCell;
+    }
+
+    UndoLog getUndoLog() {
+        return undoLog;
+    }
+
+    void setCurrentPlayerIndex(int currentPlayerIndex) {
+        this.currentPlayerIndex = currentPlayerIndex;
+    }
+
+    void setActiveWorker(Worker activeWorker, Cell moveOrigin) {
+        this.activeWorker = activeWorker;
+        this.moveOrigin = moveOrigin;
+    }
+
+    void setFirstBuildCell(Cell firstBuildCell) {
+        this.firstBuildCell = firstBuildCell;
+    }
+
+    void setWinnerIndex(int winnerIndex) {
+        this.winnerIndex = winnerIndex;
+    }
+
+    /**
+     * Hands the turn to the next seat and clears all per-turn state.
+     */
+    void advanceTurn() {
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.length;
+        activeWorker = null;
+        moveOrigin = null;
+        firstBuildCell = null;
+        turnState.resetTurn();
+        if (!shopEnabled) {
+            turnState.setBuyPhaseCompleted(true);
+            turnState.setUsedOrSkippedArtifact(true);
+        }
+    }
+}
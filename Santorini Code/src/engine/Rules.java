@@ -0,0 +1,373 @@
+package engine;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.TurnState;
+import GodCard.GodCard;
+import GodCard.PowerPhase;
+import Player.Player;
+import Player.Worker;
+import artifacts.Artifact;
+import artifacts.ArtifactCellCondition;
+import artifacts.ArtifactType;
+import artifacts.shops.ShopManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless Santorini rules: legal action generation and state transitions.
+ * A turn is a sequence of actions: buy phase, optional artifact, move, optional god move power,
+ * build, optional god build power. The turn passes to the next player as soon as it is complete.
+ * Nothing here touches Swing, cell markings or the console, so games can be simulated at full speed.
+ */
+public final class Rules {
+
+    private Rules() {}
+
+    /**
+     * Lists every action the current player may take.
+     *
+     * @param state The game state.
+     * @return the legal actions; empty once the game is over.
+     */
+    public static List<Action> legalActions(GameState state) {
+        List<Action> actions = new ArrayList<>();
+        legalActions(state, actions);
+        return actions;
+    }
+
+    /**
+     * Appends every action the current player may take to a caller-owned list.
+     *
+     * @param state The game state.
+     * @param actions The list to append to.
+     */
+    public static void legalActions(GameState state, List<Action> actions) {
+        if (isTerminal(state)) return;
+
+        TurnState turnState = state.getTurnState();
+        GodCard god = state.getCurrentGod();
+
+        // === Buy Phase ===
+        if (!turnState.hasCompletedBuyPhase()) {
+            ShopManager shop = state.getShopManager();
+            for (ArtifactType type : shop.getCatalogue()) {
+                if (shop.canAfford(state.getCurrentPlayer(), type)) {
+                    actions.add(Action.buy(type));
+                }
+            }
+            actions.add(Action.endBuy());
+            return;
+        }
+
+        // === MOVE Phase (artifacts may be used before moving) ===
+        if (!turnState.hasMoved()) {
+            addArtifactActions(state, actions);
+            addMoves(state, actions);
+            return;
+        }
+
+        // === BUILD Phase (including god power extra moves) ===
+        if (!turnState.hasBuilt()) {
+            Worker worker = state.getActiveWorker();
+            Cell position = worker.getPosition();
+            int from = state.getBoard().indexOf(position);
+            for (Cell target : state.getBoard().getNeighbours(position)) {
+                if (worker.canBuildOn(target)) {
+                    actions.add(Action.build(from, state.getBoard().indexOf(target)));
+                }
+            }
+            if (god.getPowerPhase() == PowerPhase.MOVE && !turnState.hasUsedOrSkippedGodPower()) {
+                int before = actions.size();
+                god.addPowerActions(state, actions);
+                if (actions.size() > before) {
+                    actions.add(Action.skipPower());
+                }
+            }
+            return;
+        }
+
+        // === Optional God Power Phase (after Build) ===
+        if (!turnState.hasUsedOrSkippedGodPower()) {
+            god.addPowerActions(state, actions);
+            actions.add(Action.skipPower());
+        }
+    }
+
+    /**
+     * Checks whether an action is currently legal.
+     *
+     * @param state The game state.
+     * @param action The action to check.
+     * @return true if {@link #legalActions(GameState)} contains the action.
+     */
+    public static boolean isLegal(GameState state, Action action) {
+        return legalActions(state).contains(action);
+    }
+
+    /**
+     * Applies a legal action and advances the turn when it is complete.
+     * The action is trusted to be legal; use {@link #isLegal(GameState, Action)} for untrusted input.
+     *
+     * @param state The game state.
+     * @param action The action to apply.
+     */
+    public static void apply(GameState state, Action action) {
+        Board board = state.getBoard();
+        TurnState turnState = state.getTurnState();
+        Player current = state.getCurrentPlayer();
+        GodCard god = current.getGod();
+        UndoLog undoLog = state.getUndoLog();
+        if (undoLog != null) {
+            undoLog.beginFrame(state);
+        }
+
+        switch (action.getType()) {
+            case BUY -> {
+                if (state.getShopManager().buy(current, action.getArtifact()) && undoLog != null) {
+                    undoLog.recordArtifactAdded();
+                }
+                state.getShopManager().closeShop(turnState);
+            }
+            case END_BUY -> state.getShopManager().closeShop(turnState);
+            case USE_ARTIFACT -> {
+                Artifact artifact = findArtifact(current, action.getArtifact());
+                if (undoLog != null) {
+                    undoLog.recordArtifactRemoved(current.getArtifacts().indexOf(artifact), artifact);
+                }
+                artifact.performAction(board.getCell(action.getTarget()), current);
+                turnState.setUsedOrSkippedArtifact(true);
+            }
+            case MOVE -> {
+                Cell origin = board.getCell(action.getFrom());
+                Worker worker = origin.getOccupiedBy();
+                state.setActiveWorker(worker, origin);
+                turnState.setUsedOrSkippedArtifact(true);
+                turnState.setMoved(true);
+                if (worker.move(board.getCell(action.getTarget()))) {
+                    state.setWinnerIndex(state.getCurrentPlayerIndex());
+                }
+            }
+            case EXTRA_MOVE -> {
+                if (state.getActiveWorker().move(board.getCell(action.getTarget()))) {
+                    state.setWinnerIndex(state.getCurrentPlayerIndex());
+                }
+                if (!god.keepsPowerAfter(state)) {
+                    turnState.setGodPowerUsedOrSkipped(true);
+                }
+            }
+            case BUILD -> {
+                Cell target = board.getCell(action.getTarget());
+                board.build(target.getRow(), target.getCol());
+                state.setFirstBuildCell(target);
+                turnState.setBuilt(true);
+                increasePlayerToken(current, target);
+
+                // Building skips any unused move power; move-phase gods have nothing left to do
+                if (god.getPowerPhase() == PowerPhase.MOVE) {
+                    turnState.setGodPowerUsedOrSkipped(true);
+                }
+            }
+            case EXTRA_BUILD -> {
+                Cell target = board.getCell(action.getTarget());
+                board.build(target.getRow(), target.getCol());
+                increasePlayerToken(current, target);
+                turnState.setGodPowerUsedOrSkipped(true);
+            }
+            case SKIP_POWER -> turnState.setGodPowerUsedOrSkipped(true);
+        }
+
+        if (!isTerminal(state) && turnState.isTurnComplete()) {
+            state.advanceTurn();
+        }
+        checkBlocked(state);
+
+        // A worker that moved but has nowhere to build loses the game
+        if (!isTerminal(state) && turnState.hasMoved() && !turnState.hasBuilt() && !hasBuildOrPowerAction(state)) {
+            forfeit(state, state.getCurrentPlayerIndex());
+        }
+    }
+
+    /**
+     * Reverts the most recent action applied with {@link #apply(GameState, Action)},
+     * including any turn handover or win it caused. Requires {@link GameState#enableUndo()}.
+     *
+     * @param state The game state.
+     */
+    public static void undo(GameState state) {
+        UndoLog undoLog = state.getUndoLog();
+        if (undoLog == null) {
+            throw new IllegalStateException("Undo is not enabled for this game");
+        }
+        undoLog.undo(state);
+    }
+
+    /**
+     * Ends the game in favour of the next player if the current player cannot move.
+     * Checked once the buy phase is over; a usable artifact still counts as a way out.
+     *
+     * @param state The game state.
+     */
+    public static void checkBlocked(GameState state) {
+        TurnState turnState = state.getTurnState();
+        if (isTerminal(state) || !turnState.hasCompletedBuyPhase() || turnState.hasMoved()) return;
+        if (hasValidMove(state)) return;
+
+        if (!hasArtifactAction(state)) {
+            state.setWinnerIndex((state.getCurrentPlayerIndex() + 1) % state.getPlayers().length);
+        }
+    }
+
+    /**
+     * Ends the game because a player ran out of time or left.
+     *
+     * @param state The game state.
+     * @param loserIndex The seat that forfeits.
+     */
+    public static void forfeit(GameState state, int loserIndex) {
+        if (isTerminal(state)) return;
+        state.setWinnerIndex((loserIndex + 1) % state.getPlayers().length);
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @param state The game state.
+     * @return true once a player has won.
+     */
+    public static boolean isTerminal(GameState state) {
+        return state.getWinnerIndex() >= 0;
+    }
+
+    /**
+     * Retrieves the winner of the game.
+     *
+     * @param state The game state.
+     * @return the winning player, or null while the game is running.
+     */
+    public static Player winner(GameState state) {
+        int index = state.getWinnerIndex();
+        return index >= 0 ? state.getPlayers()[index] : null;
+    }
+
+    /**
+     * Checks whether any worker of the current player has a legal move.
+     *
+     * @param state The game state.
+     * @return true if at least one move exists.
+     */
+    public static boolean hasValidMove(GameState state) {
+        BitBoard bits = state.getBitBoard();
+        if (bits != null) {
+            return bits.hasAnyMove(state.getCurrentPlayerIndex());
+        }
+
+        Board board = state.getBoard();
+        Player current = state.getCurrentPlayer();
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker == null || worker.getOwner() != current) continue;
+
+            for (Cell target : board.getNeighbours(cell)) {
+                if (worker.canMoveTo(target)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates the tokens earned for a build: 1 for a level 3 block, 2 for a dome.
+     *
+     * @param target The cell that was built on.
+     * @return the number of tokens earned.
+     */
+    public static int tokensForBuild(Cell target) {
+        if (target.getBlock().hasDome()) return 2;
+        if (target.getBlock().getLevel() == 3) return 1;
+        return 0;
+    }
+
+    private static void increasePlayerToken(Player current, Cell target) {
+        int tokens = tokensForBuild(target);
+        if (tokens > 0) {
+            current.increaseTokens(tokens);
+        }
+    }
+
+    private static void addMoves(GameState state, List<Action> actions) {
+        Board board = state.getBoard();
+        Player current = state.getCurrentPlayer();
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker == null || worker.getOwner() != current) continue;
+
+            int from = board.indexOf(cell);
+            for (Cell target : board.getNeighbours(cell)) {
+                if (worker.canMoveTo(target)) {
+                    actions.add(Action.move(from, board.indexOf(target)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the worker that moved has anything left to do before the build, without listing it.
+     * Asked after every move, so it stops at the first build target.
+     */
+    private static boolean hasBuildOrPowerAction(GameState state) {
+        Worker worker = state.getActiveWorker();
+        for (Cell target : state.getBoard().getNeighbours(worker.getPosition())) {
+            if (worker.canBuildOn(target)) return true;
+        }
+
+        // Only reached by a worker boxed in on every side, so the list is almost never made
+        GodCard god = state.getCurrentGod();
+        if (god.getPowerPhase() != PowerPhase.MOVE || state.getTurnState().hasUsedOrSkippedGodPower()) return false;
+        List<Action> powers = new ArrayList<>();
+        god.addPowerActions(state, powers);
+        return !powers.isEmpty();
+    }
+
+    /**
+     * Checks whether the current player could use an artifact now, stopping at the first one with a target.
+     */
+    private static boolean hasArtifactAction(GameState state) {
+        TurnState turnState = state.getTurnState();
+        if (turnState.hasUsedOrSkippedArtifact() || turnState.hasMoved()) return false;
+
+        Board board = state.getBoard();
+        for (Artifact artifact : state.getCurrentPlayer().getArtifacts()) {
+            if (artifact.canUse(board) && board.hasMatchingCell(artifact.getArtifactCondition())) return true;
+        }
+        return false;
+    }
+
+    private static void addArtifactActions(GameState state, List<Action> actions) {
+        TurnState turnState = state.getTurnState();
+        if (turnState.hasUsedOrSkippedArtifact() || turnState.hasMoved()) return;
+
+        Board board = state.getBoard();
+        boolean[] seen = new boolean[ArtifactType.values().length];
+        for (Artifact artifact : state.getCurrentPlayer().getArtifacts()) {
+            ArtifactType type = artifact.getType();
+            if (seen[type.ordinal()]) continue;
+            seen[type.ordinal()] = true;
+            if (!artifact.canUse(board)) continue;
+
+            ArtifactCellCondition condition = artifact.getArtifactCondition();
+            for (int target = board.nextMatchingCell(condition, 0); target >= 0;
+                 target = board.nextMatchingCell(condition, target + 1)) {
+                actions.add(Action.useArtifact(type, target));
+            }
+        }
+    }
+
+    private static Artifact findArtifact(Player player, ArtifactType type) {
+        for (Artifact artifact : player.getArtifacts()) {
+            if (artifact.getType() == type) return artifact;
+        }
+        throw new IllegalStateException(player.getName() + " does not own " + type);
+    }
+}
@@ -0,0 +1,258 @@
+package engine;
+
+import Board.BitBoard;
+import Board.Board;
+import Board.Cell;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import artifacts.Artifact;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Self-check of the incremental bookkeeping the computer players search with. Plays random games through
+ * {@link Rules#apply} and {@link Rules#undo}, taking back a random action now and then, and checks:
+ * <ul>
+ *   <li>after every step, that the board hash equals {@link ZobristHash#computeBoardHash()} and the bitboard
+ *   (on boards small enough to have one) equals one rebuilt from the board;</li>
+ *   <li>once every action of a game has been undone, that cells, worker positions, tokens, artifacts,
+ *   turn flags and turn context all equal a {@link GameState#copy()} taken before the first action.</li>
+ * </ul>
+ * Prints the first mismatches found and exits with status 1 if there are any.
+ *
+ * <pre>
+ * java engine.StateVerifier [--games N] [--size N] [--max-actions N] [--seed S]
+ * </pre>
+ */
+public class StateVerifier {
+    private static final int UNDO_ONE_IN = 5;    // How often an action is taken back straight away
+    private static final int MAX_REPORTED = 10;
+
+    private final Random random;
+    private final int size;
+    private final int maxActions;
+    private long checks;
+    private int mismatches;
+
+    /**
+     * Creates a verifier.
+     *
+     * @param seed The seed of the games played.
+     * @param size The number of rows and columns of the boards.
+     * @param maxActions The number of actions after which a game is undone even if it is not over.
+     */
+    public StateVerifier(long seed, int size, int maxActions) {
+        this.random = new Random(seed);
+        this.size = size;
+        this.maxActions = maxActions;
+    }
+
+    /**
+     * Plays one random game forwards, undoes it back to the start and checks it along the way.
+     *
+     * @param game The number of the game, for the report.
+     */
+    public void verifyGame(int game) {
+        List<String> gods = GodRegistry.names();
+        Player[] players = {
+                new Player("Player 1", GodRegistry.create(gods.get(random.nextInt(gods.size()))), Color.BLUE),
+                new Player("Player 2", GodRegistry.create(gods.get(random.nextInt(gods.size()))), Color.RED)
+        };
+        Board board = new Board(size, size);
+        Worker.placeMultipleRandomly(board, List.of(players), random);
+        GameState state = new GameState(board, players, random.nextInt(players.length), random.nextBoolean());
+        state.enableUndo();
+        state.enableHashing();
+        state.enableBitBoard();
+        GameState start = state.copy();
+
+        int applied = 0;
+        while (!Rules.isTerminal(state) && applied < maxActions) {
+            List<Action> actions = Rules.legalActions(state);
+            if (actions.isEmpty()) break;
+
+            Action action = actions.get(random.nextInt(actions.size()));
+            Rules.apply(state, action);
+            applied++;
+            checkIncremental(state, game, "after " + action);
+            if (random.nextInt(UNDO_ONE_IN) == 0) {
+                Rules.undo(state);
+                applied--;
+                checkIncremental(state, game, "after undoing " + action);
+            }
+        }
+        while (applied > 0) {
+            Rules.undo(state);
+            applied--;
+            checkIncremental(state, game, "after undoing back to action " + applied);
+        }
+
+        List<String> differences = new ArrayList<>();
+        compare(start, state, differences);
+        checks++;
+        for (String difference : differences) {
+            report(game, "undone position differs from the start: " + difference);
+        }
+    }
+
+    /**
+     * Checks the hash and bitboard against ones computed from scratch.
+     */
+    private void checkIncremental(GameState state, int game, String when) {
+        ZobristHash hash = state.getZobristHash();
+        checks++;
+        if (hash.getBoardHash() != hash.computeBoardHash()) {
+            report(game, "board hash " + Long.toHexString(hash.getBoardHash()) + " but "
+                    + Long.toHexString(hash.computeBoardHash()) + " from scratch " + when);
+        }
+        BitBoard bits = state.getBitBoard();
+        if (bits != null && !bits.equals(BitBoard.fromBoard(state.getBoard(), state.getPlayers()))) {
+            report(game, "bitboard differs from the board " + when);
+        }
+    }
+
+    /**
+     * Lists every difference between two positions, cell by cell and player by player.
+     */
+    private static void compare(GameState expected, GameState actual, List<String> differences) {
+        Board expectedBoard = expected.getBoard();
+        Board actualBoard = actual.getBoard();
+        for (Cell cell : expectedBoard.getAllCells()) {
+            Cell other = actualBoard.getCell(expectedBoard.indexOf(cell));
+            String was = describe(expected, cell);
+            String is = describe(actual, other);
+            if (!was.equals(is)) {
+                differences.add("cell " + cell.getRow() + "," + cell.getCol() + " was " + was + ", is " + is);
+            }
+        }
+        checkWorkers(actual, differences);
+
+        Player[] expectedPlayers = expected.getPlayers();
+        Player[] actualPlayers = actual.getPlayers();
+        for (int p = 0; p < expectedPlayers.length; p++) {
+            if (expectedPlayers[p].getTokens() != actualPlayers[p].getTokens()) {
+                differences.add("seat " + p + " tokens were " + expectedPlayers[p].getTokens() + ", are "
+                        + actualPlayers[p].getTokens());
+            }
+            List<String> was = artifactNames(expectedPlayers[p]);
+            List<String> is = artifactNames(actualPlayers[p]);
+            if (!was.equals(is)) {
+                differences.add("seat " + p + " artifacts were " + was + ", are " + is);
+            }
+            if (expectedPlayers[p].isWinner() != actualPlayers[p].isWinner()) {
+                differences.add("seat " + p + " winner flag is " + actualPlayers[p].isWinner());
+            }
+        }
+
+        if (expected.getTurnState().getFlags() != actual.getTurnState().getFlags()) {
+            differences.add("turn flags were " + Integer.toBinaryString(expected.getTurnState().getFlags())
+                    + ", are " + Integer.toBinaryString(actual.getTurnState().getFlags()));
+        }
+        compareField("current seat", expected.getCurrentPlayerIndex(), actual.getCurrentPlayerIndex(), differences);
+        compareField("winner", expected.getWinnerIndex(), actual.getWinnerIndex(), differences);
+        compareField("active worker", describe(expected, expected.getActiveWorker()),
+                describe(actual, actual.getActiveWorker()), differences);
+        compareField("move origin", cellIndex(expected, expected.getMoveOrigin()),
+                cellIndex(actual, actual.getMoveOrigin()), differences);
+        compareField("first build", cellIndex(expected, expected.getFirstBuildCell()),
+                cellIndex(actual, actual.getFirstBuildCell()), differences);
+    }
+
+    /**
+     * Checks that every worker on the board knows the cell it stands on.
+     */
+    private static void checkWorkers(GameState state, List<String> differences) {
+        for (Cell cell : state.getBoard().getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker != null && worker.getPosition() != cell) {
+                differences.add("worker " + describe(state, worker) + " stands on " + cell.getRow() + ","
+                        + cell.getCol() + " but its position is " + worker.getPosition());
+            }
+        }
+    }
+
+    private static void compareField(String name, Object expected, Object actual, List<String> differences) {
+        if (!expected.equals(actual)) {
+            differences.add(name + " was " + expected + ", is " + actual);
+        }
+    }
+
+    private static String describe(GameState state, Cell cell) {
+        return "level " + cell.getBlock().getLevel() + (cell.getBlock().hasDome() ? " dome" : "")
+                + (cell.isFlooded() ? " flooded" : "") + " worker " + describe(state, cell.getOccupiedBy());
+    }
+
+    private static String describe(GameState state, Worker worker) {
+        if (worker == null) return "none";
+
+        Player[] players = state.getPlayers();
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == worker.getOwner()) return p + "/" + worker.getId();
+        }
+        return "of " + worker.getOwner().getName() + "/" + worker.getId();
+    }
+
+    private static int cellIndex(GameState state, Cell cell) {
+        return cell == null ? -1 : state.getBoard().indexOf(cell);
+    }
+
+    private static List<String> artifactNames(Player player) {
+        List<String> names = new ArrayList<>();
+        for (Artifact artifact : player.getArtifacts()) {
+            names.add(artifact.getType().name());
+        }
+        return names;
+    }
+
+    private void report(int game, String message) {
+        if (mismatches < MAX_REPORTED) {
+            System.out.println("game " + game + ": " + message);
+        }
+        mismatches++;
+    }
+
+    public long getChecks() {
+        return checks;
+    }
+
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    public static void main(String[] args) {
+        int games = 1000;
+        int size = 5;
+        int maxActions = 400;
+        long seed = System.nanoTime();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(value);
+                case "--size" -> size = Integer.parseInt(value);
+                case "--max-actions" -> maxActions = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: StateVerifier [--games N] [--size N] [--max-actions N] [--seed S]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+
+        System.out.println("# games=" + games + " size=" + size + "x" + size + " seed=" + seed);
+        StateVerifier verifier = new StateVerifier(seed, size, maxActions);
+        for (int game = 0; game < games; game++) {
+            verifier.verifyGame(game);
+        }
+        System.out.println("# " + verifier.getChecks() + " checks, " + verifier.getMismatches() + " mismatches");
+        if (verifier.getMismatches() > 0) {
+            System.exit(1);
+        }
+    }
+}
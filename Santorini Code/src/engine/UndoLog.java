@@ -0,0 +1,212 @@
+package engine;
+
+import Board.Board;
+import Board.Cell;
+import Player.Player;
+import Player.Worker;
+import artifacts.Artifact;
+import listeners.CellChangeListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Undo stack for make/unmake search and undo.
+ * Every action applied by {@link Rules#apply(GameState, Action)} opens a frame that records the previous
+ * turn flags, per-turn context and tokens; every cell change during the frame is recorded as one packed long
+ * (cell index, previous level, dome, flood and occupant). Undoing a frame writes those values back,
+ * so no board copies are needed and the stacks only grow when a new depth is reached.
+ */
+public class UndoLog implements CellChangeListener {
+    private static final int ARTIFACT_NONE = -1;
+    private static final int ARTIFACT_ADDED = -2;
+
+    private final Board board;
+    private final Player[] players;
+    private final Worker[] workers;  // workers[slot] with slot = player index * 2 + worker id
+
+    // Cell entries: index (16 bits) | level (3 bits) | dome | flooded | occupant slot + 1 (8 bits)
+    private long[] cellEntries = new long[256];
+    private int cellCount = 0;
+
+    // One entry per applied action
+    private int[] frameCellStart = new int[64];
+    private long[] frameTurn = new long[64];
+    private int[] frameTokens = new int[64];
+    private int[] frameArtifactIndex = new int[64];
+    private Artifact[] frameArtifact = new Artifact[64];
+    private int frameCount = 0;
+
+    private boolean undoing = false;
+
+    /**
+     * Creates an undo log for a state and starts listening to its board.
+     *
+     * @param state The state whose actions will be recorded.
+     */
+    UndoLog(GameState state) {
+        this.board = state.getBoard();
+        this.players = state.getPlayers();
+        this.workers = new Worker[players.length * 2];
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker != null) {
+                workers[slotOf(worker)] = worker;
+            }
+        }
+        board.addCellChangeListener(this);
+    }
+
+    /**
+     * Opens a frame before an action is applied.
+     *
+     * @param state The state the action is about to change.
+     */
+    void beginFrame(GameState state) {
+        if (frameCount == frameCellStart.length) {
+            int size = frameCount * 2;
+            frameCellStart = Arrays.copyOf(frameCellStart, size);
+            frameTurn = Arrays.copyOf(frameTurn, size);
+            frameTokens = Arrays.copyOf(frameTokens, size);
+            frameArtifactIndex = Arrays.copyOf(frameArtifactIndex, size);
+            frameArtifact = Arrays.copyOf(frameArtifact, size);
+        }
+
+        Worker active = state.getActiveWorker();
+        long turn = state.getTurnState().getFlags()
+                | ((long) state.getCurrentPlayerIndex() << 5)
+                | ((long) (state.getWinnerIndex() + 1) << 9)
+                | ((long) (active == null ? 0 : slotOf(active) + 1) << 13)
+                | ((long) (cellIndex(state.getMoveOrigin()) + 1) << 21)
+                | ((long) (cellIndex(state.getFirstBuildCell()) + 1) << 37);
+
+        frameCellStart[frameCount] = cellCount;
+        frameTurn[frameCount] = turn;
+        frameTokens[frameCount] = state.getCurrentPlayer().getTokens();
+        frameArtifactIndex[frameCount] = ARTIFACT_NONE;
+        frameArtifact[frameCount] = null;
+        frameCount++;
+    }
+
+    /**
+     * Records that the current frame added an artifact to the end of the current player's inventory.
+     */
+    void recordArtifactAdded() {
+        frameArtifactIndex[frameCount - 1] = ARTIFACT_ADDED;
+    }
+
+    /**
+     * Records that the current frame is about to remove an artifact from the current player's inventory.
+     *
+     * @param index The position of the artifact in the inventory.
+     * @param artifact The artifact being removed.
+     */
+    void recordArtifactRemoved(int index, Artifact artifact) {
+        frameArtifactIndex[frameCount - 1] = index;
+        frameArtifact[frameCount - 1] = artifact;
+    }
+
+    /**
+     * Retrieves the number of actions that can be undone.
+     *
+     * @return the number of recorded frames.
+     */
+    public int size() {
+        return frameCount;
+    }
+
+    @Override
+    public void onCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded, Worker previousOccupant) {
+        if (undoing || frameCount == 0) return;
+
+        if (cellCount == cellEntries.length) {
+            cellEntries = Arrays.copyOf(cellEntries, cellCount * 2);
+        }
+        cellEntries[cellCount++] = board.indexOf(cell)
+                | ((long) previousLevel << 16)
+                | (previousDome ? 1L << 19 : 0L)
+                | (previousFlooded ? 1L << 20 : 0L)
+                | ((long) (previousOccupant == null ? 0 : slotOf(previousOccupant) + 1) << 21);
+    }
+
+    /**
+     * Reverts the most recent frame: cells first (newest change first), then the turn context.
+     *
+     * @param state The state to restore.
+     */
+    void undo(GameState state) {
+        if (frameCount == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        int frame = --frameCount;
+        undoing = true;
+        try {
+            for (int i = cellCount - 1; i >= frameCellStart[frame]; i--) {
+                long entry = cellEntries[i];
+                Cell cell = board.getCell((int) (entry & 0xFFFF));
+                int level = (int) ((entry >>> 16) & 0x7);
+                boolean dome = (entry & (1L << 19)) != 0L;
+                boolean flooded = (entry & (1L << 20)) != 0L;
+                int occupant = (int) ((entry >>> 21) & 0xFF);
+
+                if (cell.getBlock().getLevel() != level || cell.getBlock().hasDome() != dome) {
+                    cell.getBlock().restore(level, dome);
+                }
+                if (cell.isFlooded() != flooded) {
+                    cell.setFlooded(flooded);
+                }
+                Worker worker = occupant == 0 ? null : workers[occupant - 1];
+                if (cell.getOccupiedBy() != worker) {
+                    cell.setOccupiedBy(worker);
+                    if (worker != null) {
+                        worker.setPosition(cell);
+                    }
+                }
+            }
+            cellCount = frameCellStart[frame];
+        } finally {
+            undoing = false;
+        }
+
+        long turn = frameTurn[frame];
+        int activeSlot = (int) ((turn >>> 13) & 0xFF);
+        state.getTurnState().setFlags((int) (turn & 0x1F));
+        state.setCurrentPlayerIndex((int) ((turn >>> 5) & 0xF));
+        state.setWinnerIndex((int) ((turn >>> 9) & 0xF) - 1);
+        state.setActiveWorker(activeSlot == 0 ? null : workers[activeSlot - 1],
+                board.getCell((int) ((turn >>> 21) & 0xFFFF) - 1));
+        state.setFirstBuildCell(board.getCell((int) ((turn >>> 37) & 0xFFFF) - 1));
+
+        Player current = state.getCurrentPlayer();
+        int tokenChange = current.getTokens() - frameTokens[frame];
+        if (tokenChange > 0) current.decreaseTokens(tokenChange);
+        if (tokenChange < 0) current.increaseTokens(-tokenChange);
+
+        List<Artifact> inventory = current.getArtifacts();
+        int artifactIndex = frameArtifactIndex[frame];
+        if (artifactIndex == ARTIFACT_ADDED) {
+            inventory.remove(inventory.size() - 1);
+        } else if (artifactIndex >= 0) {
+            inventory.add(artifactIndex, frameArtifact[frame]);
+            frameArtifact[frame] = null;
+        }
+    }
+
+    /**
+     * Stops listening to the board. The log cannot be used afterwards.
+     */
+    void detach() {
+        board.removeCellChangeListener(this);
+    }
+
+    private int slotOf(Worker worker) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == worker.getOwner()) return p * 2 + worker.getId();
+        }
+        throw new IllegalArgumentException("Worker owner " + worker.getOwner().getName() + " is not in this game");
+    }
+
+    private int cellIndex(Cell cell) {
+        return cell == null ? -1 : board.indexOf(cell);
+    }
+}
@@ -0,0 +1,194 @@
+package engine;
+
+import Board.Board;
+import Board.Cell;
+import Player.Player;
+import Player.Worker;
+import artifacts.Artifact;
+import artifacts.ArtifactType;
+import listeners.CellChangeListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 64-bit Zobrist hash of a game position.
+ * The board part (levels, domes, floods, workers) is kept up to date incrementally: the hash listens to
+ * the board and XORs out the previous and in the new key of every changed cell, so {@link Worker#move},
+ * {@link Board#build}, {@link Block.Block#destroy} and {@link Cell#flood} (and their undo) cost two XORs each.
+ * The turn part (side to move, turn flags, god power context, tokens, artifacts) is a few table lookups
+ * added in {@link #getKey()}. Token and artifact counts have no upper bound, so they are mixed into a per-player
+ * key rather than looked up, and every count hashes differently.
+ * Keys come from a fixed seed, so equal positions hash equally across runs and can be deduplicated in archives.
+ */
+public class ZobristHash implements CellChangeListener {
+    private static final long SEED = 0x5A4E7051A11DL;
+    private static final int LEVELS = 4;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final GameState state;
+    private final Board board;
+    private final Player[] players;
+
+    private final long[] levelKeys;     // [cell * LEVELS + level]
+    private final long[] domeKeys;      // [cell]
+    private final long[] floodKeys;     // [cell]
+    private final long[] workerKeys;    // [cell * slots + slot], slot = player index * 2 + worker id
+    private final long[] sideKeys;      // [player]
+    private final long[] flagKeys;      // [TurnState flag bit]
+    private final long[] activeKeys;    // [slot + 1]
+    private final long[] originKeys;    // [cell + 1]
+    private final long[] buildKeys;     // [cell + 1]
+    private final long[] tokenKeys;     // [player], mixed with the token count
+    private final long[] artifactKeys;  // [player * types + type], mixed with the number held
+    private final long winnerKey;
+
+    private final int slots;
+    private final int[] artifactCounts = new int[ArtifactType.values().length];  // Scratch space for getKey
+    private long boardHash;
+
+    /**
+     * Creates the hash for a state, computes it once from scratch and starts following the board.
+     *
+     * @param state The state to hash.
+     */
+    ZobristHash(GameState state) {
+        this.state = state;
+        this.board = state.getBoard();
+        this.players = state.getPlayers();
+        this.slots = players.length * 2;
+
+        int cells = board.getIndexSize();
+        int types = ArtifactType.values().length;
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.levelKeys = keys(random, cells * LEVELS);
+        this.domeKeys = keys(random, cells);
+        this.floodKeys = keys(random, cells);
+        this.workerKeys = keys(random, cells * slots);
+        this.sideKeys = keys(random, players.length);
+        this.flagKeys = keys(random, 5);
+        this.activeKeys = keys(random, slots + 1);
+        this.originKeys = keys(random, cells + 1);
+        this.buildKeys = keys(random, cells + 1);
+        this.tokenKeys = keys(random, players.length);
+        this.artifactKeys = keys(random, players.length * types);
+        this.winnerKey = random.nextLong();
+
+        this.boardHash = computeBoardHash();
+        board.addCellChangeListener(this);
+    }
+
+    private static long[] keys(SplittableRandom random, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    @Override
+    public void onCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded, Worker previousOccupant) {
+        int index = board.indexOf(cell);
+        boardHash ^= cellKey(index, previousLevel, previousDome, previousFlooded, previousOccupant)
+                ^ cellKey(index, cell.getBlock().getLevel(), cell.getBlock().hasDome(), cell.isFlooded(), cell.getOccupiedBy());
+    }
+
+    /**
+     * Retrieves the incrementally maintained hash of the board contents only.
+     *
+     * @return the board hash.
+     */
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    /**
+     * Retrieves the full position key: board contents plus side to move and turn context.
+     *
+     * @return the 64-bit position key.
+     */
+    public long getKey() {
+        long key = boardHash ^ sideKeys[state.getCurrentPlayerIndex()];
+
+        int flags = state.getTurnState().getFlags();
+        for (int bit = 0; bit < flagKeys.length; bit++) {
+            if ((flags & (1 << bit)) != 0) key ^= flagKeys[bit];
+        }
+
+        Worker active = state.getActiveWorker();
+        key ^= activeKeys[active == null ? 0 : slotOf(active) + 1];
+        key ^= originKeys[cellIndex(state.getMoveOrigin()) + 1];
+        key ^= buildKeys[cellIndex(state.getFirstBuildCell()) + 1];
+        if (state.getWinnerIndex() >= 0) key ^= winnerKey;
+
+        int types = ArtifactType.values().length;
+        for (int p = 0; p < players.length; p++) {
+            key ^= countKey(tokenKeys[p], players[p].getTokens());
+
+            List<Artifact> artifacts = players[p].getArtifacts();
+            if (artifacts.isEmpty()) continue;
+
+            Arrays.fill(artifactCounts, 0);
+            for (Artifact artifact : artifacts) {
+                artifactCounts[artifact.getType().ordinal()]++;
+            }
+            for (int type = 0; type < types; type++) {
+                if (artifactCounts[type] > 0) {
+                    key ^= countKey(artifactKeys[p * types + type], artifactCounts[type]);
+                }
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Recomputes the board hash from scratch; {@link StateVerifier} checks the incremental updates against it.
+     *
+     * @return the board hash computed by walking every cell.
+     */
+    public long computeBoardHash() {
+        long hash = 0L;
+        for (Cell cell : board.getAllCells()) {
+            hash ^= cellKey(board.indexOf(cell), cell.getBlock().getLevel(), cell.getBlock().hasDome(),
+                    cell.isFlooded(), cell.getOccupiedBy());
+        }
+        return hash;
+    }
+
+    /**
+     * Stops following the board.
+     */
+    void detach() {
+        board.removeCellChangeListener(this);
+    }
+
+    /**
+     * Derives the key of an exact count from a base key with the SplitMix64 finaliser, so counts need no table.
+     */
+    private static long countKey(long base, int count) {
+        long z = base + count * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long cellKey(int index, int level, boolean dome, boolean flooded, Worker occupant) {
+        long key = levelKeys[index * LEVELS + level];
+        if (dome) key ^= domeKeys[index];
+        if (flooded) key ^= floodKeys[index];
+        if (occupant != null) key ^= workerKeys[index * slots + slotOf(occupant)];
+        return key;
+    }
+
+    private int slotOf(Worker worker) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == worker.getOwner()) return p * 2 + worker.getId();
+        }
+        throw new IllegalArgumentException("Worker owner " + worker.getOwner().getName() + " is not in this game");
+    }
+
+    private int cellIndex(Cell cell) {
+        return cell == null ? -1 : board.indexOf(cell);
+    }
+}
@@ -21,10 +21,12 @@ public class BoardPanel extends JPanel implements CellClickListener {
     private final Config config;
     private final Board board;
     private final List<CellPanel> cellPanels = new ArrayList<>();
+    private final CellPanel[] panelsByIndex;  // Cell panels by the board's row-major cell index
     private final String[] playerNames;
 
     private JLabel statusLabel;
     private List<JLabel> timerLabels = new ArrayList<>();
+    private boolean gameOverShown = false;
 
 
     /**
@@ -56,17 +58,24 @@ public class BoardPanel extends JPanel implements CellClickListener {
         int offsetY = (panelHeight - boardHeight) / 2;
 
         // Create and add cell panels from flexible board
+        panelsByIndex = new CellPanel[board.getIndexSize()];
         for (Cell cell : board.getAllCells()) {
             CellPanel panel = new CellPanel(cell, this);
             cellPanels.add(panel);
+            panelsByIndex[board.indexOf(cell)] = panel;
             add(panel);
             int x = offsetX + cell.getCol() * cellSize;
             int y = offsetY + cell.getRow() * cellSize;
             panel.setBounds(x, y, cellSize, cellSize);
         }
 
-        // Randomly place workers for all players
-        Worker.placeMultipleRandomly(board, Arrays.asList(config.getPlayers()));
+        // Randomly place workers for all players, unless a saved game is resumed
+        if (board.getAllCells().stream().noneMatch(Cell::isOccupied)) {
+            Worker.placeMultipleRandomly(board, Arrays.asList(config.getPlayers()));
+        }
+
+        // Refresh once after every batch of game events (clicks, buttons, timers, computer player)
+        config.addUpdateListener(this::onGameUpdated);
 
         // Display initial status
         updateStatus();
@@ -151,28 +160,24 @@ public class BoardPanel extends JPanel implements CellClickListener {
      * Invokes the use of the current player's god power.
      */
     public void useGodPower() {
-        config.useGodPower();
-        updateStatus();
-        repaint();
+        config.submit(config::useGodPower);
     }
 
     /**
      * Skips the current player's god power.
      */
     public void skipGodPower() {
-        config.skipGodPower();
-        updateStatus();
-        repaint();
-        System.out.println(config.getCurrentPlayer().getName() + " skipped god power.");
+        config.submit(() -> {
+            config.skipGodPower();
+            System.out.println(config.getCurrentPlayer().getName() + " skipped god power.");
+        });
     }
 
     /**
      *Invokes the use of the current player's chosen artifact.
      */
     public void useArtifact(Artifact artifact) {
-        config.useArtifact(artifact);
-        updateStatus();
-        repaint();
+        config.submit(() -> config.useArtifact(artifact));
     }
     /**
      * Asks the player which artifact to use.
@@ -242,12 +247,19 @@ public class BoardPanel extends JPanel implements CellClickListener {
      */
     @Override
     public void onCellClicked(int row, int col) {
-        config.handleClick(row, col);
+        config.submit(() -> config.handleClick(row, col));
+    }
+
+    /**
+     * Called after every batch of game events: repaints the cells that changed and announces the winner once.
+     */
+    private void onGameUpdated() {
         updateStatus();
-        repaint();
+        board.drainDirtyCells(cell -> panelsByIndex[board.indexOf(cell)].repaint());
 
         Player winner = config.getWinner();
-        if (winner != null) {
+        if (winner != null && !gameOverShown) {
+            gameOverShown = true;
             SwingUtilities.invokeLater(() -> onPlayerWin(winner));
         }
     }
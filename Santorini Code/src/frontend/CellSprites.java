@@ -0,0 +1,207 @@
+package frontend;
+
+import Board.Cell;
+import Player.Worker;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered images of board cells, shared by all cell panels.
+ * A tile holds the background, buildings and dome of one look of a cell (marking colour or flood, level, dome);
+ * a worker sprite holds one worker's square and label. Both are drawn once per look and size and then
+ * copied onto the panels, so painting a cell allocates nothing.
+ * Only used on the event dispatch thread.
+ */
+final class CellSprites {
+    // Sizing and spacing, relative to a 100 pixel cell
+    private static final int BASE_BLOCK_SIZE = 80;
+    private static final int BLOCK_HEIGHT = 12;
+    private static final int BLOCK_STEP = 12;
+    private static final int DOME_SIZE = 30;
+    private static final int DOME_OFFSET_Y = 8;
+    private static final int WORKER_SIZE = 40;
+    private static final int MAX_LEVEL = 3;
+
+    private static final Color[] LEVEL_COLOURS = {
+            new Color(173, 216, 230),
+            new Color(250, 227, 135),
+            new Color(180, 70, 129),
+            new Color(197, 70, 70)
+    };
+    private static final Color FLOOD_LIGHT = new Color(0, 153, 255);
+    private static final Color FLOOD_DARK = new Color(0, 102, 204);
+    private static final Color RIPPLE = new Color(255, 255, 255, 60);  // semi-transparent white
+    private static final Color DOME = new Color(0, 0, 0, 200);
+    private static final Font LABEL_FONT = new Font("SansSerif", Font.PLAIN, 9);
+    private static final Font WORKER_FONT = new Font("SansSerif", Font.BOLD, 14);
+
+    // One slot per background (marking colours, then flood) x level x dome
+    private static final int BACKGROUNDS = SelectedStatus.backgroundCount() + 1;
+    private static final BufferedImage[] tiles = new BufferedImage[BACKGROUNDS * (MAX_LEVEL + 1) * 2];
+    private static final int MAX_WORKERS = 8;  // Worker ids per player colour
+    private static final Map<Color, BufferedImage[]> workers = new HashMap<>();  // Per player colour, by worker id
+    private static int width;
+    private static int height;
+
+    private CellSprites() {
+    }
+
+    /**
+     * Retrieves the tile showing the background, buildings and dome of a cell.
+     *
+     * @param cell The cell to draw.
+     * @param config The configuration of the screen it is drawn on, or null.
+     * @param w The width of the cell panel.
+     * @param h The height of the cell panel.
+     * @return the tile.
+     */
+    static BufferedImage tile(Cell cell, GraphicsConfiguration config, int w, int h) {
+        resize(w, h);
+        int background = cell.isFlooded() ? BACKGROUNDS - 1 : cell.getStatus().getBackgroundIndex(cell);
+        int level = Math.min(cell.getBlock().getLevel(), MAX_LEVEL);
+        boolean dome = cell.getBlock().hasDome();
+        int slot = (background * (MAX_LEVEL + 1) + level) * 2 + (dome ? 1 : 0);
+
+        BufferedImage tile = tiles[slot];
+        if (tile == null) {
+            tile = createImage(config, w, h);
+            Graphics2D g2 = tile.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            if (cell.isFlooded()) {
+                paintFlood(g2, w, h);
+            } else {
+                g2.setColor(cell.getStatus().getColor(cell));
+                g2.fillRect(0, 0, w, h);
+            }
+            paintBuildings(g2, w / 2, h / 2, level, dome);
+            g2.dispose();
+            tiles[slot] = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Retrieves the sprite of a worker.
+     *
+     * @param worker The worker to draw.
+     * @param config The configuration of the screen it is drawn on, or null.
+     * @return the sprite, {@link #workerSize()} pixels square.
+     */
+    static BufferedImage worker(Worker worker, GraphicsConfiguration config) {
+        Color colour = worker.getOwner().getColor();
+        BufferedImage[] sprites = workers.computeIfAbsent(colour, c -> new BufferedImage[MAX_WORKERS]);
+        int id = Math.floorMod(worker.getId(), MAX_WORKERS);
+        BufferedImage sprite = sprites[id];
+        if (sprite == null) {
+            sprite = createImage(config, WORKER_SIZE, WORKER_SIZE);
+            Graphics2D g2 = sprite.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(colour);
+            g2.fillRect(0, 0, WORKER_SIZE, WORKER_SIZE);
+
+            g2.setColor(Color.WHITE);
+            g2.setFont(WORKER_FONT);
+            String label = "W" + (worker.getId() + 1);
+            FontMetrics fm = g2.getFontMetrics();
+            g2.drawString(label, (WORKER_SIZE - fm.stringWidth(label)) / 2, (WORKER_SIZE + fm.getAscent()) / 2 - 3);
+            g2.dispose();
+            sprites[id] = sprite;
+        }
+        return sprite;
+    }
+
+    /**
+     * Retrieves the side of a worker sprite.
+     * @return the size in pixels.
+     */
+    static int workerSize() {
+        return WORKER_SIZE;
+    }
+
+    /**
+     * Retrieves the top edge of the worker sprite on a cell, above its buildings.
+     *
+     * @param cell The cell the worker stands on.
+     * @param h The height of the cell panel.
+     * @return the y coordinate in the panel.
+     */
+    static int workerY(Cell cell, int h) {
+        return h / 2 - WORKER_SIZE / 2 - cell.getBlock().getLevel() * BLOCK_HEIGHT - (cell.getBlock().hasDome() ? 12 : 0);
+    }
+
+    /**
+     * Drops all tiles when the cell size changes; worker sprites do not depend on it.
+     */
+    private static void resize(int w, int h) {
+        if (w != width || h != height) {
+            Arrays.fill(tiles, null);
+            width = w;
+            height = h;
+        }
+    }
+
+    private static BufferedImage createImage(GraphicsConfiguration config, int w, int h) {
+        // Compatible images match the screen's pixel layout, so copying them is a plain blit
+        return config != null
+                ? config.createCompatibleImage(w, h, Transparency.OPAQUE)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void paintFlood(Graphics2D g2, int w, int h) {
+        // == Gradient Background == //
+        g2.setPaint(new GradientPaint(0, 0, FLOOD_DARK, w, h, FLOOD_LIGHT));
+        g2.fillRect(0, 0, w, h);
+
+        // == Ripple effect ==//
+        g2.setColor(RIPPLE);
+        int centerX = w / 2;
+        int centerY = h / 2;
+        for (int i = 0; i < 3; i++) {
+            int rippleSize = 30 + i * 15;
+            g2.drawOval(centerX - rippleSize / 2, centerY - rippleSize / 2, rippleSize, rippleSize);
+        }
+    }
+
+    private static void paintBuildings(Graphics2D g2, int baseX, int baseY, int level, boolean dome) {
+        g2.setFont(LABEL_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+
+        // Draw building levels (stacked coloured squares)
+        for (int i = 0; i < level; i++) {
+            g2.setColor(LEVEL_COLOURS[i]);
+            int size = BASE_BLOCK_SIZE - i * BLOCK_STEP;
+            int x = baseX - size / 2;
+            int y = baseY - (i + 1) * BLOCK_HEIGHT - size / 2;
+            g2.fillRect(x, y, size, size);
+
+            // Draw "L#" on each block
+            g2.setColor(Color.BLACK);
+            String label = "L" + (i + 1);
+            g2.drawString(label, x + (size - fm.stringWidth(label)) / 2, y + size - 4);
+        }
+
+        // Draw dome
+        if (dome) {
+            int x = baseX - DOME_SIZE / 2;
+            int y = baseY - DOME_SIZE / 2 - level * BLOCK_HEIGHT - DOME_OFFSET_Y;
+
+            g2.setColor(DOME);
+            g2.fillOval(x, y, DOME_SIZE, DOME_SIZE);
+
+            g2.setColor(Color.WHITE);
+            String label = "D";
+            g2.drawString(label, x + (DOME_SIZE - fm.stringWidth(label)) / 2, y + (DOME_SIZE + fm.getAscent()) / 2);
+        }
+    }
+}
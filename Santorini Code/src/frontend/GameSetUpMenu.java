@@ -9,28 +9,37 @@ import GodCard.Triton;
 import GodCard.GodCard;
 import Player.Player;
 import listeners.TimerListener;
+import records.GameJournal;
+import records.SavedGame;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import java.util.Collections;
-import java.util.Objects;
 import java.util.Vector;
 
 /**
  * Game setup menu for entering player names and starting the game.
  */
 public class GameSetUpMenu extends JFrame {
+    // The game in progress, saved as it is played so it can be resumed after exiting or a crash
+    private static final Path SAVE_FILE = Path.of(System.getProperty("user.home"), ".santorini", "autosave.sav");
+
     private final JTextField player1NameField;
     private final JTextField player2NameField;
+    private final JCheckBox computerCheckBox;
     private final JButton startGameButton;
+    private final JButton resumeGameButton;
 
     public GameSetUpMenu() {
         setTitle("Game Setup");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(400, 320);
+        setSize(400, 420);
         setLocationRelativeTo(null);
 
         JPanel mainPanel = new JPanel(new GridBagLayout());
@@ -42,12 +51,7 @@ public class GameSetUpMenu extends JFrame {
 
         // Title Image
         JLabel logoLabel = new JLabel();
-        ImageIcon originalIcon = new ImageIcon(Objects.requireNonNull(getClass().getResource("/assets/title.png")));
-
-        Image scaledImage = originalIcon.getImage().getScaledInstance(200, 60, Image.SCALE_SMOOTH);
-        ImageIcon scaledIcon = new ImageIcon(scaledImage);
-
-        logoLabel.setIcon(scaledIcon);
+        logoLabel.setIcon(ImageCache.get("/assets/title.png", 200, 60));
         logoLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         gbc.gridx = 0;
@@ -78,6 +82,12 @@ public class GameSetUpMenu extends JFrame {
         player2NameField = new JTextField("Player 2", 15);
         mainPanel.add(player2NameField, gbc);
 
+        // Computer opponent option
+        gbc.gridy++;
+        gbc.gridx = 1;
+        computerCheckBox = new JCheckBox("Computer plays Player 2");
+        mainPanel.add(computerCheckBox, gbc);
+
         // Start Game Button
         gbc.gridy++;
         gbc.gridx = 0;
@@ -87,6 +97,14 @@ public class GameSetUpMenu extends JFrame {
         startGameButton.addActionListener(e -> launchGame());
         mainPanel.add(startGameButton, gbc);
 
+        // Resume Game Button, only when a game was saved
+        gbc.gridy++;
+        resumeGameButton = new JButton("Resume Game");
+        resumeGameButton.setFocusPainted(false);
+        resumeGameButton.setEnabled(Files.isRegularFile(SAVE_FILE));
+        resumeGameButton.addActionListener(e -> resumeGame());
+        mainPanel.add(resumeGameButton, gbc);
+
         add(mainPanel);
         setVisible(true);
 
@@ -127,15 +145,48 @@ public class GameSetUpMenu extends JFrame {
         Collections.shuffle(godCards);
 
         // Create a new Game and ensure it listens to the game timer
-        Config config = new TwoPlayerConfig(playerVector, godCards);
-        GameTimer timer = new GameTimer(config.getTurnTime());
-        timer.addListener(config);
-        config.setup();
+        TwoPlayerConfig twoPlayerConfig = new TwoPlayerConfig(playerVector, godCards);
+        if (computerCheckBox.isSelected()) {
+            twoPlayerConfig.setComputerPlayer(1);
+        }
+        twoPlayerConfig.setup();
 
         // Modal shows assigned god cards
-        Player[] players = config.getPlayers();
+        Player[] players = twoPlayerConfig.getPlayers();
         showGodCardIntro(players[0], players[1]);
 
+        showGame(twoPlayerConfig, playerNames);
+    }
+
+    /**
+     * Continues the saved game from where it was left.
+     */
+    private void resumeGame() {
+        SavedGame saved;
+        try {
+            saved = GameJournal.load(SAVE_FILE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "The saved game cannot be loaded: " + e.getMessage());
+            resumeGameButton.setEnabled(false);
+            return;
+        }
+        TwoPlayerConfig twoPlayerConfig = TwoPlayerConfig.resume(saved);
+        String[] playerNames = new String[2];
+        for (int i = 0; i < playerNames.length; i++) {
+            playerNames[i] = twoPlayerConfig.getPlayers()[i].getName();
+        }
+        showGame(twoPlayerConfig, playerNames);
+    }
+
+    /**
+     * Opens the game window and starts the turn of the player to move.
+     *
+     * @param twoPlayerConfig The set up game.
+     * @param playerNames The names of the players.
+     */
+    private void showGame(TwoPlayerConfig twoPlayerConfig, String[] playerNames) {
+        Config config = twoPlayerConfig;
+
         // Create main game window
         JFrame frame = new JFrame("Santorini Game");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -172,10 +223,18 @@ public class GameSetUpMenu extends JFrame {
         boardPanel.setStatusLabel(statusLabel);
         boardPanel.setTimerLabels(List.of(p1TimerLabel, p2TimerLabel));
 
+        // Save the game as it is played, now that the workers are placed
+        try {
+            twoPlayerConfig.setJournal(new GameJournal(SAVE_FILE));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "This game cannot be saved: " + e.getMessage());
+        }
+
         // Ensure JLabel updates for each GameTimer
         List<GameTimer> timers = config.getPlayerTimers();
         for (int i = 0; i < timers.size(); i++) { // for each timer,
             final int index = i;
+            boardPanel.updateTimerLabel(index, timers.get(i).getSecondsLeft()); // a resumed game has time used
 
             // Attach new TimerListener to each GameTimer
             timers.get(i).addListener(new TimerListener() {
@@ -185,14 +244,7 @@ public class GameSetUpMenu extends JFrame {
                 }
                 @Override
                 public void onTimeExpired() {
-                    boardPanel.updateTimerLabel(index, 0); // update UI
-                    config.onTimeExpired();
-
-                    // Show winner pop up
-                    Player winner = config.getWinner();
-                    if (winner != null) {
-                        SwingUtilities.invokeLater(() -> boardPanel.onPlayerWin(winner));
-                    }
+                    boardPanel.updateTimerLabel(index, 0); // update UI; the config handles the expiry itself
                 }
             });
         }
@@ -205,12 +257,19 @@ public class GameSetUpMenu extends JFrame {
         buttons.getExitButton().addActionListener(e -> {
             int confirm = JOptionPane.showConfirmDialog(
                 frame,
-                "Are you sure you want to exit the game and return to main menu? The current game will be lost.",
+                "Are you sure you want to exit the game and return to main menu? The current game will be saved.",
                 "Exit Game",
                 JOptionPane.YES_NO_OPTION
             );
             if (confirm == JOptionPane.YES_OPTION) {
-                config.getCurrentShopPopup().dispose();
+                try {
+                    twoPlayerConfig.saveAndClose();
+                } catch (IOException ex) {
+                    JOptionPane.showMessageDialog(frame, "The game could not be saved: " + ex.getMessage());
+                }
+                if (config.getCurrentShopPopup() != null) {
+                    config.getCurrentShopPopup().dispose();
+                }
                 frame.dispose(); // closes the game window
                 new GameSetUpMenu();  // optional: exit the whole app
             }
@@ -242,16 +301,12 @@ public class GameSetUpMenu extends JFrame {
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
         // Get the god card image of each player's god
-        ImageIcon p1Icon = p1.getGod().getCardImg();
-        ImageIcon p2Icon = p2.getGod().getCardImg();
-
-
-        Image p1Scaled = p1Icon.getImage().getScaledInstance(120, 180, Image.SCALE_SMOOTH);
-        Image p2Scaled = p2Icon.getImage().getScaledInstance(120, 180, Image.SCALE_SMOOTH);
+        ImageIcon p1Icon = p1.getGod().getCardImg(120, 180);
+        ImageIcon p2Icon = p2.getGod().getCardImg(120, 180);
 
         // Player 1 Panel
         JPanel p1Panel = new JPanel(new BorderLayout(5, 5));
-        JLabel p1Image = new JLabel(new ImageIcon(p1Scaled));
+        JLabel p1Image = new JLabel(p1Icon);
         JLabel p1Label = new JLabel(
                 "<html><div style='text-align:center;'><b style='color:blue'>" +
                         p1.getName() + "</b><br>(" + p1.getGod().getName() + ")</div></html>",
@@ -262,7 +317,7 @@ public class GameSetUpMenu extends JFrame {
 
         // Player 2 Panel
         JPanel p2Panel = new JPanel(new BorderLayout(5, 5));
-        JLabel p2Image = new JLabel(new ImageIcon(p2Scaled));
+        JLabel p2Image = new JLabel(p2Icon);
         JLabel p2Label = new JLabel(
                 "<html><div style='text-align:center;'><b style='color:red'>" +
                         p2.getName() + "</b><br>(" + p2.getGod().getName() + ")</div></html>",
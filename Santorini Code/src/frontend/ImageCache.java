@@ -0,0 +1,88 @@
+package frontend;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared cache of the images loaded from the classpath, such as god cards and the title.
+ * Each image is decoded once, and each size it is shown at is scaled once, on first use.
+ * Entries are held through soft references, so the garbage collector may drop them when memory runs low;
+ * they are then loaded again on the next request.
+ */
+public final class ImageCache {
+    private static final Map<String, SoftReference<ImageIcon>> cache = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Retrieves an image at its original size.
+     *
+     * @param resource The absolute classpath resource, e.g. "/assets/title.png".
+     * @return the image.
+     */
+    public static ImageIcon get(String resource) {
+        return get(resource, 0, 0);
+    }
+
+    /**
+     * Retrieves an image scaled to the given size.
+     *
+     * @param resource The absolute classpath resource, e.g. "/assets/title.png".
+     * @param width The width to scale to, or 0 for the original size.
+     * @param height The height to scale to, or 0 for the original size.
+     * @return the scaled image.
+     */
+    public static ImageIcon get(String resource, int width, int height) {
+        String key = width > 0 && height > 0 ? resource + "@" + width + "x" + height : resource;
+        SoftReference<ImageIcon> reference = cache.get(key);
+        ImageIcon icon = reference != null ? reference.get() : null;
+        if (icon == null) {
+            icon = key.equals(resource) ? load(resource) : scale(get(resource).getImage(), width, height);
+            cache.put(key, new SoftReference<>(icon));
+        }
+        return icon;
+    }
+
+    private static ImageIcon load(String resource) {
+        URL url = Objects.requireNonNull(ImageCache.class.getResource(resource), resource);
+        try {
+            return new ImageIcon(ImageIO.read(url));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + resource, e);
+        }
+    }
+
+    /**
+     * Scales an image once, halving it in bilinear steps while it is at least twice the target size,
+     * which looks as smooth as Image.SCALE_SMOOTH but is rendered immediately instead of on every draw.
+     */
+    private static ImageIcon scale(Image source, int width, int height) {
+        Image current = source;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = step.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(current, 0, 0, w, h, null);
+            g2.dispose();
+            current = step;
+        } while (w != width || h != height);
+        return new ImageIcon(current);
+    }
+}
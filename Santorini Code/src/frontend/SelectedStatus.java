@@ -19,16 +19,42 @@ public enum SelectedStatus {
     SELECTED,
     HIGHLIGHTED;
 
+    // Every colour a cell background can have, indexed by getBackgroundIndex
+    private static final Color[] BACKGROUNDS = {
+            new Color(176, 216, 144),  // Unmarked
+            Color.WHITE,               // Selected
+            new Color(218, 178, 178),  // Move target
+            new Color(250, 176, 113),  // Build target
+            new Color(255, 205, 74)    // Artifact target
+    };
+
     public Color getColor(Cell cell) {
+        return BACKGROUNDS[getBackgroundIndex(cell)];
+    }
+
+    /**
+     * Retrieves which of the background colours a cell with this status is drawn in.
+     * @param cell the cell, whose highlight type picks the colour of a highlighted cell
+     * @return an index between 0 and backgroundCount() - 1
+     */
+    public int getBackgroundIndex(Cell cell) {
         return switch (this) {
-            case NONE -> new Color(176, 216, 144);
-            case SELECTED -> Color.WHITE;
+            case NONE -> 0;
+            case SELECTED -> 1;
             case HIGHLIGHTED -> switch (cell.getHighlightType()) {
-                case MOVE -> new Color(218, 178, 178);
-                case BUILD -> new Color(250, 176, 113);
-                case ARTIFACT_USABLE -> new Color(255, 205, 74);
-                default -> new Color(176, 216, 144);
+                case MOVE -> 2;
+                case BUILD -> 3;
+                case ARTIFACT_USABLE -> 4;
+                default -> 0;
             };
         };
     }
+
+    /**
+     * Retrieves the number of different background colours.
+     * @return the number of colours
+     */
+    public static int backgroundCount() {
+        return BACKGROUNDS.length;
+    }
 }
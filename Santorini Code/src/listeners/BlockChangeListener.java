@@ -0,0 +1,13 @@
+package listeners;
+
+/**
+ * Interface for listening to level and dome changes of a single block.
+ */
+public interface BlockChangeListener {
+    /**
+     * Handles a change to the block; the new values can be read from the block itself.
+     * @param previousLevel the building level before the change
+     * @param previousDome true if the block had a dome before the change
+     */
+    void onBlockChanged(int previousLevel, boolean previousDome);
+}
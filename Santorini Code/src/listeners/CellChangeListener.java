@@ -0,0 +1,21 @@
+package listeners;
+
+import Board.Cell;
+import Player.Worker;
+
+/**
+ * Interface for listening to game state changes of board cells:
+ * building level, dome, flooding and the occupying worker.
+ * Cell markings (status and highlight) are UI state and are not reported.
+ */
+public interface CellChangeListener {
+    /**
+     * Handles a change to a cell; the new values can be read from the cell itself.
+     * @param cell the cell that changed
+     * @param previousLevel the building level before the change
+     * @param previousDome true if the cell had a dome before the change
+     * @param previousFlooded true if the cell was flooded before the change
+     * @param previousOccupant the worker on the cell before the change, or null
+     */
+    void onCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded, Worker previousOccupant);
+}
@@ -0,0 +1,9 @@
+package listeners;
+
+/**
+ * Interface for listening to game changes, told once after every batch of game events
+ * (clicks, buttons, shop choices, timer expiries and computer moves).
+ */
+public interface GameUpdateListener {
+    void onGameUpdated();
+}
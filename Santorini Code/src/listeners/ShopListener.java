@@ -0,0 +1,19 @@
+package listeners;
+
+import artifacts.ArtifactType;
+
+/**
+ * Interface for listening to the choices made in the artifact shop.
+ */
+public interface ShopListener {
+    /**
+     * Handles the purchase of an artifact the player can afford.
+     * @param type the artifact bought
+     */
+    void onBuy(ArtifactType type);
+
+    /**
+     * Handles the player leaving the shop without buying.
+     */
+    void onEndBuy();
+}
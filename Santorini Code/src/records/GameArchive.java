@@ -0,0 +1,232 @@
+package records;
+
+import GodCard.GodRegistry;
+import engine.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static records.GameArchiveWriter.ENTRY_SIZE;
+import static records.GameArchiveWriter.FOOTER_SIZE;
+import static records.GameArchiveWriter.HEADER_SIZE;
+
+/**
+ * Random access to an archive written by {@link GameArchiveWriter}.
+ * The file is memory-mapped, in segments so archives may exceed 2 GB. The index describes every game
+ * (gods, winner, end, length), so queries such as "all Triton vs Demeter games that Triton lost" scan only
+ * the mapped index:
+ * <pre>
+ * archive.games().filter(g -> archive.getSeat(g, "Triton") == 1 - archive.getSeat(g, "Demeter")
+ *                          && archive.getWinner(g) == archive.getSeat(g, "Demeter"))
+ * </pre>
+ * Selected games are then decoded straight from the mapped file with {@link #read(long)}.
+ * Safe to read from several threads.
+ */
+public class GameArchive implements Closeable {
+    private static final GameRecord.End[] ENDS = GameRecord.End.values();
+
+    private final FileChannel channel;
+    private final MappedSegments data;
+    private final MappedSegments index;
+    private final long indexOffset;
+    private final long games;
+
+    /**
+     * Opens an archive.
+     * @param file the archive file
+     * @return the archive.
+     * @throws IOException if the file cannot be read or is not a complete archive of this version.
+     */
+    public static GameArchive open(Path file) throws IOException {
+        return new GameArchive(file, MappedSegments.SEGMENT_SIZE, MappedSegments.OVERLAP);
+    }
+
+    /**
+     * Opens an archive with the given mapping segments.
+     * @param file the archive file
+     * @param segmentSize the size of each mapped segment
+     * @param overlap how far each segment extends into the next one
+     * @throws IOException if the file cannot be read or is not a complete archive of this version.
+     */
+    GameArchive(Path file, int segmentSize, int overlap) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Not a game archive");
+            }
+            ByteBuffer header = readFully(0, HEADER_SIZE);
+            byte[] magic = new byte[GameArchiveWriter.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, GameArchiveWriter.MAGIC)) {
+                throw new IOException("Not a game archive");
+            }
+            int version = header.get();
+            int recordVersion = header.get();
+            if (version != GameArchiveWriter.VERSION || recordVersion != GameRecordWriter.VERSION) {
+                throw new IOException("Unsupported game archive version " + version + "." + recordVersion);
+            }
+
+            ByteBuffer footer = readFully(size - FOOTER_SIZE, FOOTER_SIZE);
+            indexOffset = footer.getLong();
+            games = footer.getLong();
+            footer.get(magic);
+            int entrySize = footer.getInt();
+            if (!Arrays.equals(magic, GameArchiveWriter.INDEX_MAGIC) || entrySize != ENTRY_SIZE
+                    || games < 0 || indexOffset < HEADER_SIZE || indexOffset + games * ENTRY_SIZE != size - FOOTER_SIZE) {
+                throw new IOException("Game archive has no valid index; was it closed?");
+            }
+            data = new MappedSegments(channel, HEADER_SIZE, indexOffset, segmentSize, overlap);
+            index = new MappedSegments(channel, indexOffset, size - FOOTER_SIZE, segmentSize, overlap);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the number of games in the archive.
+     * @return the number of games.
+     */
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * Retrieves the numbers of all games, to filter with the index accessors below.
+     * @return the game numbers from 0, in archive order.
+     */
+    public LongStream games() {
+        return LongStream.range(0, games);
+    }
+
+    /**
+     * Retrieves the god of a seat, from the index.
+     * @param game the game number
+     * @param seat the seat
+     * @return the god's name.
+     */
+    public String getGod(long game, int seat) {
+        return GodRegistry.nameAt(index.get(entry(game) + 16 + seat));
+    }
+
+    /**
+     * Retrieves the seat played by a god, from the index.
+     * @param game the game number
+     * @param god the god's name
+     * @return the first seat with that god, or -1 if neither seat has it.
+     */
+    public int getSeat(long game, String god) {
+        int godIndex = GodRegistry.indexOf(god);
+        long entry = entry(game);
+        for (int seat = 0; seat < 2; seat++) {
+            if (index.get(entry + 16 + seat) == godIndex) return seat;
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the winner, from the index.
+     * @param game the game number
+     * @return the winning seat, or -1 if the game has no winner.
+     */
+    public int getWinner(long game) {
+        return index.get(entry(game) + 18);
+    }
+
+    /**
+     * Retrieves how a game ended, from the index.
+     * @param game the game number
+     * @return how the game ended.
+     */
+    public GameRecord.End getEnd(long game) {
+        return ENDS[index.get(entry(game) + 19)];
+    }
+
+    /**
+     * Retrieves the number of actions of a game, from the index.
+     * @param game the game number
+     * @return the number of actions.
+     */
+    public int getActionCount(long game) {
+        return index.getInt(entry(game) + 12);
+    }
+
+    public boolean isShopEnabled(long game) {
+        return (index.get(entry(game) + 20) & GameArchiveWriter.SHOP) != 0;
+    }
+
+    public int getFirstPlayer(long game) {
+        return (index.get(entry(game) + 20) & GameArchiveWriter.SECOND_FIRST) != 0 ? 1 : 0;
+    }
+
+    /**
+     * Retrieves the encoded bytes of a game, without its size prefix.
+     * @param game the game number
+     * @return a read-only view of the mapped file, unless the game crosses a segment end.
+     * @throws IOException if the game cannot be read.
+     */
+    public ByteBuffer getEncodedGame(long game) throws IOException {
+        long entry = entry(game);
+        ByteBuffer encoded = data.slice(index.getLong(entry), index.getInt(entry + 8));
+        GameRecordCodec.readVarint(encoded);
+        return encoded.slice();
+    }
+
+    /**
+     * Decodes a game.
+     * @param game the game number
+     * @return the record.
+     * @throws IOException if the game cannot be read or is corrupt.
+     */
+    public GameRecord read(long game) throws IOException {
+        try {
+            return GameRecordCodec.decode(getEncodedGame(game));
+        } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException
+                 | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt game record " + game, e);
+        }
+    }
+
+    /**
+     * Decodes and replays a game.
+     * @param game the game number
+     * @return the state after its last action.
+     * @throws IOException if the game cannot be read or is corrupt.
+     */
+    public GameState replay(long game) throws IOException {
+        return read(game).replay();
+    }
+
+    /**
+     * Retrieves the file position of a game's index entry.
+     */
+    private long entry(long game) {
+        if (game < 0 || game >= games) {
+            throw new IndexOutOfBoundsException("Game " + game + " of " + games);
+        }
+        return indexOffset + game * ENTRY_SIZE;
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Not a game archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,134 @@
+package records;
+
+import GodCard.GodRegistry;
+import engine.GameState;
+import engine.Rules;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes an indexed game archive, read back with {@link GameArchive}.
+ * Games are appended in the same encoding as a record stream; their index entries are spooled to a temporary
+ * file next to the archive and appended, followed by the footer, when the writer is closed.
+ * An archive that was not closed has no footer and cannot be opened.
+ *
+ * <pre>
+ * header  "SARC", byte archive version, byte record version, 2 bytes zero
+ * games   one after the other, each with its varint size prefix (see {@link GameRecordCodec})
+ * index   one 24-byte entry per game:
+ *         long offset of the game, int length of the game including its prefix, int action count,
+ *         byte god index of seat 0, byte god index of seat 1, byte winning seat or -1, byte end,
+ *         byte flags (0 shop, 1 seat 1 moves first), 3 bytes zero
+ * footer  long offset of the index, long game count, "SIDX", int entry size
+ * </pre>
+ * All numbers are big-endian.
+ */
+public class GameArchiveWriter implements GameRecordSink {
+    /** The first bytes of every archive. */
+    static final byte[] MAGIC = {'S', 'A', 'R', 'C'};
+    /** Marks the footer, just before the entry size. */
+    static final byte[] INDEX_MAGIC = {'S', 'I', 'D', 'X'};
+    /** The layout version of the header, index and footer; the games follow {@link GameRecordWriter#VERSION}. */
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int ENTRY_SIZE = 24;
+    static final int FOOTER_SIZE = 24;
+    static final int SHOP = 1;
+    static final int SECOND_FIRST = 1 << 1;
+
+    private final DataOutputStream out;
+    private final Path indexFile;
+    private final DataOutputStream index;
+    private long games = 0;
+    private long bytes = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates an archive, replacing any file of the same name.
+     * @param file the archive file
+     * @throws IOException if the archive or its temporary index cannot be created.
+     */
+    public GameArchiveWriter(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        this.indexFile = Files.createTempFile(directory, file.getFileName() + ".", ".idx");
+        this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16));
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(GameRecordWriter.VERSION);
+        out.writeShort(0);
+        bytes = HEADER_SIZE;
+    }
+
+    @Override
+    public int write(GameRecord record) throws IOException {
+        // Encoding replays the game, so the result comes for free
+        GameState end = record.newInitialState();
+        byte[] game = GameRecordCodec.encode(record, end);
+        if (record.getEnd() == GameRecord.End.TIMEOUT && !Rules.isTerminal(end)) {
+            Rules.forfeit(end, end.getCurrentPlayerIndex());
+        }
+        int flags = (record.isShopEnabled() ? SHOP : 0) | (record.getFirstPlayer() == 1 ? SECOND_FIRST : 0);
+
+        synchronized (this) {
+            if (closed) throw new IOException("Archive is closed");
+            index.writeLong(bytes);
+            index.writeInt(game.length);
+            index.writeInt(record.getActionCount());
+            index.writeByte(GodRegistry.indexOf(record.getGod(0)));
+            index.writeByte(GodRegistry.indexOf(record.getGod(1)));
+            index.writeByte(end.getWinnerIndex());
+            index.writeByte(record.getEnd().ordinal());
+            index.writeByte(flags);
+            index.writeByte(0);
+            index.writeShort(0);
+            out.write(game);
+            games++;
+            bytes += game.length;
+        }
+        return game.length;
+    }
+
+    @Override
+    public synchronized long getGames() {
+        return games;
+    }
+
+    @Override
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+        index.flush();
+    }
+
+    /**
+     * Appends the index and footer and closes the archive.
+     * @throws IOException if the archive cannot be completed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            index.close();
+            long indexOffset = bytes;
+            Files.copy(indexFile, out);
+            out.writeLong(indexOffset);
+            out.writeLong(games);
+            out.write(INDEX_MAGIC);
+            out.writeInt(ENTRY_SIZE);
+            bytes += games * ENTRY_SIZE + FOOTER_SIZE;
+            out.close();
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+}
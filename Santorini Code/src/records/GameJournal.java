@@ -0,0 +1,328 @@
+package records;
+
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static records.GameRecordCodec.readVarint;
+import static records.GameRecordCodec.readVarintInt;
+import static records.GameRecordCodec.writeVarint;
+
+/**
+ * Saves a game in progress so that a crash or closing the game does not lose it, and loads it back.
+ * The file holds the latest snapshot of the whole game (see {@link GameSnapshot}) followed by the actions
+ * applied since, each with the clocks after it. Callers write a snapshot every few actions, so resuming
+ * decodes one snapshot and applies a handful of actions however long the game has been.
+ * All file work happens in order on one background thread, so the calling thread never waits for the disk.
+ * A snapshot replaces the file atomically (written next to it, then moved over it); actions are appended.
+ * Every frame carries a CRC-32, so a frame torn by a crash is ignored when loading.
+ *
+ * <pre>
+ * header  "SSAV", byte journal version, byte record version
+ * frame   byte type (1 snapshot, 2 action), varint payload length, payload, int CRC-32 of type and payload
+ * action  varint action code, varint clock count, varint remaining millis per clock
+ * </pre>
+ */
+public class GameJournal implements Closeable {
+    private static final byte[] HEADER = {'S', 'S', 'A', 'V', 1, GameRecordWriter.VERSION};
+    private static final int SNAPSHOT = 1;
+    private static final int ACTION = 2;
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+
+    private final Path file;
+    private final Path tempFile;
+    private final ExecutorService writer;
+    private final Thread shutdownHook;
+    private FileChannel channel;          // Open for appending after the first snapshot; only used by the writer
+    private volatile IOException failure; // First write error, reported by flush and close
+    private boolean snapshotWritten = false;
+
+    /**
+     * Starts a journal. Nothing is written until the first snapshot, which replaces any earlier save.
+     * @param file the save file; missing directories are created
+     * @throws IOException if the directories cannot be created.
+     */
+    public GameJournal(Path file) throws IOException {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Pending writes still reach the disk when the window is closed and the JVM exits
+        this.shutdownHook = new Thread(this::awaitWrites, "game-journal-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Saves the whole game, replacing the snapshot and actions saved so far. The game is encoded by
+     * the calling thread, which must be the one driving the game, and written in the background.
+     *
+     * @param state the game
+     * @param history the record of the game so far
+     * @param clockMillis the remaining time of every clock, empty for untimed games
+     * @param computerSeat the seat played by the computer, or -1
+     */
+    public void writeSnapshot(GameState state, GameRecord history, long[] clockMillis, int computerSeat) {
+        byte[] frame = frame(SNAPSHOT, GameSnapshot.encode(state, history, clockMillis, computerSeat));
+        snapshotWritten = true;
+        submit(() -> replaceWith(frame));
+    }
+
+    /**
+     * Appends an applied action to the saved game.
+     *
+     * @param action the action
+     * @param clockMillis the remaining time of every clock after the action, empty for untimed games
+     * @throws IllegalStateException if no snapshot has been written yet.
+     */
+    public void writeAction(Action action, long[] clockMillis) {
+        if (!snapshotWritten) {
+            throw new IllegalStateException("A snapshot must be written before the first action");
+        }
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(16);
+        writeVarint(payload, action.encode());
+        writeVarint(payload, clockMillis.length);
+        for (long millis : clockMillis) {
+            writeVarint(payload, millis);
+        }
+        byte[] frame = frame(ACTION, payload.toByteArray());
+        submit(() -> append(frame));
+    }
+
+    /**
+     * Waits until everything written so far is on disk.
+     * @throws IOException if a write failed.
+     */
+    public void flush() throws IOException {
+        try {
+            writer.submit(() -> {
+                if (channel != null) channel.force(false);
+                return null;
+            }).get();
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Journal is closed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Cannot save game", e.getCause());
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Deletes the save, e.g. because the game is over, and closes the journal.
+     * @throws IOException if a write failed or the save cannot be deleted.
+     */
+    public void discard() throws IOException {
+        submit(() -> {
+            closeChannel();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(tempFile);
+        });
+        close();
+    }
+
+    /**
+     * Writes everything still pending and closes the journal. Later writes are ignored.
+     * @throws IOException if a write failed.
+     */
+    @Override
+    public void close() throws IOException {
+        awaitWrites();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook is running or has run
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Loads a saved game: decodes its snapshot and applies the actions after it.
+     * @param file the save file
+     * @return the game.
+     * @throws IOException if the file cannot be read, has no snapshot or is corrupt.
+     */
+    public static SavedGame load(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < HEADER.length || !Arrays.equals(bytes, 0, HEADER.length, HEADER, 0, HEADER.length)) {
+            throw new IOException("Not a saved game of this version");
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes).position(HEADER.length);
+        try {
+            SavedGame game = null;
+            long[] clockMillis = null;
+            Frame frame;
+            while ((frame = nextFrame(in)) != null) {
+                ByteBuffer payload = frame.payload();
+                if (frame.type() == SNAPSHOT) {
+                    game = GameSnapshot.decode(payload);
+                    clockMillis = null;
+                    continue;
+                }
+                if (frame.type() != ACTION || game == null) {
+                    throw new IOException("Corrupt saved game: unexpected frame " + frame.type());
+                }
+                GameState state = game.getState();
+                Action action = Action.decode(readVarintInt(payload));
+                clockMillis = new long[readVarintInt(payload)];
+                for (int i = 0; i < clockMillis.length; i++) {
+                    clockMillis[i] = readVarint(payload);
+                }
+                if (!Rules.isLegal(state, action)) {
+                    throw new IOException("Corrupt saved game: illegal action " + action);
+                }
+                int previousPlayer = state.getCurrentPlayerIndex();
+                game.getRecorder().onAction(action);
+                Rules.apply(state, action);
+                if (state.getCurrentPlayerIndex() != previousPlayer && clockMillis.length > previousPlayer) {
+                    game.getRecorder().onTurnEnded(clockMillis[previousPlayer]);
+                }
+            }
+            if (game == null) {
+                throw new IOException("Saved game has no snapshot");
+            }
+            return clockMillis == null ? game
+                    : new SavedGame(game.getState(), clockMillis, game.getComputerSeat(), game.getRecorder());
+        } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException
+                 | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt saved game", e);
+        }
+    }
+
+    private record Frame(int type, ByteBuffer payload) {}
+
+    /**
+     * Reads the next frame and checks its CRC.
+     * @return the frame, or null at the end of the file or at a torn frame.
+     */
+    private static Frame nextFrame(ByteBuffer in) {
+        if (in.remaining() < 2) return null;
+        int type = in.get();
+        long length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (!in.hasRemaining() || shift > 28) return null;
+            int b = in.get();
+            length |= (long) (b & 0x7F) << shift;
+            if (b >= 0) break;
+        }
+        if (length > in.remaining() - Integer.BYTES) return null;
+        int payloadStart = in.position();
+        in.position(payloadStart + (int) length);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(in.array(), payloadStart, (int) length);
+        if (in.getInt() != (int) crc.getValue()) return null;
+        return new Frame(type, in.slice(payloadStart, (int) length));
+    }
+
+    private static byte[] frame(int type, byte[] payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length + 10);
+        out.write(type);
+        writeVarint(out, payload.length);
+        out.writeBytes(payload);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        int value = (int) crc.getValue();
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+        return out.toByteArray();
+    }
+
+    private interface FileTask {
+        void run() throws IOException;
+    }
+
+    private void submit(FileTask task) {
+        try {
+            writer.execute(() -> {
+                if (failure != null) return;  // Keep the last good save rather than writing past a failure
+                try {
+                    task.run();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed; the game is being shut down
+        }
+    }
+
+    private void replaceWith(byte[] frame) throws IOException {
+        closeChannel();
+        try (FileChannel temp = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(temp, ByteBuffer.wrap(HEADER));
+            writeFully(temp, ByteBuffer.wrap(frame));
+            temp.force(false);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void append(byte[] frame) throws IOException {
+        if (channel != null) {
+            writeFully(channel, ByteBuffer.wrap(frame));
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Stops taking writes and waits for the pending ones, then closes the file.
+     */
+    private void awaitWrites() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                failure = new IOException("Timed out saving game");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+    }
+}
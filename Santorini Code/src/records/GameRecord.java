@@ -0,0 +1,275 @@
+package records;
+
+import Board.Board;
+import GameMode.gameutils.ClockMode;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A complete or partial game: the setup (board shape, gods, names, first player, worker placement),
+ * every action in order, the clocks after every turn, and how the game ended.
+ * Records are created by a {@link GameRecorder} while a game is played, stored with a {@link GameRecordWriter}
+ * and read back with a {@link GameRecordReader}; {@link #replay()} rebuilds the game state from them.
+ */
+public class GameRecord {
+    /**
+     * How a recorded game ended, beyond what replaying its actions shows.
+     */
+    public enum End {
+        /** The game was stopped before a result, e.g. saved or cut off. */
+        UNFINISHED,
+        /** The actions end the game by the rules (a win or a blocked player). */
+        RULES,
+        /** The player to move after the last action ran out of time and lost. */
+        TIMEOUT
+    }
+
+    /** The colour of each seat in rebuilt games. */
+    static final Color[] COLOURS = {Color.BLUE, Color.RED};
+
+    private final int rows;
+    private final int cols;
+    private final BitSet holes;
+    private final String[] gods;          // God names in seat order
+    private final String[] playerNames;   // Player names in seat order, or null if not kept
+    private final Long seed;              // Seed the game was generated from, or null
+    private final boolean shop;
+    private final int firstPlayer;
+    private final int[] placements;       // Cell index of every worker: seat 0 worker 0, seat 0 worker 1, seat 1 ...
+    private final int[] actions;          // Encoded actions, see Action.encode
+    private final ClockMode clockMode;    // Null for untimed games
+    private final long initialMillis;
+    private final long incrementMillis;
+    private final long[] clockMillis;     // Remaining time of the player whose turn just ended, per completed turn
+    private final End end;
+
+    /**
+     * Creates a record. Arrays are not copied; they must not be changed afterwards.
+     *
+     * @param rows The number of board rows.
+     * @param cols The number of board columns.
+     * @param holes The row-major indices that are not part of the board.
+     * @param gods The god names in seat order.
+     * @param playerNames The player names in seat order, or null.
+     * @param seed The seed the game was generated from, or null.
+     * @param shop true if the game was played with the artifact shop.
+     * @param firstPlayer The seat that moved first.
+     * @param placements The starting cell index of every worker, two per seat.
+     * @param actions The encoded actions in order.
+     * @param clockMode The clock mode, or null for untimed games.
+     * @param initialMillis The starting time of each clock.
+     * @param incrementMillis The Fischer increment or Bronstein delay.
+     * @param clockMillis The remaining time of the player whose turn ended, per completed turn.
+     * @param end How the game ended.
+     */
+    public GameRecord(int rows, int cols, BitSet holes, String[] gods, String[] playerNames, Long seed,
+                      boolean shop, int firstPlayer, int[] placements, int[] actions,
+                      ClockMode clockMode, long initialMillis, long incrementMillis, long[] clockMillis, End end) {
+        this.rows = rows;
+        this.cols = cols;
+        this.holes = holes;
+        this.gods = gods;
+        this.playerNames = playerNames;
+        this.seed = seed;
+        this.shop = shop;
+        this.firstPlayer = firstPlayer;
+        this.placements = placements;
+        this.actions = actions;
+        this.clockMode = clockMode;
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        this.clockMillis = clockMillis;
+        this.end = end;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Retrieves the positions that are not part of the board.
+     * @return a copy of the row-major hole indices.
+     */
+    public BitSet getHoles() {
+        return (BitSet) holes.clone();
+    }
+
+    /**
+     * Retrieves the god of a seat.
+     * @param seat the seat
+     * @return the god's name.
+     */
+    public String getGod(int seat) {
+        return gods[seat];
+    }
+
+    /**
+     * Retrieves the name of the player in a seat.
+     * @param seat the seat
+     * @return the name, or null if the record does not keep names.
+     */
+    public String getPlayerName(int seat) {
+        return playerNames == null ? null : playerNames[seat];
+    }
+
+    /**
+     * Retrieves the seed the game was generated from.
+     * @return the seed, or null if none was recorded.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public boolean isShopEnabled() {
+        return shop;
+    }
+
+    public int getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /**
+     * Retrieves the starting cell of a worker.
+     * @param seat the seat of the owner
+     * @param workerId the worker id (0 or 1)
+     * @return the row-major cell index.
+     */
+    public int getPlacement(int seat, int workerId) {
+        return placements[seat * 2 + workerId];
+    }
+
+    /**
+     * Retrieves the number of recorded actions.
+     * @return the number of actions.
+     */
+    public int getActionCount() {
+        return actions.length;
+    }
+
+    /**
+     * Retrieves a recorded action.
+     * @param index the position in the game, from 0
+     * @return the action.
+     */
+    public Action getAction(int index) {
+        return Action.decode(actions[index]);
+    }
+
+    /**
+     * Retrieves the clock mode.
+     * @return the mode, or null for untimed games.
+     */
+    public ClockMode getClockMode() {
+        return clockMode;
+    }
+
+    public long getInitialMillis() {
+        return initialMillis;
+    }
+
+    public long getIncrementMillis() {
+        return incrementMillis;
+    }
+
+    /**
+     * Retrieves the number of completed turns with a recorded clock.
+     * @return the number of clock entries.
+     */
+    public int getClockCount() {
+        return clockMillis.length;
+    }
+
+    /**
+     * Retrieves the remaining time of the player whose turn ended.
+     * @param turn the completed turn, from 0
+     * @return the remaining milliseconds.
+     */
+    public long getClockMillis(int turn) {
+        return clockMillis[turn];
+    }
+
+    public End getEnd() {
+        return end;
+    }
+
+    int[] actionCodes() {
+        return actions;
+    }
+
+    int[] placements() {
+        return placements;
+    }
+
+    long[] clockMillis() {
+        return clockMillis;
+    }
+
+    /**
+     * Builds the game as it was before the first action: board, players and placed workers.
+     * Players without a recorded name are called after their seat.
+     * @return the starting state.
+     */
+    public GameState newInitialState() {
+        Board board = new Board(rows, cols, holes);
+        Player[] players = new Player[gods.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            String name = playerNames != null ? playerNames[seat] : "Player " + (seat + 1);
+            players[seat] = new Player(name, GodRegistry.create(gods[seat]), COLOURS[seat % COLOURS.length]);
+            for (int id = 0; id < 2; id++) {
+                new Worker(players[seat], id).move(board.getCell(getPlacement(seat, id)));
+            }
+        }
+        return new GameState(board, players, firstPlayer, shop);
+    }
+
+    /**
+     * Replays the whole game, including a loss on time.
+     * @return the state after the last action.
+     * @throws IllegalStateException if an action is not legal at its point in the game.
+     */
+    public GameState replay() {
+        GameState state = newInitialState();
+        for (int code : actions) {
+            Action action = Action.decode(code);
+            if (!Rules.isLegal(state, action)) {
+                throw new IllegalStateException("Illegal recorded action " + action);
+            }
+            Rules.apply(state, action);
+        }
+        if (end == End.TIMEOUT && !Rules.isTerminal(state)) {
+            Rules.forfeit(state, state.getCurrentPlayerIndex());
+        }
+        return state;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameRecord other)) return false;
+        return rows == other.rows && cols == other.cols && holes.equals(other.holes)
+                && Arrays.equals(gods, other.gods) && Arrays.equals(playerNames, other.playerNames)
+                && Objects.equals(seed, other.seed) && shop == other.shop && firstPlayer == other.firstPlayer
+                && Arrays.equals(placements, other.placements) && Arrays.equals(actions, other.actions)
+                && clockMode == other.clockMode && initialMillis == other.initialMillis
+                && incrementMillis == other.incrementMillis && Arrays.equals(clockMillis, other.clockMillis)
+                && end == other.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(actions) + Arrays.hashCode(placements);
+    }
+}
@@ -0,0 +1,380 @@
+package records;
+
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.ClockMode;
+import GodCard.GodRegistry;
+import engine.Action;
+import engine.GameState;
+import engine.Rules;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The binary form of one game record.
+ * Instead of the actions themselves, the record stores which of the legal choices was taken at every step:
+ * the worker placements (among the free cells) and the actions (among {@link Rules#legalActions}).
+ * All choices together form one mixed-radix number whose digit i is the choice and whose base i is the number
+ * of options, so every step costs log2(options) bits and forced steps cost nothing. Reading therefore replays
+ * the game, and a record can only be read with the rules it was written with (see {@link GameRecordWriter#VERSION}).
+ *
+ * <pre>
+ * varint  size of the rest of the game in bytes
+ * byte    flags: 0 shop, 1 seat 1 moves first, 2 seed, 3 names, 4 clock, 5 not a 5x5 board, 6-7 end
+ * [5]     varint rows, varint cols, varint hole count, varint gap before each hole
+ * varint  god indices of both seats, bits interleaved (seat 0 in the even bits)
+ * [2]     8 bytes seed
+ * [3]     per seat: varint length, UTF-8 name
+ * [4]     byte clock mode, varint initial millis, varint increment millis,
+ *         varint clock count, then varint remaining millis per completed turn
+ * varint  action count
+ * rest    the choice number (unsigned, big-endian)
+ * </pre>
+ */
+final class GameRecordCodec {
+    private static final int SHOP = 1;
+    private static final int SECOND_FIRST = 1 << 1;
+    private static final int SEED = 1 << 2;
+    private static final int NAMES = 1 << 3;
+    private static final int CLOCK = 1 << 4;
+    private static final int CUSTOM_BOARD = 1 << 5;
+    private static final int END_SHIFT = 6;
+
+    private static final int STANDARD_SIZE = 5;
+    private static final int SEATS = 2;
+    private static final long CHUNK_LIMIT = 1L << 55;  // Bases are multiplied in a long up to this before widening
+    private static final GameRecord.End[] ENDS = GameRecord.End.values();
+    private static final ClockMode[] CLOCK_MODES = ClockMode.values();
+
+    private GameRecordCodec() {
+    }
+
+    /**
+     * Encodes a record, including its size prefix.
+     * @param record the record
+     * @return the bytes of the game.
+     * @throws IllegalArgumentException if the record has an action that is not legal at its point in the game.
+     */
+    static byte[] encode(GameRecord record) {
+        return encode(record, record.newInitialState());
+    }
+
+    /**
+     * Encodes a record, including its size prefix, replaying it on the given state.
+     * @param record the record
+     * @param state the starting state of the record, see {@link GameRecord#newInitialState()};
+     *              it is left at the position after the last action
+     * @return the bytes of the game.
+     * @throws IllegalArgumentException if the record has an action that is not legal at its point in the game.
+     */
+    static byte[] encode(GameRecord record, GameState state) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+        boolean standard = record.getRows() == STANDARD_SIZE && record.getCols() == STANDARD_SIZE
+                && record.getHoles().isEmpty();
+        int flags = (record.isShopEnabled() ? SHOP : 0)
+                | (record.getFirstPlayer() == 1 ? SECOND_FIRST : 0)
+                | (record.getSeed() != null ? SEED : 0)
+                | (record.getPlayerName(0) != null ? NAMES : 0)
+                | (record.getClockMode() != null ? CLOCK : 0)
+                | (standard ? 0 : CUSTOM_BOARD)
+                | record.getEnd().ordinal() << END_SHIFT;
+        body.write(flags);
+
+        if (!standard) {
+            writeVarint(body, record.getRows());
+            writeVarint(body, record.getCols());
+            BitSet holes = record.getHoles();
+            writeVarint(body, holes.cardinality());
+            int previous = -1;
+            for (int hole = holes.nextSetBit(0); hole >= 0; hole = holes.nextSetBit(hole + 1)) {
+                writeVarint(body, hole - previous - 1);
+                previous = hole;
+            }
+        }
+        writeVarint(body, interleave(GodRegistry.indexOf(record.getGod(0)), GodRegistry.indexOf(record.getGod(1))));
+        if (record.getSeed() != null) {
+            long seed = record.getSeed();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                body.write((int) (seed >>> shift));
+            }
+        }
+        if (record.getPlayerName(0) != null) {
+            for (int seat = 0; seat < SEATS; seat++) {
+                byte[] name = record.getPlayerName(seat).getBytes(StandardCharsets.UTF_8);
+                writeVarint(body, name.length);
+                body.writeBytes(name);
+            }
+        }
+        if (record.getClockMode() != null) {
+            body.write(record.getClockMode().ordinal());
+            writeVarint(body, record.getInitialMillis());
+            writeVarint(body, record.getIncrementMillis());
+            writeVarint(body, record.getClockCount());
+            for (int turn = 0; turn < record.getClockCount(); turn++) {
+                writeVarint(body, record.getClockMillis(turn));
+            }
+        }
+
+        writeVarint(body, record.getActionCount());
+        body.writeBytes(encodeChoices(record, state));
+
+        ByteArrayOutputStream game = new ByteArrayOutputStream(body.size() + 5);
+        writeVarint(game, body.size());
+        game.writeBytes(body.toByteArray());
+        return game.toByteArray();
+    }
+
+    /**
+     * Decodes a game, without its size prefix, by replaying its choices.
+     * @param in exactly the bytes of the game; its position is moved to its end
+     * @return the record.
+     * @throws IllegalArgumentException if the bytes are not a valid game.
+     */
+    static GameRecord decode(ByteBuffer in) {
+        int flags = in.get() & 0xFF;
+        int rows = STANDARD_SIZE;
+        int cols = STANDARD_SIZE;
+        BitSet holes = new BitSet();
+        if ((flags & CUSTOM_BOARD) != 0) {
+            rows = readVarintInt(in);
+            cols = readVarintInt(in);
+            int holeCount = readVarintInt(in);
+            int hole = -1;
+            for (int i = 0; i < holeCount; i++) {
+                hole += readVarintInt(in) + 1;
+                holes.set(hole);
+            }
+        }
+        long godBits = readVarint(in);
+        String[] gods = {GodRegistry.nameAt(deinterleave(godBits)), GodRegistry.nameAt(deinterleave(godBits >>> 1))};
+        Long seed = (flags & SEED) != 0 ? in.getLong() : null;
+        String[] names = null;
+        if ((flags & NAMES) != 0) {
+            names = new String[SEATS];
+            for (int seat = 0; seat < SEATS; seat++) {
+                byte[] name = new byte[readVarintInt(in)];
+                in.get(name);
+                names[seat] = new String(name, StandardCharsets.UTF_8);
+            }
+        }
+        ClockMode clockMode = null;
+        long initialMillis = 0;
+        long incrementMillis = 0;
+        long[] clockMillis = new long[0];
+        if ((flags & CLOCK) != 0) {
+            clockMode = CLOCK_MODES[in.get()];
+            initialMillis = readVarint(in);
+            incrementMillis = readVarint(in);
+            clockMillis = new long[readVarintInt(in)];
+            for (int turn = 0; turn < clockMillis.length; turn++) {
+                clockMillis[turn] = readVarint(in);
+            }
+        }
+
+        int actionCount = readVarintInt(in);
+        byte[] choiceBytes = new byte[in.remaining()];
+        in.get(choiceBytes);
+
+        int firstPlayer = (flags & SECOND_FIRST) != 0 ? 1 : 0;
+        GameRecord.End end = ENDS[flags >>> END_SHIFT];
+        int[] placements = new int[SEATS * 2];
+        int[] actions = new int[actionCount];
+        decodeChoices(new BigInteger(1, choiceBytes), rows, cols, holes, gods, (flags & SHOP) != 0,
+                firstPlayer, placements, actions);
+        return new GameRecord(rows, cols, holes, gods, names, seed, (flags & SHOP) != 0, firstPlayer,
+                placements, actions, clockMode, initialMillis, incrementMillis, clockMillis, end);
+    }
+
+    /**
+     * Replays the record on the given state and packs the index of every choice into one number.
+     */
+    private static byte[] encodeChoices(GameRecord record, GameState state) {
+        ChoiceEncoder encoder = new ChoiceEncoder();
+
+        // Worker placements, each among the cells still free in row-major order
+        Board empty = new Board(record.getRows(), record.getCols(), record.getHoles());
+        BitSet taken = new BitSet();
+        int[] placements = record.placements();
+        for (int placement : placements) {
+            int index = 0;
+            for (Cell cell : empty.getAllCells()) {
+                int cellIndex = empty.indexOf(cell);
+                if (cellIndex == placement) break;
+                if (!taken.get(cellIndex)) index++;
+            }
+            encoder.add(index, empty.getAllCells().size() - taken.cardinality());
+            taken.set(placement);
+        }
+
+        List<Action> legal = new ArrayList<>();
+        for (int code : record.actionCodes()) {
+            Action action = Action.decode(code);
+            legal.clear();
+            Rules.legalActions(state, legal);
+            int index = legal.indexOf(action);
+            if (index < 0) {
+                throw new IllegalArgumentException("Illegal recorded action " + action);
+            }
+            encoder.add(index, legal.size());
+            Rules.apply(state, action);
+        }
+        return encoder.toBytes();
+    }
+
+    private static void decodeChoices(BigInteger number, int rows, int cols, BitSet holes, String[] gods,
+                                      boolean shop, int firstPlayer, int[] placements, int[] actions) {
+        ChoiceDecoder decoder = new ChoiceDecoder(number);
+
+        Board empty = new Board(rows, cols, holes);
+        BitSet taken = new BitSet();
+        for (int p = 0; p < placements.length; p++) {
+            int index = decoder.next(empty.getAllCells().size() - taken.cardinality());
+            for (Cell cell : empty.getAllCells()) {
+                int cellIndex = empty.indexOf(cell);
+                if (taken.get(cellIndex)) continue;
+                if (index-- == 0) {
+                    placements[p] = cellIndex;
+                    taken.set(cellIndex);
+                    break;
+                }
+            }
+        }
+
+        GameState state = new GameRecord(rows, cols, holes, gods, null, null, shop, firstPlayer, placements,
+                new int[0], null, 0, 0, new long[0], GameRecord.End.UNFINISHED).newInitialState();
+        List<Action> legal = new ArrayList<>();
+        for (int i = 0; i < actions.length; i++) {
+            legal.clear();
+            Rules.legalActions(state, legal);
+            if (legal.isEmpty()) {
+                throw new IllegalArgumentException("Record continues after the game ended");
+            }
+            Action action = legal.get(decoder.next(legal.size()));
+            actions[i] = action.encode();
+            Rules.apply(state, action);
+        }
+    }
+
+    /**
+     * Builds the choice number: digit i in base i, least significant first.
+     * Digits are gathered in longs and only widened to a BigInteger once per chunk.
+     */
+    private static final class ChoiceEncoder {
+        private final List<long[]> chunks = new ArrayList<>();  // {value, base} per chunk
+        private long value = 0;
+        private long base = 1;
+
+        void add(int digit, int radix) {
+            if (radix <= 1) return;
+            if (base > CHUNK_LIMIT / radix) {
+                chunks.add(new long[]{value, base});
+                value = 0;
+                base = 1;
+            }
+            value += digit * base;
+            base *= radix;
+        }
+
+        byte[] toBytes() {
+            // Horner's rule from the most significant chunk down
+            BigInteger number = BigInteger.valueOf(value);
+            for (int i = chunks.size() - 1; i >= 0; i--) {
+                long[] chunk = chunks.get(i);
+                number = number.multiply(BigInteger.valueOf(chunk[1])).add(BigInteger.valueOf(chunk[0]));
+            }
+            if (number.signum() == 0) return new byte[0];
+            byte[] bytes = number.toByteArray();
+            int skip = bytes[0] == 0 ? 1 : 0;  // Drop the sign byte
+            byte[] unsigned = new byte[bytes.length - skip];
+            System.arraycopy(bytes, skip, unsigned, 0, unsigned.length);
+            return unsigned;
+        }
+    }
+
+    /**
+     * Reads the digits back, least significant first. The bases are only learnt one at a time during the replay,
+     * so each digit is divided off the number as it is needed; once the rest fits in a long, plain longs are used.
+     */
+    private static final class ChoiceDecoder {
+        private BigInteger rest;
+        private long small;
+        private boolean isSmall;
+
+        ChoiceDecoder(BigInteger number) {
+            this.rest = number;
+            shrink();
+        }
+
+        int next(int radix) {
+            if (radix <= 1) return 0;
+            if (isSmall) {
+                int digit = (int) (small % radix);
+                small /= radix;
+                return digit;
+            }
+            BigInteger[] quotientAndDigit = rest.divideAndRemainder(BigInteger.valueOf(radix));
+            rest = quotientAndDigit[0];
+            shrink();
+            return quotientAndDigit[1].intValue();
+        }
+
+        private void shrink() {
+            if (rest.bitLength() < 63) {
+                small = rest.longValue();
+                isSmall = true;
+            }
+        }
+    }
+
+    /**
+     * Interleaves the bits of two small numbers, so two indices below 8 still fit in a one-byte varint.
+     */
+    private static long interleave(int even, int odd) {
+        long bits = 0;
+        for (int bit = 0; bit < 31; bit++) {
+            bits |= (long) ((even >>> bit) & 1) << (2 * bit);
+            bits |= (long) ((odd >>> bit) & 1) << (2 * bit + 1);
+        }
+        return bits;
+    }
+
+    private static int deinterleave(long bits) {
+        int value = 0;
+        for (int bit = 0; bit < 31; bit++) {
+            value |= (int) ((bits >>> (2 * bit)) & 1) << bit;
+        }
+        return value;
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static int readVarintInt(ByteBuffer in) {
+        long value = readVarint(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,93 @@
+package records;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads the games of a record stream written by {@link GameRecordWriter}, one at a time.
+ * Reading a game replays it to recover its actions; {@link #skip()} passes over a game without replaying it.
+ */
+public class GameRecordReader implements Closeable {
+    private final DataInputStream in;
+    private byte[] buffer = new byte[256];
+
+    /**
+     * Opens a record stream and checks its header.
+     * @param in the stream to read from; it is buffered by the reader
+     * @throws IOException if the stream cannot be read or is not a record stream of this version.
+     */
+    public GameRecordReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        byte[] magic = new byte[GameRecordWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, GameRecordWriter.MAGIC)) {
+            throw new IOException("Not a game record stream");
+        }
+        int version = this.in.read();
+        if (version != GameRecordWriter.VERSION) {
+            throw new IOException("Unsupported game record version " + version);
+        }
+    }
+
+    /**
+     * Reads the next game.
+     * @return the game, or null at the end of the stream.
+     * @throws IOException if the stream cannot be read or the game is corrupt.
+     */
+    public GameRecord read() throws IOException {
+        int size = readSize();
+        if (size < 0) return null;
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer.length * 2)];
+        }
+        in.readFully(buffer, 0, size);
+        try {
+            return GameRecordCodec.decode(ByteBuffer.wrap(buffer, 0, size));
+        } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException
+                 | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt game record", e);
+        }
+    }
+
+    /**
+     * Skips the next game without decoding it.
+     * @return false at the end of the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    public boolean skip() throws IOException {
+        int size = readSize();
+        if (size < 0) return false;
+        in.skipNBytes(size);
+        return true;
+    }
+
+    /**
+     * Reads the size prefix of the next game.
+     * @return the size, or -1 at the end of the stream.
+     */
+    private int readSize() throws IOException {
+        int size = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) return -1;
+                throw new EOFException("Truncated game record");
+            }
+            size |= (b & 0x7F) << shift;
+            if (b < 0x80) return size;
+        }
+        throw new IOException("Malformed game record size");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,32 @@
+package records;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Destination for recorded games, such as a record stream ({@link GameRecordWriter})
+ * or an indexed archive ({@link GameArchiveWriter}). Games can be written from several threads.
+ */
+public interface GameRecordSink extends Closeable, Flushable {
+    /**
+     * Appends a game.
+     * @param record the game
+     * @return the number of bytes the game took.
+     * @throws IOException if the game cannot be written.
+     * @throws IllegalArgumentException if the record has an action that is not legal at its point in the game.
+     */
+    int write(GameRecord record) throws IOException;
+
+    /**
+     * Retrieves the number of games written so far.
+     * @return the number of games.
+     */
+    long getGames();
+
+    /**
+     * Retrieves the number of bytes written so far, including any header.
+     * @return the number of bytes.
+     */
+    long getBytes();
+}
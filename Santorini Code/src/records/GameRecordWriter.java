@@ -0,0 +1,64 @@
+package records;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes game records to a stream, one after the other.
+ * The stream starts with a magic number and the format version; each game is length-prefixed so readers can skip it.
+ * Games can be written from several threads: each is encoded by the calling thread and then appended whole.
+ */
+public class GameRecordWriter implements GameRecordSink {
+    /** The first bytes of every record stream. */
+    static final byte[] MAGIC = {'S', 'R', 'E', 'C'};
+    /** The format version. Bump it whenever the rules change the order or number of legal actions. */
+    static final int VERSION = 1;
+
+    private final OutputStream out;
+    private long games = 0;
+    private long bytes = 0;
+
+    /**
+     * Starts a record stream.
+     * @param out the stream to write to; it is buffered by the writer
+     * @throws IOException if the header cannot be written.
+     */
+    public GameRecordWriter(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out, 1 << 16);
+        this.out.write(MAGIC);
+        this.out.write(VERSION);
+        bytes = MAGIC.length + 1;
+    }
+
+    @Override
+    public int write(GameRecord record) throws IOException {
+        byte[] game = GameRecordCodec.encode(record);
+        synchronized (this) {
+            out.write(game);
+            games++;
+            bytes += game.length;
+        }
+        return game.length;
+    }
+
+    @Override
+    public synchronized long getGames() {
+        return games;
+    }
+
+    @Override
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,158 @@
+package records;
+
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.ClockMode;
+import Player.Player;
+import Player.Worker;
+import engine.Action;
+import engine.GameState;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Records a game while it is played. Create it when the workers are placed and before the first action,
+ * then report every applied action and, for timed games, the clock at the end of every turn.
+ * Recording is cheap: an action is stored as its int encoding.
+ */
+public class GameRecorder {
+    private final int rows;
+    private final int cols;
+    private final BitSet holes;
+    private final String[] gods;
+    private final String[] playerNames;
+    private final Long seed;
+    private final boolean shop;
+    private final int firstPlayer;
+    private final int[] placements;
+
+    private ClockMode clockMode;
+    private long initialMillis;
+    private long incrementMillis;
+
+    private int[] actions = new int[128];
+    private int actionCount = 0;
+    private long[] clockMillis = new long[0];
+    private int clockCount = 0;
+
+    /**
+     * Starts recording a game from its starting state.
+     *
+     * @param start The state before the first action, with the workers placed.
+     * @param keepNames true to store the player names.
+     * @param seed The seed the game was generated from, or null.
+     */
+    public GameRecorder(GameState start, boolean keepNames, Long seed) {
+        Board board = start.getBoard();
+        Player[] players = start.getPlayers();
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.holes = new BitSet(board.getIndexSize());
+        for (int index = 0; index < board.getIndexSize(); index++) {
+            if (board.getCell(index) == null) holes.set(index);
+        }
+
+        this.gods = new String[players.length];
+        this.playerNames = keepNames ? new String[players.length] : null;
+        for (int seat = 0; seat < players.length; seat++) {
+            gods[seat] = players[seat].getGod().getName();
+            if (keepNames) playerNames[seat] = players[seat].getName();
+        }
+
+        this.placements = new int[players.length * 2];
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker == null) continue;
+            int seat = 0;
+            while (players[seat] != worker.getOwner()) seat++;
+            placements[seat * 2 + worker.getId()] = board.indexOf(cell);
+        }
+
+        this.seed = seed;
+        this.shop = start.isShopEnabled();
+        this.firstPlayer = start.getCurrentPlayerIndex();
+    }
+
+    /**
+     * Continues recording a game from its record so far, e.g. when a saved game is resumed.
+     *
+     * @param record The record of the game up to now.
+     */
+    GameRecorder(GameRecord record) {
+        this.rows = record.getRows();
+        this.cols = record.getCols();
+        this.holes = record.getHoles();
+        this.gods = new String[] {record.getGod(0), record.getGod(1)};
+        this.playerNames = record.getPlayerName(0) == null ? null
+                : new String[] {record.getPlayerName(0), record.getPlayerName(1)};
+        this.seed = record.getSeed();
+        this.shop = record.isShopEnabled();
+        this.firstPlayer = record.getFirstPlayer();
+        this.placements = record.placements().clone();
+        this.clockMode = record.getClockMode();
+        this.initialMillis = record.getInitialMillis();
+        this.incrementMillis = record.getIncrementMillis();
+        this.actions = Arrays.copyOf(record.actionCodes(), Math.max(128, record.getActionCount()));
+        this.actionCount = record.getActionCount();
+        this.clockMillis = Arrays.copyOf(record.clockMillis(), Math.max(64, record.getClockCount()));
+        this.clockCount = record.getClockCount();
+    }
+
+    /**
+     * Records the clock settings of a timed game.
+     *
+     * @param mode How time is given back after each turn.
+     * @param initialMillis The starting time of each clock.
+     * @param incrementMillis The Fischer increment or Bronstein delay.
+     */
+    public void setClock(ClockMode mode, long initialMillis, long incrementMillis) {
+        this.clockMode = mode;
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        if (clockMillis.length == 0) clockMillis = new long[64];
+    }
+
+    /**
+     * Records an action that was applied to the game.
+     * @param action the action
+     */
+    public void onAction(Action action) {
+        if (actionCount == actions.length) {
+            actions = Arrays.copyOf(actions, actionCount * 2);
+        }
+        actions[actionCount++] = action.encode();
+    }
+
+    /**
+     * Records the clock of the player whose turn just ended.
+     * @param remainingMillis the time left on their clock
+     */
+    public void onTurnEnded(long remainingMillis) {
+        if (clockMode == null) return;
+        if (clockCount == clockMillis.length) {
+            clockMillis = Arrays.copyOf(clockMillis, Math.max(64, clockCount * 2));
+        }
+        clockMillis[clockCount++] = remainingMillis;
+    }
+
+    /**
+     * Retrieves the number of actions recorded so far.
+     * @return the number of actions.
+     */
+    public int getActionCount() {
+        return actionCount;
+    }
+
+    /**
+     * Creates a record of the game so far. Recording can continue afterwards.
+     * @param end how the game ended, or UNFINISHED for a game still in progress
+     * @return the record.
+     */
+    public GameRecord toRecord(GameRecord.End end) {
+        return new GameRecord(rows, cols, (BitSet) holes.clone(), gods.clone(),
+                playerNames == null ? null : playerNames.clone(), seed, shop, firstPlayer, placements.clone(),
+                Arrays.copyOf(actions, actionCount), clockMode, initialMillis, incrementMillis,
+                Arrays.copyOf(clockMillis, clockCount), end);
+    }
+}
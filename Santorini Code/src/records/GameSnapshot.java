@@ -0,0 +1,263 @@
+package records;
+
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.ClockMode;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import artifacts.Artifact;
+import artifacts.ArtifactType;
+import engine.GameState;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+import static records.GameRecordCodec.readVarint;
+import static records.GameRecordCodec.readVarintInt;
+import static records.GameRecordCodec.writeVarint;
+
+/**
+ * The binary form of a whole game at one point, for saving and resuming it without replaying from the first move.
+ * Unlike a game record it stores the position itself: every cell, the players' tokens and artifacts, the turn
+ * flags and context (which worker moved, where from, the first build), and the clocks. The record of the game
+ * so far is stored as plain action codes so recording can continue after resuming.
+ *
+ * <pre>
+ * varint  rows, varint cols, varint hole count, varint gap before each hole
+ * byte    per cell in row-major order: 0-2 level, 3 dome, 4 flooded, 5-7 occupant (seat * 2 + worker id + 1)
+ *         per seat: varint length, UTF-8 name, varint god index, varint tokens,
+ *         varint artifact count, byte artifact type per artifact
+ * byte    turn flags, byte seat to move, byte winner + 1, byte shop enabled
+ * varint  active worker + 1, varint move origin + 1, varint first build cell + 1
+ * varint  clock count, varint remaining millis per clock
+ * varint  computer seat + 1
+ * byte    record flags: 0 names kept, 1 seed
+ * [1]     8 bytes seed
+ * byte    first seat, varint starting cell per worker
+ * byte    clock mode + 1, [varint initial millis, varint increment millis]
+ * varint  clock entry count, varint millis per entry, varint action count, varint code per action
+ * </pre>
+ */
+final class GameSnapshot {
+    private static final int LEVEL_MASK = 0x7;
+    private static final int DOME = 1 << 3;
+    private static final int FLOODED = 1 << 4;
+    private static final int OCCUPANT_SHIFT = 5;
+    private static final int NAMES_KEPT = 1;
+    private static final int SEED = 1 << 1;
+    private static final ArtifactType[] ARTIFACTS = ArtifactType.values();
+    private static final ClockMode[] CLOCK_MODES = ClockMode.values();
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Encodes a game.
+     * @param state the game
+     * @param history the record of the game so far
+     * @param clockMillis the remaining time of every clock, empty for untimed games
+     * @param computerSeat the seat played by the computer, or -1
+     * @return the bytes of the snapshot.
+     */
+    static byte[] encode(GameState state, GameRecord history, long[] clockMillis, int computerSeat) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        Board board = state.getBoard();
+        Player[] players = state.getPlayers();
+
+        writeVarint(out, board.getRows());
+        writeVarint(out, board.getCols());
+        BitSet holes = history.getHoles();
+        writeVarint(out, holes.cardinality());
+        int previous = -1;
+        for (int hole = holes.nextSetBit(0); hole >= 0; hole = holes.nextSetBit(hole + 1)) {
+            writeVarint(out, hole - previous - 1);
+            previous = hole;
+        }
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            out.write(cell.getBlock().getLevel()
+                    | (cell.getBlock().hasDome() ? DOME : 0)
+                    | (cell.isFlooded() ? FLOODED : 0)
+                    | (worker == null ? 0 : slotOf(players, worker) + 1) << OCCUPANT_SHIFT);
+        }
+
+        for (Player player : players) {
+            writeString(out, player.getName());
+            writeVarint(out, GodRegistry.indexOf(player.getGod().getName()));
+            writeVarint(out, player.getTokens());
+            writeVarint(out, player.getArtifacts().size());
+            for (Artifact artifact : player.getArtifacts()) {
+                out.write(artifact.getType().ordinal());
+            }
+        }
+
+        out.write(state.getTurnState().getFlags());
+        out.write(state.getCurrentPlayerIndex());
+        out.write(state.getWinnerIndex() + 1);
+        out.write(state.isShopEnabled() ? 1 : 0);
+        writeVarint(out, state.getActiveWorker() == null ? 0 : slotOf(players, state.getActiveWorker()) + 1);
+        writeVarint(out, cellIndex(board, state.getMoveOrigin()) + 1);
+        writeVarint(out, cellIndex(board, state.getFirstBuildCell()) + 1);
+        writeVarint(out, clockMillis.length);
+        for (long millis : clockMillis) {
+            writeVarint(out, millis);
+        }
+        writeVarint(out, computerSeat + 1);
+
+        out.write((history.getPlayerName(0) != null ? NAMES_KEPT : 0) | (history.getSeed() != null ? SEED : 0));
+        if (history.getSeed() != null) {
+            long seed = history.getSeed();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (seed >>> shift));
+            }
+        }
+        out.write(history.getFirstPlayer());
+        for (int placement : history.placements()) {
+            writeVarint(out, placement);
+        }
+        out.write(history.getClockMode() == null ? 0 : history.getClockMode().ordinal() + 1);
+        if (history.getClockMode() != null) {
+            writeVarint(out, history.getInitialMillis());
+            writeVarint(out, history.getIncrementMillis());
+        }
+        writeVarint(out, history.getClockCount());
+        for (long millis : history.clockMillis()) {
+            writeVarint(out, millis);
+        }
+        writeVarint(out, history.getActionCount());
+        for (int code : history.actionCodes()) {
+            writeVarint(out, code);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a game.
+     * @param in exactly the bytes of the snapshot
+     * @return the game, with its own turn flags and shop.
+     * @throws IllegalArgumentException if the bytes are not a valid snapshot.
+     */
+    static SavedGame decode(ByteBuffer in) {
+        int rows = readVarintInt(in);
+        int cols = readVarintInt(in);
+        BitSet holes = new BitSet();
+        int holeCount = readVarintInt(in);
+        int hole = -1;
+        for (int i = 0; i < holeCount; i++) {
+            hole += readVarintInt(in) + 1;
+            holes.set(hole);
+        }
+        Board board = new Board(rows, cols, holes);
+        int[] cells = new int[board.getIndexSize()];
+        for (Cell cell : board.getAllCells()) {
+            cells[board.indexOf(cell)] = in.get() & 0xFF;
+        }
+
+        Player[] players = new Player[GameRecord.COLOURS.length];
+        String[] names = new String[players.length];
+        String[] gods = new String[players.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            names[seat] = readString(in);
+            gods[seat] = GodRegistry.nameAt(readVarintInt(in));
+            players[seat] = new Player(names[seat], GodRegistry.create(gods[seat]), GameRecord.COLOURS[seat]);
+            players[seat].increaseTokens(readVarintInt(in) - players[seat].getTokens());
+            int artifacts = readVarintInt(in);
+            for (int i = 0; i < artifacts; i++) {
+                players[seat].addArtifact(ARTIFACTS[in.get()].create());
+            }
+        }
+
+        Worker[] workers = new Worker[players.length * 2];
+        for (Cell cell : board.getAllCells()) {
+            int bits = cells[board.indexOf(cell)];
+            int level = bits & LEVEL_MASK;
+            boolean dome = (bits & DOME) != 0;
+            if (level != 0 || dome) {
+                cell.getBlock().restore(level, dome);
+            }
+            if ((bits & FLOODED) != 0) {
+                cell.setFlooded(true);
+            }
+            int occupant = bits >>> OCCUPANT_SHIFT;
+            if (occupant != 0) {
+                Worker worker = new Worker(players[(occupant - 1) / 2], (occupant - 1) % 2);
+                worker.move(cell);
+                workers[occupant - 1] = worker;
+            }
+        }
+
+        int turnFlags = in.get();
+        int currentPlayer = in.get();
+        int winner = in.get() - 1;
+        boolean shop = in.get() != 0;
+        int active = readVarintInt(in);
+        Cell moveOrigin = board.getCell(readVarintInt(in) - 1);
+        Cell firstBuild = board.getCell(readVarintInt(in) - 1);
+        GameState state = new GameState(board, players, currentPlayer, shop);
+        state.getTurnState().setFlags(turnFlags);
+        state.restoreTurn(currentPlayer, winner, active == 0 ? null : workers[active - 1], moveOrigin, firstBuild);
+        if (winner >= 0) {
+            players[winner].setWinner();
+        }
+
+        long[] clockMillis = new long[readVarintInt(in)];
+        for (int i = 0; i < clockMillis.length; i++) {
+            clockMillis[i] = readVarint(in);
+        }
+        int computerSeat = readVarintInt(in) - 1;
+
+        int recordFlags = in.get();
+        Long seed = (recordFlags & SEED) != 0 ? in.getLong() : null;
+        int firstPlayer = in.get();
+        int[] placements = new int[players.length * 2];
+        for (int i = 0; i < placements.length; i++) {
+            placements[i] = readVarintInt(in);
+        }
+        int mode = in.get();
+        ClockMode clockMode = mode == 0 ? null : CLOCK_MODES[mode - 1];
+        long initialMillis = clockMode == null ? 0 : readVarint(in);
+        long incrementMillis = clockMode == null ? 0 : readVarint(in);
+        long[] history = new long[readVarintInt(in)];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = readVarint(in);
+        }
+        int[] actions = new int[readVarintInt(in)];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = readVarintInt(in);
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes after snapshot");
+        }
+
+        GameRecord record = new GameRecord(rows, cols, holes, gods, (recordFlags & NAMES_KEPT) != 0 ? names : null,
+                seed, shop, firstPlayer, placements, actions, clockMode, initialMillis, incrementMillis, history,
+                GameRecord.End.UNFINISHED);
+        return new SavedGame(state, clockMillis, computerSeat, new GameRecorder(record));
+    }
+
+    private static int slotOf(Player[] players, Worker worker) {
+        for (int seat = 0; seat < players.length; seat++) {
+            if (players[seat] == worker.getOwner()) return seat * 2 + worker.getId();
+        }
+        throw new IllegalArgumentException("Worker owner " + worker.getOwner().getName() + " is not in this game");
+    }
+
+    private static int cellIndex(Board board, Cell cell) {
+        return cell == null ? -1 : board.indexOf(cell);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readVarintInt(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package records;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only region of a file mapped into memory in segments, so regions beyond the 2 GB limit of a single
+ * mapping can be read by long position. Every segment maps a little past its end, so any read of at most
+ * the overlap that starts in a segment lies entirely inside it; longer reads that cross a segment end are
+ * copied instead. Safe to read from several threads.
+ */
+final class MappedSegments {
+    /** Default segment size: 1 GB. */
+    static final int SEGMENT_SIZE = 1 << 30;
+    /** Default overlap between segments: far longer than any index entry or typical game. */
+    static final int OVERLAP = 1 << 16;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private final int segmentSize;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Maps a region of a file.
+     * @param channel the open file
+     * @param start the first position of the region
+     * @param end the position just past the region
+     * @param segmentSize the size of each segment
+     * @param overlap how far each segment extends into the next one
+     * @throws IOException if the file cannot be mapped.
+     */
+    MappedSegments(FileChannel channel, long start, long end, int segmentSize, int overlap) throws IOException {
+        if (segmentSize <= 0 || overlap < 0 || (long) segmentSize + overlap > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad segment size " + segmentSize + " or overlap " + overlap);
+        }
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.segmentSize = segmentSize;
+        this.segments = new MappedByteBuffer[Math.toIntExact((end - start + segmentSize - 1) / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long from = start + (long) i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(segmentSize + overlap, end - from));
+        }
+    }
+
+    /**
+     * Retrieves bytes of the region, without copying them if they lie in one segment.
+     * @param position the file position of the first byte
+     * @param length the number of bytes
+     * @return a read-only buffer holding exactly the bytes, positioned at the first one.
+     * @throws IOException if the bytes have to be copied and cannot be read.
+     */
+    ByteBuffer slice(long position, int length) throws IOException {
+        checkRange(position, length);
+        MappedByteBuffer segment = segments[segmentOf(position)];
+        int offset = offsetOf(position);
+        if (offset + length <= segment.limit()) {
+            return segment.slice(offset, length);
+        }
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        while (copy.hasRemaining()) {
+            if (channel.read(copy, position + copy.position()) < 0) {
+                throw new EOFException("Archive is truncated");
+            }
+        }
+        return copy.flip().asReadOnlyBuffer();
+    }
+
+    long getLong(long position) {
+        checkRange(position, Long.BYTES);
+        return segments[segmentOf(position)].getLong(offsetOf(position));
+    }
+
+    int getInt(long position) {
+        checkRange(position, Integer.BYTES);
+        return segments[segmentOf(position)].getInt(offsetOf(position));
+    }
+
+    byte get(long position) {
+        checkRange(position, 1);
+        return segments[segmentOf(position)].get(offsetOf(position));
+    }
+
+    private int segmentOf(long position) {
+        return (int) ((position - start) / segmentSize);
+    }
+
+    private int offsetOf(long position) {
+        return (int) ((position - start) % segmentSize);
+    }
+
+    private void checkRange(long position, int length) {
+        if (position < start || length < 0 || position + length > end) {
+            throw new IndexOutOfBoundsException("Position " + position + " length " + length
+                    + " outside " + start + ".." + end);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package records;
+
+import engine.GameState;
+
+/**
+ * A game loaded from a {@link GameJournal}: the state to continue from, the clocks,
+ * which seat the computer played, and the record of the game so far.
+ */
+public class SavedGame {
+    private final GameState state;
+    private final long[] clockMillis;
+    private final int computerSeat;
+    private final GameRecorder recorder;
+
+    SavedGame(GameState state, long[] clockMillis, int computerSeat, GameRecorder recorder) {
+        this.state = state;
+        this.clockMillis = clockMillis;
+        this.computerSeat = computerSeat;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Retrieves the game as it was saved, with its own turn flags and shop.
+     * @return the state.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the number of saved clocks.
+     * @return the number of clocks, 0 for untimed games.
+     */
+    public int getClockCount() {
+        return clockMillis.length;
+    }
+
+    /**
+     * Retrieves the remaining time of a seat's clock.
+     * @param seat the seat
+     * @return the remaining milliseconds.
+     */
+    public long getClockMillis(int seat) {
+        return clockMillis[seat];
+    }
+
+    /**
+     * Retrieves the seat played by the computer.
+     * @return the seat, or -1 if both seats were played by people.
+     */
+    public int getComputerSeat() {
+        return computerSeat;
+    }
+
+    /**
+     * Retrieves the recorder of the game, to continue recording with.
+     * @return the recorder, holding every action since the first one.
+     */
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+}
@@ -0,0 +1,134 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * One client socket of a {@link GameServer}.
+ * Incoming bytes are only touched by the selector thread. Outgoing frames are appended by the thread of the
+ * client's game and written by {@link #flush()} once per batch of game events; a socket that cannot take
+ * everything at once is finished by the selector thread when it becomes writable.
+ * Frames for this client alone are copied into one buffer. Frames shared by many clients, like spectator
+ * deltas, are queued as read-only views and written with one gathering write, so they are never copied.
+ */
+final class Connection {
+    private static final int MAX_BACKLOG = 1 << 20;  // Unsent bytes before a client is considered stuck
+    private static final int OUT_SIZE = 256;
+    private static final ByteBuffer[] NO_BUFFERS = new ByteBuffer[0];
+
+    final SocketChannel channel;
+    final ByteBuffer in = ByteBuffer.allocate(4096);  // Read mode between reads; selector thread only
+    private final GameServer server;
+    private final SelectionKey key;
+    private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();  // Read mode, written first; guarded by this
+    private ByteBuffer out = ByteBuffer.allocate(OUT_SIZE);          // Write mode, after the queue; guarded by this
+    private long queuedBytes = 0;
+    private boolean closed = false;
+    byte preferredGod = -1;                            // From the last join; selector thread only
+
+    // The game this client is playing and its seat; changed by the game's thread, read by the selector thread
+    volatile ServerGame game;
+    volatile int seat;
+
+    Connection(GameServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        in.flip();
+    }
+
+    /**
+     * Queues a frame; it is written on the next flush.
+     * @param frame the frame, from its position to its limit; its position is not changed
+     */
+    synchronized void send(ByteBuffer frame) {
+        if (closed) return;
+        if (out.remaining() < frame.remaining()) {
+            if (queuedBytes + out.position() + frame.remaining() > MAX_BACKLOG) {
+                closeQuietly();
+                return;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + frame.remaining()));
+            larger.put(out.flip());
+            out = larger;
+        }
+        out.put(frame.duplicate());
+    }
+
+    /**
+     * Queues a frame that other clients are sent as well; it is written on the next flush without being copied.
+     * @param frame the frame, from its position to its limit; its bytes must not change afterwards
+     */
+    synchronized void sendShared(ByteBuffer frame) {
+        if (closed) return;
+        queueOut();
+        if (queuedBytes + frame.remaining() > MAX_BACKLOG) {
+            closeQuietly();
+            return;
+        }
+        queue.add(frame.asReadOnlyBuffer());
+        queuedBytes += frame.remaining();
+    }
+
+    /**
+     * Writes as much of the queued frames as the socket takes without blocking.
+     * Whatever is left is written by the selector thread once the socket is writable.
+     */
+    synchronized void flush() {
+        if (closed) return;
+        try {
+            if (queue.isEmpty()) {
+                if (out.position() == 0) return;
+                out.flip();
+                channel.write(out);
+                out.compact();
+            } else {
+                queueOut();
+                queuedBytes -= channel.write(queue.toArray(NO_BUFFERS));
+                while (!queue.isEmpty() && !queue.peek().hasRemaining()) {
+                    queue.poll();
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            return;
+        }
+        if (out.position() > 0 || !queue.isEmpty()) {
+            server.requestWrite(key);
+        } else if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+            key.interestOpsAnd(~SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Moves the copied frames behind the shared ones already queued, so everything is written in order.
+     */
+    private void queueOut() {
+        if (out.position() == 0) return;
+        queue.add(out.flip());
+        queuedBytes += out.remaining();
+        out = ByteBuffer.allocate(OUT_SIZE);
+    }
+
+    /**
+     * Closes the socket and tells the server, once.
+     */
+    synchronized void closeQuietly() {
+        if (closed) return;
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with a socket that cannot be closed
+        }
+        server.onClosed(this);
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+}
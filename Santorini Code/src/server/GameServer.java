@@ -0,0 +1,406 @@
+package server;
+
+import GameMode.gameutils.ClockMode;
+import GodCard.GodRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts many concurrent two-player games over TCP (see {@link Protocol}), without any window.
+ * One selector thread accepts clients, reads their frames and pairs waiting players; every game is a
+ * {@link ServerGame} whose events run one at a time on a small shared pool of worker threads (or, with
+ * --threads 0, on the selector thread itself), and all game clocks tick on the shared
+ * {@link GameMode.gameutils.GameTimer} scheduler. So the thread count stays fixed however many games are running.
+ *
+ * <pre>
+ * java server.GameServer [--port P] [--clock MS] [--mode sudden|fischer|bronstein] [--increment MS]
+ *                        [--shop on|off] [--threads T]
+ * </pre>
+ */
+public class GameServer implements Closeable {
+    private static final long STATS_INTERVAL_MILLIS = 5000;
+    private static final System.Logger LOG = System.getLogger(GameServer.class.getName());
+
+    private final int requestedPort;
+    private final long initialMillis;
+    private final ClockMode mode;
+    private final long incrementMillis;
+    private final boolean shop;
+    private final ExecutorService workers;  // Null when the games run on the selector thread
+    private final Executor gameExecutor;
+    private final Map<Integer, ServerGame> games = new ConcurrentHashMap<>();
+    private final ArrayDeque<Connection> waiting = new ArrayDeque<>();  // Selector thread only
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder actionsApplied = new LongAdder();
+    private final LongAdder gameErrors = new LongAdder();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private int nextId = 1;                                              // Selector thread only
+    private volatile boolean running = false;
+
+    /**
+     * Creates a server; nothing is bound until {@link #start()}.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param initialMillis The starting time of each clock.
+     * @param mode The clock mode.
+     * @param incrementMillis The Fischer increment or Bronstein delay.
+     * @param shop true to play every game with the artifact shop.
+     * @param threads The number of threads the games run on, or 0 to run them on the network thread,
+     *                which is quickest when the server has a single core.
+     */
+    public GameServer(int port, long initialMillis, ClockMode mode, long incrementMillis, boolean shop, int threads) {
+        this.requestedPort = port;
+        this.initialMillis = initialMillis;
+        this.mode = mode;
+        this.incrementMillis = incrementMillis;
+        this.shop = shop;
+        this.workers = threads <= 0 ? null : Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.gameExecutor = workers != null ? workers : Runnable::run;
+    }
+
+    /**
+     * Binds the port and starts accepting clients.
+     * @throws IOException if the port cannot be bound.
+     */
+    public synchronized void start() throws IOException {
+        if (running) return;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(requestedPort), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        ioThread = new Thread(this::runSelector, "game-server-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     * @return the bound port, or -1 if the server is not started.
+     */
+    public int getPort() {
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Retrieves the number of games being played.
+     * @return the number of running games
+     */
+    public int getActiveGames() {
+        return games.size();
+    }
+
+    /**
+     * Retrieves the number of games finished since the server started.
+     * @return the number of finished games
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /**
+     * Retrieves the number of actions applied in all games since the server started.
+     * @return the number of applied actions
+     */
+    public long getActionsApplied() {
+        return actionsApplied.sum();
+    }
+
+    /**
+     * Retrieves the number of errors thrown by game events since the server started.
+     * @return the number of errors
+     */
+    public long getGameErrors() {
+        return gameErrors.sum();
+    }
+
+    /**
+     * Stops accepting clients, closes every connection and stops the game threads.
+     * @throws IOException if the listening socket cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) return;
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) {
+                connection.closeQuietly();
+            }
+        }
+        selector.close();
+        serverChannel.close();
+        if (workers != null) workers.shutdown();
+    }
+
+    private void runSelector() {
+        try {
+            while (running) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flush();
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("Game server stopped: " + e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(this, channel, key));
+        }
+    }
+
+    private void read(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.compact();
+        int read;
+        try {
+            read = connection.channel.read(in);
+        } catch (IOException e) {
+            read = -1;
+        }
+        in.flip();
+        if (read < 0) {
+            connection.closeQuietly();
+            return;
+        }
+        int size;
+        while ((size = Protocol.frameSize(in)) > 0) {
+            int end = in.position() + size;
+            in.getShort();
+            if (size < Protocol.HEADER_SIZE) {
+                connection.closeQuietly();
+                return;
+            }
+            byte type = in.get();
+            if (!handle(connection, type, in.slice(in.position(), end - in.position()))) {
+                connection.closeQuietly();
+                return;
+            }
+            in.position(end);
+        }
+        if (in.remaining() == in.capacity()) {
+            connection.closeQuietly();  // A frame larger than any message of the protocol
+        }
+    }
+
+    /**
+     * Handles one frame from a client.
+     * @return false if the frame is not valid and the client should be dropped.
+     */
+    private boolean handle(Connection connection, byte type, ByteBuffer payload) {
+        ServerGame game = connection.game;
+        switch (type) {
+            case Protocol.JOIN -> {
+                if (payload.remaining() != 1) return false;
+                if (game == null && !waiting.contains(connection)) {
+                    connection.preferredGod = payload.get();
+                    waiting.add(connection);
+                    pair();
+                }
+            }
+            case Protocol.ACTION -> {
+                if (payload.remaining() != Integer.BYTES) return false;
+                int code = payload.getInt();
+                if (game != null) {
+                    int seat = connection.seat;
+                    game.submit(() -> game.onAction(seat, code));
+                } else {
+                    ServerGame.reject(connection, Protocol.NO_GAME, code);
+                    connection.flush();
+                }
+            }
+            case Protocol.WATCH -> {
+                if (payload.remaining() != Integer.BYTES) return false;
+                int id = payload.getInt();
+                ServerGame watched = id >= 0 ? games.get(id) : games.values().stream().findAny().orElse(null);
+                if (watched != null) {
+                    watched.submit(() -> watched.addSpectator(connection));
+                } else {
+                    ServerGame.reject(connection, Protocol.NO_GAME, id);
+                    connection.flush();
+                }
+            }
+            case Protocol.RESIGN -> {
+                if (payload.hasRemaining()) return false;
+                if (game != null) {
+                    int seat = connection.seat;
+                    game.submit(() -> game.onLeave(seat, Protocol.BY_RESIGNATION));
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts games for the waiting clients, two at a time, skipping clients that have gone.
+     */
+    private void pair() {
+        waiting.removeIf(Connection::isClosed);
+        while (waiting.size() >= 2) {
+            Connection[] seats = {waiting.poll(), waiting.poll()};
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<String> names = GodRegistry.names();
+            String[] gods = new String[seats.length];
+            for (int seat = 0; seat < seats.length; seat++) {
+                int preferred = seats[seat].preferredGod;
+                gods[seat] = preferred >= 0 && preferred < names.size() ? names.get(preferred)
+                        : names.get(random.nextInt(names.size()));
+            }
+            while (gods[1].equals(gods[0])) {
+                gods[1] = names.get(random.nextInt(names.size()));
+            }
+            ServerGame game = new ServerGame(nextId++, this, seats, gods, shop, mode, initialMillis, incrementMillis,
+                    gameExecutor, random);
+            games.put(game.getId(), game);
+            game.submit(game::start);
+        }
+    }
+
+    /**
+     * Makes the selector thread finish writing to a client once its socket is writable.
+     * @param key the client's key
+     */
+    void requestWrite(SelectionKey key) {
+        try {
+            key.interestOpsOr(SelectionKey.OP_WRITE);
+            selector.wakeup();
+        } catch (CancelledKeyException e) {
+            // The client has gone; its game finds out through onClosed
+        }
+    }
+
+    /**
+     * Ends the game of a client whose connection was lost.
+     * @param connection the closed connection
+     */
+    void onClosed(Connection connection) {
+        ServerGame game = connection.game;
+        if (game != null) {
+            int seat = connection.seat;
+            game.submit(() -> game.onLeave(seat, Protocol.BY_DISCONNECT));
+        }
+    }
+
+    /**
+     * Forgets a finished game.
+     * @param game the game
+     */
+    void onGameOver(ServerGame game) {
+        games.remove(game.getId());
+        gamesPlayed.increment();
+    }
+
+    /**
+     * Counts and logs an error thrown by one of a game's events.
+     * @param game the game
+     * @param e what the event threw
+     */
+    void onGameError(ServerGame game, RuntimeException e) {
+        gameErrors.increment();
+        LOG.log(System.Logger.Level.ERROR, "Game " + game.getId() + " stopped by an error", e);
+    }
+
+    /**
+     * Counts an applied action.
+     */
+    void countAction() {
+        actionsApplied.increment();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 7777;
+        long clock = 300_000;
+        ClockMode mode = ClockMode.FISCHER;
+        long increment = 2_000;
+        boolean shop = false;
+        int threads = Runtime.getRuntime().availableProcessors() - 1;  // One core is left for the network thread
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(value);
+                case "--clock" -> clock = Long.parseLong(value);
+                case "--mode" -> mode = switch (value) {
+                    case "sudden" -> ClockMode.SUDDEN_DEATH;
+                    case "bronstein" -> ClockMode.BRONSTEIN;
+                    default -> ClockMode.FISCHER;
+                };
+                case "--increment" -> increment = Long.parseLong(value);
+                case "--shop" -> shop = value.equals("on");
+                case "--threads" -> threads = Integer.parseInt(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: GameServer [--port P] [--clock MS] [--mode sudden|fischer|bronstein]"
+                            + " [--increment MS] [--shop on|off] [--threads T]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+
+        GameServer server = new GameServer(port, clock, mode, increment, shop, threads);
+        server.start();
+        System.out.println("# listening on port " + server.getPort() + " with "
+                + (threads > 0 ? threads + " game threads" : "games on the network thread"));
+        while (true) {
+            Thread.sleep(STATS_INTERVAL_MILLIS);
+            System.out.printf("# %d games running, %d finished, %d actions, %d errors%n", server.getActiveGames(),
+                    server.getGamesPlayed(), server.getActionsApplied(), server.getGameErrors());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package server;
+
+/**
+ * Counts latencies in buckets at most 1/16 of their value wide, so millions of samples take a few kilobytes and
+ * percentiles can be read at the end. Values below 32 microseconds are exact. Not thread safe: each thread
+ * records into its own histogram and they are added together for the report.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * Counts one latency.
+     * @param nanos the latency in nanoseconds
+     */
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[bucketOf(micros)]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Adds the samples of another histogram to this one.
+     * @param other the histogram to add
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Retrieves the latency below which a fraction of the samples fall.
+     * @param fraction the fraction, e.g. 0.99
+     * @return the upper edge of the bucket holding that sample, in milliseconds, or 0 without samples.
+     */
+    double percentileMillis(double fraction) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperMicros(i) / 1e3, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        int sub = (int) (micros >>> magnitude) - SUB_BUCKETS / 2;
+        return SUB_BUCKETS + (magnitude - 1) * (SUB_BUCKETS / 2) + sub;
+    }
+
+    private static long upperMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket + 1;
+        int magnitude = (bucket - SUB_BUCKETS) / (SUB_BUCKETS / 2) + 1;
+        long sub = (bucket - SUB_BUCKETS) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2;
+        return (sub + 1) << magnitude;
+    }
+}
@@ -0,0 +1,577 @@
+package server;
+
+import GameMode.gameutils.ClockMode;
+import GodCard.GodRegistry;
+import ai.ComputerPlayer;
+import ai.RandomPlayer;
+import engine.Action;
+import engine.ActionType;
+import engine.GameState;
+import engine.Rules;
+import records.GameRecord;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulated players for load testing a {@link GameServer}.
+ * Every simulated player is one socket that joins a game, keeps its own copy of the game with the engine and
+ * answers each of its turns with an action from a computer player, then joins another game. Players keep
+ * joining until every one of them has played its share, so nobody is left waiting for an opponent that has
+ * already gone home. Connections are opened evenly over the ramp-up time and shared out over a few threads,
+ * each with its own selector. The time from sending an action to receiving it back applied is counted per
+ * action type, and the report gives throughput and latency percentiles.
+ * With --max-p99 the run fails (exit code 1) when the overall p99 is above the limit, for regression runs.
+ *
+ * <pre>
+ * java server.LoadGenerator [--host H] [--port P] [--clients N] [--games G] [--ramp MS]
+ *                           [--agent random|powers] [--think MS] [--threads T] [--seed S] [--max-p99 MS]
+ * </pre>
+ */
+public class LoadGenerator {
+    private static final ActionType[] TYPES = ActionType.values();
+    private static final long MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000;
+    private static final int MAX_GAME_ACTIONS = 2000;  // A player resigns a game this long, as random play can loop
+
+    private final InetSocketAddress address;
+    private final int clients;
+    private final int gamesPerClient;
+    private final long rampNanos;
+    private final String agent;
+    private final long thinkNanos;
+    private final int threads;
+    private final long seed;
+    private final AtomicInteger finishedClients = new AtomicInteger();
+
+    /**
+     * Creates a load run; nothing connects until {@link #run()}.
+     *
+     * @param address The server.
+     * @param clients The number of simulated players.
+     * @param gamesPerClient The number of games each player plays before disconnecting.
+     * @param rampMillis The time over which the connections are opened.
+     * @param agent The computer player: random, or powers to prefer god powers and the shop.
+     * @param thinkMillis The pause before each action, to model people rather than a flood.
+     * @param threads The number of client threads.
+     * @param seed The seed of the computer players.
+     */
+    public LoadGenerator(InetSocketAddress address, int clients, int gamesPerClient, long rampMillis, String agent,
+                         long thinkMillis, int threads, long seed) {
+        if (!agent.equals("random") && !agent.equals("powers")) {
+            throw new IllegalArgumentException("Unknown agent " + agent);
+        }
+        this.address = address;
+        this.clients = clients;
+        this.gamesPerClient = gamesPerClient;
+        this.rampNanos = TimeUnit.MILLISECONDS.toNanos(rampMillis);
+        this.agent = agent;
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        this.threads = Math.max(1, Math.min(threads, clients));
+        this.seed = seed;
+    }
+
+    /**
+     * Plays every game and waits for all of them.
+     * @return the results of all client threads added together.
+     * @throws IOException if a selector cannot be opened.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Results run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ClientThread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new ClientThread(t, start, random.split()));
+        }
+        for (ClientThread worker : workers) {
+            worker.thread.start();
+        }
+        for (ClientThread worker : workers) {
+            worker.thread.join();
+        }
+        Results total = new Results(System.nanoTime() - start);
+        for (ClientThread worker : workers) {
+            total.add(worker.results);
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves how many simulated players have played their share of games or been dropped.
+     * @return the number of finished players
+     */
+    public int getFinishedClients() {
+        return finishedClients.get();
+    }
+
+    /**
+     * The counts of a load run.
+     */
+    public static final class Results {
+        private final LatencyHistogram[] byType = new LatencyHistogram[TYPES.length];
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final long elapsedNanos;
+        private long games = 0;
+        private long rejected = 0;
+        private long dropped = 0;
+        private long timeouts = 0;
+
+        private Results(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            for (int i = 0; i < byType.length; i++) {
+                byType[i] = new LatencyHistogram();
+            }
+        }
+
+        private void record(ActionType type, long nanos) {
+            byType[type.ordinal()].record(nanos);
+            all.record(nanos);
+        }
+
+        private void add(Results other) {
+            for (int i = 0; i < byType.length; i++) {
+                byType[i].add(other.byType[i]);
+            }
+            all.add(other.all);
+            games += other.games;
+            rejected += other.rejected;
+            dropped += other.dropped;
+            timeouts += other.timeouts;
+        }
+
+        /**
+         * Retrieves the number of finished games, counted once per player.
+         * @return the number of games seen to the end
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Retrieves the number of actions the server rejected as out of turn or illegal; a correct server rejects none.
+         * @return the number of rejected actions
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Retrieves the number of players whose connection failed or was closed by the server.
+         * @return the number of dropped players
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * Retrieves the overall latency percentile.
+         * @param fraction the fraction, e.g. 0.99
+         * @return the latency in milliseconds
+         */
+        public double percentileMillis(double fraction) {
+            return all.percentileMillis(fraction);
+        }
+
+        /**
+         * Prints one line per action type and a total line.
+         */
+        public void print() {
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("%-12s %10s %10s %8s %8s %8s %8s %8s %8s%n", "type", "count", "per sec",
+                    "mean", "p50", "p90", "p99", "p99.9", "max");
+            for (ActionType type : TYPES) {
+                printLine(type.name(), byType[type.ordinal()], seconds);
+            }
+            printLine("ALL", all, seconds);
+            System.out.printf("# %d games, %d rejected, %d dropped, %d lost on time in %.1f s%n",
+                    games, rejected, dropped, timeouts, seconds);
+        }
+
+        private static void printLine(String name, LatencyHistogram histogram, double seconds) {
+            if (histogram.getCount() == 0) return;
+            System.out.printf("%-12s %10d %10.0f %8.3f %8.3f %8.3f %8.3f %8.3f %8.3f%n", name,
+                    histogram.getCount(), histogram.getCount() / seconds, histogram.getMeanMillis(),
+                    histogram.percentileMillis(0.50), histogram.percentileMillis(0.90),
+                    histogram.percentileMillis(0.99), histogram.percentileMillis(0.999), histogram.getMaxMillis());
+        }
+    }
+
+    /**
+     * One thread driving a share of the simulated players with its own selector.
+     */
+    private final class ClientThread {
+        private final Thread thread;
+        private final Results results = new Results(0);
+        private final List<Client> pendingConnects = new ArrayList<>();
+        private final ArrayDeque<Client> thinking = new ArrayDeque<>();
+        private int remaining;
+
+        ClientThread(int index, long start, SplittableRandom random) {
+            for (int i = index; i < clients; i += threads) {
+                pendingConnects.add(new Client(start + rampNanos * i / Math.max(1, clients), random.nextLong()));
+            }
+            this.remaining = pendingConnects.size();
+            this.thread = new Thread(this::runLoop, "load-client-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void runLoop() {
+            try (Selector selector = Selector.open()) {
+                int nextConnect = 0;
+                boolean closingIdle = false;
+                while (remaining > 0) {
+                    if (!closingIdle && finishedClients.get() >= clients) {
+                        // Everyone has played enough; players waiting for an opponent will not get one
+                        closingIdle = true;
+                        for (Client client : pendingConnects) {
+                            if (client.state == null) client.close(false);
+                        }
+                    }
+                    long now = System.nanoTime();
+                    while (nextConnect < pendingConnects.size() && pendingConnects.get(nextConnect).connectAt <= now) {
+                        pendingConnects.get(nextConnect++).connect(selector);
+                    }
+                    // Every player thinks equally long, so the queue is in the order they are due
+                    while (!thinking.isEmpty() && thinking.peek().actAt <= now) {
+                        thinking.poll().act();
+                    }
+
+                    long wait = MAX_WAIT_NANOS;
+                    if (nextConnect < pendingConnects.size()) {
+                        wait = Math.min(wait, pendingConnects.get(nextConnect).connectAt - now);
+                    }
+                    if (!thinking.isEmpty()) {
+                        wait = Math.min(wait, thinking.peek().actAt - now);
+                    }
+                    if (wait > 0) {
+                        selector.select(TimeUnit.NANOSECONDS.toMillis(wait + 999_999));  // Rounded up, not spinning
+                    } else {
+                        selector.selectNow();
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Client client = (Client) key.attachment();
+                        if (!key.isValid()) continue;
+                        if (key.isConnectable()) client.finishConnect();
+                        if (key.isValid() && key.isReadable()) client.read();
+                        if (key.isValid() && key.isWritable()) client.flush();
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                System.err.println("Load client stopped: " + e);
+            }
+        }
+
+        /**
+         * One simulated player.
+         */
+        private final class Client {
+            private final long connectAt;
+            private final ComputerPlayer player;
+            private final ByteBuffer in = ByteBuffer.allocate(4096);
+            private final ByteBuffer out = ByteBuffer.allocate(4096);
+            private SocketChannel channel;
+            private SelectionKey key;
+            private GameState state;
+            private int seat;
+            private int gamesLeft = gamesPerClient;
+            private int actionsInGame;
+            private long actAt;
+            private int sentCode = -1;
+            private ActionType sentType;
+            private long sentAt;
+            private boolean queued = false;  // In the thinking queue
+            private boolean done = false;
+
+            Client(long connectAt, long agentSeed) {
+                this.connectAt = connectAt;
+                this.player = agent.equals("random") ? new RandomPlayer(agentSeed) : new PowersPlayer(agentSeed);
+                in.flip();
+            }
+
+            void connect(Selector selector) {
+                try {
+                    channel = SocketChannel.open();
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    boolean connected = channel.connect(address);
+                    key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+                    if (connected) join();
+                } catch (IOException e) {
+                    drop();
+                }
+            }
+
+            void finishConnect() {
+                try {
+                    channel.finishConnect();
+                    key.interestOps(SelectionKey.OP_READ);
+                    join();
+                } catch (IOException e) {
+                    drop();
+                }
+            }
+
+            private void join() {
+                out.putShort((short) 2).put(Protocol.JOIN).put((byte) -1);
+                flush();
+            }
+
+            void read() {
+                in.compact();
+                int read;
+                try {
+                    read = channel.read(in);
+                } catch (IOException e) {
+                    read = -1;
+                }
+                in.flip();
+                if (read < 0) {
+                    drop();
+                    return;
+                }
+                int size;
+                while (key.isValid() && (size = Protocol.frameSize(in)) > 0) {
+                    int end = in.position() + size;
+                    in.getShort();
+                    handle(in.get(), in);
+                    in.position(end);
+                }
+            }
+
+            private void handle(byte type, ByteBuffer payload) {
+                switch (type) {
+                    case Protocol.START -> start(payload);
+                    case Protocol.APPLIED -> applied(payload.get(), payload.getInt());
+                    case Protocol.REJECTED -> {
+                        // NO_GAME is fair when an action crosses the end of the game in flight; GAME_OVER follows
+                        if (payload.get() != Protocol.NO_GAME) {
+                            results.rejected++;
+                            resign();
+                        }
+                    }
+                    case Protocol.GAME_OVER -> {
+                        payload.get();
+                        if (payload.get() == Protocol.BY_TIMEOUT) results.timeouts++;
+                        results.games++;
+                        state = null;
+                        sentCode = -1;
+                        if (--gamesLeft == 0) {
+                            finishedClients.incrementAndGet();
+                        }
+                        if (finishedClients.get() < clients) {
+                            join();
+                        } else {
+                            close(false);
+                        }
+                    }
+                    default -> drop();
+                }
+            }
+
+            private void start(ByteBuffer payload) {
+                payload.getInt();
+                seat = payload.get();
+                int first = payload.get();
+                boolean shop = payload.get() != 0;
+                String[] gods = {GodRegistry.nameAt(payload.get()), GodRegistry.nameAt(payload.get())};
+                int[] placements = new int[4];
+                for (int i = 0; i < placements.length; i++) {
+                    placements[i] = payload.getShort();
+                }
+                long initialMillis = payload.getInt();
+                long incrementMillis = payload.getInt();
+                state = new GameRecord(5, 5, new BitSet(), gods, null, null, shop, first, placements, new int[0],
+                        ClockMode.FISCHER, initialMillis, incrementMillis, new long[0], GameRecord.End.UNFINISHED)
+                        .newInitialState();
+                actionsInGame = 0;
+                scheduleIfMyTurn();
+            }
+
+            private void applied(int mover, int code) {
+                if (state == null) return;
+                if (mover == seat && code == sentCode) {
+                    results.record(sentType, System.nanoTime() - sentAt);
+                    sentCode = -1;
+                }
+                Rules.apply(state, Action.decode(code));
+                if (++actionsInGame == MAX_GAME_ACTIONS) {
+                    state = null;
+                    resign();
+                    return;
+                }
+                scheduleIfMyTurn();
+            }
+
+            private void scheduleIfMyTurn() {
+                if (queued || !isMyTurn()) return;
+                queued = true;
+                actAt = System.nanoTime() + thinkNanos;
+                thinking.add(this);
+            }
+
+            private boolean isMyTurn() {
+                return state != null && !Rules.isTerminal(state) && state.getCurrentPlayerIndex() == seat;
+            }
+
+            void act() {
+                queued = false;
+                if (done || sentCode != -1 || !isMyTurn()) return;
+                Action action = player.chooseAction(state, 0);
+                if (action == null) return;
+                sentCode = action.encode();
+                sentType = action.getType();
+                sentAt = System.nanoTime();
+                out.putShort((short) 5).put(Protocol.ACTION).putInt(sentCode);
+                flush();
+            }
+
+            private void resign() {
+                out.putShort((short) 1).put(Protocol.RESIGN);
+                flush();
+            }
+
+            void flush() {
+                try {
+                    out.flip();
+                    channel.write(out);
+                    out.compact();
+                } catch (IOException e) {
+                    drop();
+                    return;
+                }
+                if (key == null || !key.isValid()) return;
+                key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+
+            private void drop() {
+                if (gamesLeft > 0) {
+                    gamesLeft = 0;
+                    finishedClients.incrementAndGet();  // Its games will never be played; don't wait for them
+                }
+                close(true);
+            }
+
+            void close(boolean dropped) {
+                if (done) return;
+                done = true;
+                if (dropped) results.dropped++;
+                if (key != null) key.cancel();
+                try {
+                    if (channel != null) channel.close();
+                } catch (IOException e) {
+                    // Already done with this player
+                }
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Scripted player that uses a god power or the shop on half of the turns it can, so those paths get load
+     * as well, and otherwise picks a random legal action. Always preferring them can make a game go on forever.
+     */
+    private static final class PowersPlayer implements ComputerPlayer {
+        private final SplittableRandom random;
+        private final List<Action> actions = new ArrayList<>();
+        private final List<Action> special = new ArrayList<>();
+
+        PowersPlayer(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public Action chooseAction(GameState state, long budgetMillis) {
+            actions.clear();
+            special.clear();
+            Rules.legalActions(state, actions);
+            for (Action action : actions) {
+                switch (action.getType()) {
+                    case BUY, USE_ARTIFACT, EXTRA_MOVE, EXTRA_BUILD -> special.add(action);
+                    default -> {
+                    }
+                }
+            }
+            List<Action> choices = special.isEmpty() || random.nextBoolean() ? actions : special;
+            return choices.isEmpty() ? null : choices.get(random.nextInt(choices.size()));
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = 7777;
+        int clients = 2000;
+        int games = 5;
+        long ramp = 2000;
+        String agent = "random";
+        long think = 0;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        long seed = System.nanoTime();
+        double maxP99 = Double.NaN;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--host" -> host = value;
+                case "--port" -> port = Integer.parseInt(value);
+                case "--clients" -> clients = Integer.parseInt(value);
+                case "--games" -> games = Integer.parseInt(value);
+                case "--ramp" -> ramp = Long.parseLong(value);
+                case "--agent" -> agent = value;
+                case "--think" -> think = Long.parseLong(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--max-p99" -> maxP99 = Double.parseDouble(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: LoadGenerator [--host H] [--port P] [--clients N] [--games G]"
+                            + " [--ramp MS] [--agent random|powers] [--think MS] [--threads T] [--seed S]"
+                            + " [--max-p99 MS]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+
+        System.out.println("# " + clients + " clients x " + games + " games against " + host + ":" + port
+                + " agent=" + agent + " think=" + think + "ms threads=" + threads + " seed=" + seed);
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress(host, port), clients, games, ramp, agent,
+                think, threads, seed);
+        int total = clients;
+        Thread progress = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                    System.out.println("# " + generator.getFinishedClients() + "/" + total + " clients done");
+                }
+            } catch (InterruptedException e) {
+                // The run is over
+            }
+        }, "load-progress");
+        progress.setDaemon(true);
+        progress.start();
+        Results results = generator.run();
+        progress.interrupt();
+        results.print();
+        if (results.getDropped() > 0 || results.getRejected() > 0) {
+            System.exit(1);
+        }
+        if (!Double.isNaN(maxP99) && results.percentileMillis(0.99) > maxP99) {
+            System.out.printf("# p99 %.3f ms is above the limit of %.3f ms%n", results.percentileMillis(0.99), maxP99);
+            System.exit(1);
+        }
+    }
+}
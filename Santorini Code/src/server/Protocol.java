@@ -0,0 +1,108 @@
+package server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary protocol between {@link GameServer} and its clients.
+ * Every message is a frame: an unsigned 16-bit length of the rest, a type byte and the payload.
+ * Numbers are big-endian. Players keep their own copy of the game with the engine: the start message carries the
+ * whole setup and every applied action is sent to both players, so each message is a few bytes.
+ * Spectators do not run the engine: they get the whole position once and then only what changed, one delta per
+ * batch of game events, encoded once and written to every spectator of the game.
+ *
+ * <pre>
+ * client to server
+ *   JOIN       byte preferred god index, or -1 for any
+ *   ACTION     int action code (see engine.Action#encode)
+ *   RESIGN
+ *   WATCH      int game id, or -1 for any running game
+ * server to client
+ *   START      int game id, byte your seat, byte first seat, byte shop enabled, byte god index per seat,
+ *              short starting cell per worker (seat 0 worker 0, seat 0 worker 1, ...),
+ *              int initial clock millis, int increment millis
+ *   APPLIED    byte seat, int action code, int remaining clock millis of that seat
+ *   REJECTED   byte reason, int action code
+ *   GAME_OVER  byte winning seat (-1 for none), byte reason
+ *   SNAPSHOT   int game id, byte rows, byte cols, byte god index per seat, byte cell per row-major index,
+ *              byte seat to move, int remaining clock millis per seat, short tokens per seat
+ *   DELTA      byte parts, then for each part present in order:
+ *              cells   short count, then short row-major index and byte cell per changed cell
+ *              turn    byte seat to move
+ *              clocks  int remaining clock millis per seat, sent when the turn passes; the clock of the
+ *                      seat to move runs down in between
+ *              tokens  short tokens per seat
+ * cell   bits 0-2 level, 3 dome, 4 flooded, 5-7 occupant (seat * 2 + worker id + 1, 0 for none)
+ * </pre>
+ */
+public final class Protocol {
+    /** Bytes before the payload: length and type. */
+    public static final int HEADER_SIZE = 3;
+    /** The longest payload a frame may carry. */
+    public static final int MAX_PAYLOAD = 0xFFFF - 1;
+
+    // Client to server
+    public static final byte JOIN = 1;
+    public static final byte ACTION = 2;
+    public static final byte RESIGN = 3;
+    public static final byte WATCH = 4;
+
+    // Server to client
+    public static final byte START = 16;
+    public static final byte APPLIED = 17;
+    public static final byte REJECTED = 18;
+    public static final byte GAME_OVER = 19;
+    public static final byte SNAPSHOT = 20;
+    public static final byte DELTA = 21;
+
+    // Parts of a delta
+    public static final int DELTA_CELLS = 1;
+    public static final int DELTA_TURN = 1 << 1;
+    public static final int DELTA_CLOCKS = 1 << 2;
+    public static final int DELTA_TOKENS = 1 << 3;
+
+    // Bits of a cell byte
+    public static final int CELL_LEVEL_MASK = 0x7;
+    public static final int CELL_DOME = 1 << 3;
+    public static final int CELL_FLOODED = 1 << 4;
+    public static final int CELL_OCCUPANT_SHIFT = 5;
+
+    // Reasons an action is rejected
+    public static final byte NOT_YOUR_TURN = 1;
+    public static final byte ILLEGAL = 2;
+    public static final byte NO_GAME = 3;
+
+    // Reasons a game ends
+    public static final byte BY_RULES = 1;
+    public static final byte BY_TIMEOUT = 2;
+    public static final byte BY_RESIGNATION = 3;
+    public static final byte BY_DISCONNECT = 4;
+    public static final byte BY_ERROR = 5;  // The server failed; nobody wins
+
+    public static final int START_SIZE = 4 + 1 + 1 + 1 + 2 + 4 * 2 + 4 + 4;
+    public static final int APPLIED_SIZE = 1 + 4 + 4;
+
+    private Protocol() {
+    }
+
+    /**
+     * Writes a frame header.
+     * @param out the buffer to write to
+     * @param type the message type
+     * @param payloadSize the number of payload bytes that will follow
+     */
+    public static void putHeader(ByteBuffer out, byte type, int payloadSize) {
+        out.putShort((short) (payloadSize + 1));
+        out.put(type);
+    }
+
+    /**
+     * Retrieves the size of the next complete frame in a buffer.
+     * @param in the buffer in read mode, positioned at a frame
+     * @return the size of the frame including its length, or -1 if it has not fully arrived.
+     */
+    public static int frameSize(ByteBuffer in) {
+        if (in.remaining() < 2) return -1;
+        int size = 2 + (in.getShort(in.position()) & 0xFFFF);
+        return in.remaining() >= size ? size : -1;
+    }
+}
@@ -0,0 +1,309 @@
+package server;
+
+import GameMode.gameutils.ClockMode;
+import GameMode.gameutils.GameTimer;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import Board.Board;
+import Board.Cell;
+import engine.Action;
+import engine.GameActor;
+import engine.GameState;
+import engine.Rules;
+import listeners.TimerListener;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+/**
+ * One game hosted by a {@link GameServer}: the headless equivalent of {@link GameMode.TwoPlayerConfig}.
+ * Everything that changes the game (actions, resignations, disconnects, clock expiries) is submitted to
+ * the game's own {@link GameActor}, so the state needs no locks while thousands of games share a few threads.
+ * Frames for the players are queued during a batch of events and written once after it. Spectators get one
+ * delta per batch, encoded once by the game's {@link SpectatorFeed} and shared by all of them.
+ */
+final class ServerGame {
+    private static final Color[] COLOURS = {Color.BLUE, Color.RED};
+
+    private final int id;
+    private final GameServer server;
+    private final Connection[] seats;
+    private final GameState state;
+    private final GameTimer[] clocks;
+    private final GameActor actor;
+    private final long initialMillis;
+    private final long incrementMillis;
+    private final List<Connection> spectators = new ArrayList<>();
+    private SpectatorFeed feed;  // Created for the first spectator
+    private boolean over = false;
+
+    /**
+     * Sets up a game: gods, random worker placement and first player.
+     *
+     * @param id The game id sent to the players.
+     * @param server The server, told when the game ends.
+     * @param seats The connections of both players, in seat order.
+     * @param gods The god names in seat order.
+     * @param shop true to play with the artifact shop.
+     * @param mode The clock mode.
+     * @param initialMillis The starting time of each clock.
+     * @param incrementMillis The Fischer increment or Bronstein delay.
+     * @param executor The threads the game's events run on.
+     * @param random The source of the placement and first player.
+     */
+    ServerGame(int id, GameServer server, Connection[] seats, String[] gods, boolean shop, ClockMode mode,
+               long initialMillis, long incrementMillis, Executor executor, Random random) {
+        this.id = id;
+        this.server = server;
+        this.seats = seats;
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+
+        Player[] players = new Player[seats.length];
+        for (int seat = 0; seat < seats.length; seat++) {
+            players[seat] = new Player("Seat " + (seat + 1), GodRegistry.create(gods[seat]), COLOURS[seat]);
+        }
+        Board board = new Board(5, 5);
+        Worker.placeMultipleRandomly(board, List.of(players), random);
+        this.state = new GameState(board, players, random.nextInt(players.length), shop);
+
+        this.actor = new GameActor(executor, this::flush, this::fail);
+        this.clocks = new GameTimer[seats.length];
+        for (int seat = 0; seat < seats.length; seat++) {
+            int clockSeat = seat;
+            clocks[seat] = new GameTimer(initialMillis, mode, incrementMillis, GameTimer.getSharedScheduler());
+            clocks[seat].addListener(new TimerListener() {
+                @Override
+                public void onTick(int secondsLeft) {
+                }
+
+                @Override
+                public void onTimeExpired() {
+                    actor.submit(() -> end(1 - clockSeat, Protocol.BY_TIMEOUT));
+                }
+            });
+            seats[seat].seat = seat;
+            seats[seat].game = this;
+        }
+    }
+
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Queues an event of this game.
+     * @param event the event
+     */
+    void submit(Runnable event) {
+        actor.submit(event);
+    }
+
+    /**
+     * Sends the setup to both players and starts the first player's clock.
+     */
+    void start() {
+        Board board = state.getBoard();
+        short[] placements = new short[seats.length * 2];
+        for (Cell cell : board.getAllCells()) {
+            Worker worker = cell.getOccupiedBy();
+            if (worker == null) continue;
+            int seat = worker.getOwner() == state.getPlayers()[0] ? 0 : 1;
+            placements[seat * 2 + worker.getId()] = (short) board.indexOf(cell);
+        }
+        for (int seat = 0; seat < seats.length; seat++) {
+            ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + Protocol.START_SIZE);
+            Protocol.putHeader(frame, Protocol.START, Protocol.START_SIZE);
+            frame.putInt(id);
+            frame.put((byte) seat);
+            frame.put((byte) state.getCurrentPlayerIndex());
+            frame.put((byte) (state.isShopEnabled() ? 1 : 0));
+            for (Player player : state.getPlayers()) {
+                frame.put((byte) GodRegistry.indexOf(player.getGod().getName()));
+            }
+            for (short placement : placements) {
+                frame.putShort(placement);
+            }
+            frame.putInt((int) initialMillis);
+            frame.putInt((int) incrementMillis);
+            seats[seat].send(frame.flip());
+        }
+        clocks[state.getCurrentPlayerIndex()].start(true);
+    }
+
+    /**
+     * Applies a player's action and tells both players, or rejects it.
+     * @param seat the seat that sent the action
+     * @param code the encoded action
+     */
+    void onAction(int seat, int code) {
+        if (over) {
+            reject(seat, Protocol.NO_GAME, code);
+            return;
+        }
+        if (seat != state.getCurrentPlayerIndex()) {
+            reject(seat, Protocol.NOT_YOUR_TURN, code);
+            return;
+        }
+        Action action;
+        try {
+            action = Action.decode(code);
+        } catch (RuntimeException e) {
+            reject(seat, Protocol.ILLEGAL, code);
+            return;
+        }
+        if (!Rules.isLegal(state, action)) {
+            reject(seat, Protocol.ILLEGAL, code);
+            return;
+        }
+
+        Rules.apply(state, action);
+        server.countAction();
+        if (state.getCurrentPlayerIndex() != seat) {
+            clocks[seat].pause();
+            if (!Rules.isTerminal(state)) {
+                clocks[state.getCurrentPlayerIndex()].start(true);
+            }
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + Protocol.APPLIED_SIZE);
+        Protocol.putHeader(frame, Protocol.APPLIED, Protocol.APPLIED_SIZE);
+        frame.put((byte) seat);
+        frame.putInt(code);
+        frame.putInt((int) clocks[seat].getRemainingMillis());
+        broadcast(frame.flip());
+
+        if (Rules.isTerminal(state)) {
+            end(state.getWinnerIndex(), Protocol.BY_RULES);
+        }
+    }
+
+    /**
+     * Ends the game in favour of the other player, e.g. after a resignation or a lost connection.
+     * @param seat the seat that leaves the game
+     * @param reason why the game ends
+     */
+    void onLeave(int seat, byte reason) {
+        if (!over) {
+            end(1 - seat, reason);
+        }
+    }
+
+    /**
+     * Adds a spectator and sends it the whole position; from then on it gets every delta.
+     * @param connection the spectator
+     */
+    void addSpectator(Connection connection) {
+        if (over) {
+            reject(connection, Protocol.NO_GAME, id);
+            connection.flush();
+            return;
+        }
+        if (feed == null) {
+            feed = new SpectatorFeed(id, state, clocks);
+        }
+        spectators.add(connection);
+        connection.send(feed.snapshot());
+    }
+
+    private void end(int winner, byte reason) {
+        if (over) return;
+        over = true;
+        if (winner >= 0) {
+            Rules.forfeit(state, 1 - winner);
+        }
+        for (GameTimer clock : clocks) {
+            clock.stop();
+        }
+        if (reason != Protocol.BY_ERROR) {
+            feedSpectators();  // The last position before the result; after an error it may be broken
+        }
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + 2);
+        Protocol.putHeader(frame, Protocol.GAME_OVER, 2);
+        frame.put((byte) winner);
+        frame.put(reason);
+        // Free the players for their next game before they can hear about the end of this one
+        for (Connection connection : seats) {
+            connection.game = null;
+        }
+        broadcast(frame.flip());
+        for (Connection spectator : spectators) {
+            spectator.sendShared(frame);
+        }
+        if (feed != null) {
+            feed.close();
+        }
+        server.onGameOver(this);
+    }
+
+    /**
+     * Ends this game without a winner when one of its events fails, leaving the other games running.
+     * @param e what the event threw
+     */
+    private void fail(RuntimeException e) {
+        server.onGameError(this, e);
+        if (over) return;
+        end(-1, Protocol.BY_ERROR);
+        actor.submit(() -> { });  // One more batch, so the result is flushed even if flushing was what failed
+    }
+
+    private void reject(int seat, byte reason, int code) {
+        reject(seats[seat], reason, code);
+    }
+
+    /**
+     * Queues a rejection for a client.
+     * @param connection the client
+     * @param reason why the request is rejected
+     * @param code the action code or game id the client sent
+     */
+    static void reject(Connection connection, byte reason, int code) {
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + 5);
+        Protocol.putHeader(frame, Protocol.REJECTED, 5);
+        frame.put(reason);
+        frame.putInt(code);
+        connection.send(frame.flip());
+    }
+
+    private void broadcast(ByteBuffer frame) {
+        for (Connection connection : seats) {
+            connection.send(frame);
+        }
+    }
+
+    /**
+     * Queues one delta of everything that changed for all spectators, dropping those that have gone.
+     */
+    private void feedSpectators() {
+        spectators.removeIf(Connection::isClosed);
+        if (spectators.isEmpty()) return;
+        ByteBuffer delta = feed.delta();
+        if (delta == null) return;
+        for (Connection spectator : spectators) {
+            spectator.sendShared(delta);
+        }
+    }
+
+    /**
+     * Writes everything queued during a batch of events, one write per player and spectator.
+     */
+    private void flush() {
+        if (!over) {
+            feedSpectators();
+        }
+        for (Connection connection : seats) {
+            connection.flush();
+        }
+        for (Connection spectator : spectators) {
+            spectator.flush();
+        }
+        if (over) {
+            spectators.clear();
+        }
+    }
+}
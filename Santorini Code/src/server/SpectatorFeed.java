@@ -0,0 +1,178 @@
+package server;
+
+import Board.Board;
+import Board.Cell;
+import GameMode.gameutils.GameTimer;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import engine.GameState;
+import listeners.CellChangeListener;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * Encodes what spectators of one game see: the whole position once (see {@link Protocol#SNAPSHOT}) and after
+ * that only the cells, turn, clocks and tokens that changed (see {@link Protocol#DELTA}). Clocks are sent
+ * when the turn passes, with the increment added, rather than every time they tick.
+ * Cells are tracked with a board listener, so a delta only looks at the cells the actions touched; it is
+ * compared with what was last sent, so a cell that changed and changed back costs nothing.
+ * Deltas carry new values rather than differences, so one arriving after a snapshot that already showed
+ * some of it does no harm. Only used by the thread of its game.
+ */
+final class SpectatorFeed implements CellChangeListener {
+    private final int gameId;
+    private final GameState state;
+    private final GameTimer[] clocks;
+    private final Board board;
+    private final Player[] players;
+    private final BitSet touchedCells = new BitSet();
+    private final byte[] sentCells;
+    private final int[] sentClocks;
+    private final int[] sentTokens;
+    private int sentTurn;
+
+    /**
+     * Starts watching a game; the position at this point counts as sent.
+     * @param gameId the game id sent in snapshots
+     * @param state the game
+     * @param clocks the clocks in seat order
+     */
+    SpectatorFeed(int gameId, GameState state, GameTimer[] clocks) {
+        this.gameId = gameId;
+        this.state = state;
+        this.clocks = clocks;
+        this.board = state.getBoard();
+        this.players = state.getPlayers();
+        this.sentCells = new byte[board.getIndexSize()];
+        this.sentClocks = new int[players.length];
+        this.sentTokens = new int[players.length];
+        for (Cell cell : board.getAllCells()) {
+            sentCells[board.indexOf(cell)] = cellByte(cell);
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            sentClocks[seat] = clockMillis(seat);
+            sentTokens[seat] = players[seat].getTokens();
+        }
+        sentTurn = state.getCurrentPlayerIndex();
+        board.addCellChangeListener(this);
+    }
+
+    @Override
+    public void onCellChanged(Cell cell, int previousLevel, boolean previousDome, boolean previousFlooded,
+                              Worker previousOccupant) {
+        touchedCells.set(board.indexOf(cell));
+    }
+
+    /**
+     * Encodes the whole position as it is now, for a new spectator.
+     * @return the snapshot frame
+     */
+    ByteBuffer snapshot() {
+        int size = 4 + 2 + players.length + sentCells.length + 1 + players.length * (4 + 2);
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.HEADER_SIZE + size);
+        Protocol.putHeader(frame, Protocol.SNAPSHOT, size);
+        frame.putInt(gameId);
+        frame.put((byte) board.getRows());
+        frame.put((byte) board.getCols());
+        for (Player player : players) {
+            frame.put((byte) GodRegistry.indexOf(player.getGod().getName()));
+        }
+        for (int index = 0; index < sentCells.length; index++) {
+            Cell cell = board.getCell(index);
+            frame.put(cell == null ? 0 : cellByte(cell));
+        }
+        frame.put((byte) state.getCurrentPlayerIndex());
+        for (int seat = 0; seat < players.length; seat++) {
+            frame.putInt(clockMillis(seat));
+        }
+        for (Player player : players) {
+            frame.putShort((short) player.getTokens());
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes everything that changed since the last delta and counts it as sent.
+     * The frame is a direct buffer, so it goes to every spectator's socket without being copied again.
+     * @return the delta frame, or null if nothing changed.
+     */
+    ByteBuffer delta() {
+        int changedCells = 0;
+        for (int index = touchedCells.nextSetBit(0); index >= 0; index = touchedCells.nextSetBit(index + 1)) {
+            if (cellByte(board.getCell(index)) != sentCells[index]) {
+                changedCells++;
+            } else {
+                touchedCells.clear(index);
+            }
+        }
+        boolean turnChanged = state.getCurrentPlayerIndex() != sentTurn;
+        boolean clocksChanged = false;
+        boolean tokensChanged = false;
+        for (int seat = 0; seat < players.length; seat++) {
+            // The running clock is only sent when the turn passes; spectators count it down themselves
+            clocksChanged |= turnChanged && clockMillis(seat) != sentClocks[seat];
+            tokensChanged |= players[seat].getTokens() != sentTokens[seat];
+        }
+        int parts = (changedCells > 0 ? Protocol.DELTA_CELLS : 0) | (turnChanged ? Protocol.DELTA_TURN : 0)
+                | (clocksChanged ? Protocol.DELTA_CLOCKS : 0) | (tokensChanged ? Protocol.DELTA_TOKENS : 0);
+        if (parts == 0) return null;
+
+        int size = 1 + (changedCells > 0 ? 2 + changedCells * 3 : 0) + (turnChanged ? 1 : 0)
+                + (clocksChanged ? players.length * 4 : 0) + (tokensChanged ? players.length * 2 : 0);
+        ByteBuffer frame = ByteBuffer.allocateDirect(Protocol.HEADER_SIZE + size);
+        Protocol.putHeader(frame, Protocol.DELTA, size);
+        frame.put((byte) parts);
+        if (changedCells > 0) {
+            frame.putShort((short) changedCells);
+            for (int index = touchedCells.nextSetBit(0); index >= 0; index = touchedCells.nextSetBit(index + 1)) {
+                sentCells[index] = cellByte(board.getCell(index));
+                frame.putShort((short) index);
+                frame.put(sentCells[index]);
+            }
+            touchedCells.clear();
+        }
+        if (turnChanged) {
+            sentTurn = state.getCurrentPlayerIndex();
+            frame.put((byte) sentTurn);
+        }
+        if (clocksChanged) {
+            for (int seat = 0; seat < players.length; seat++) {
+                sentClocks[seat] = clockMillis(seat);
+                frame.putInt(sentClocks[seat]);
+            }
+        }
+        if (tokensChanged) {
+            for (int seat = 0; seat < players.length; seat++) {
+                sentTokens[seat] = players[seat].getTokens();
+                frame.putShort((short) sentTokens[seat]);
+            }
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Stops listening to the board.
+     */
+    void close() {
+        board.removeCellChangeListener(this);
+    }
+
+    private int clockMillis(int seat) {
+        return (int) clocks[seat].getRemainingMillis();
+    }
+
+    private byte cellByte(Cell cell) {
+        Worker worker = cell.getOccupiedBy();
+        int occupant = 0;
+        if (worker != null) {
+            int seat = worker.getOwner() == players[0] ? 0 : 1;
+            occupant = seat * 2 + worker.getId() + 1;
+        }
+        return (byte) (cell.getBlock().getLevel()
+                | (cell.getBlock().hasDome() ? Protocol.CELL_DOME : 0)
+                | (cell.isFlooded() ? Protocol.CELL_FLOODED : 0)
+                | occupant << Protocol.CELL_OCCUPANT_SHIFT);
+    }
+}
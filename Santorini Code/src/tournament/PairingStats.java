@@ -0,0 +1,101 @@
+package tournament;
+
+/**
+ * Results of the games between two gods under one shop setting.
+ * Chunks of games are counted separately and merged, so no counter is shared between threads.
+ */
+public class PairingStats {
+    private static final double Z_95 = 1.959964;
+
+    private final String godA;
+    private final String godB;
+    private final boolean shop;
+
+    long games;
+    long winsA;
+    long draws;
+    long firstPlayerWins;
+    long turns;
+    long actions;
+    long tokensEarnedA;
+    long tokensEarnedB;
+    long artifactsBought;
+    long artifactsUsed;
+
+    /**
+     * Creates empty stats for a pairing.
+     *
+     * @param godA The name of the first god; win rates are reported for this god.
+     * @param godB The name of the second god.
+     * @param shop true if the games were played with the artifact shop.
+     */
+    public PairingStats(String godA, String godB, boolean shop) {
+        this.godA = godA;
+        this.godB = godB;
+        this.shop = shop;
+    }
+
+    /**
+     * Adds the counts of another chunk of the same pairing.
+     *
+     * @param other The stats to add.
+     */
+    public void merge(PairingStats other) {
+        games += other.games;
+        winsA += other.winsA;
+        draws += other.draws;
+        firstPlayerWins += other.firstPlayerWins;
+        turns += other.turns;
+        actions += other.actions;
+        tokensEarnedA += other.tokensEarnedA;
+        tokensEarnedB += other.tokensEarnedB;
+        artifactsBought += other.artifactsBought;
+        artifactsUsed += other.artifactsUsed;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Retrieves the share of games won by the first god, counting draws as half a win.
+     * @return the win rate between 0 and 1.
+     */
+    public double getWinRateA() {
+        return games == 0 ? 0.0 : (winsA + 0.5 * draws) / games;
+    }
+
+    /**
+     * Computes the 95% Wilson score interval of the first god's win rate.
+     * @return the lower and upper bound.
+     */
+    public double[] getWinRateInterval() {
+        if (games == 0) return new double[]{0.0, 1.0};
+
+        double n = games;
+        double p = getWinRateA();
+        double z2 = Z_95 * Z_95;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / (1 + z2 / n);
+        return new double[]{Math.max(0.0, centre - margin), Math.min(1.0, centre + margin)};
+    }
+
+    /**
+     * Formats the stats as one report line.
+     * @return the line.
+     */
+    public String toLine() {
+        double[] interval = getWinRateInterval();
+        double perGame = Math.max(1, games);
+        return String.format(
+                "shop=%-3s %-8s vs %-8s games=%d  %s wins %.2f%% [%.2f, %.2f]  draws=%d  first player wins %.2f%%"
+                        + "  turns/game %.1f  actions/game %.1f  tokens earned %s %.2f %s %.2f"
+                        + "  artifacts bought/game %.2f used/game %.2f",
+                shop ? "on" : "off", godA, godB, games,
+                godA, 100 * getWinRateA(), 100 * interval[0], 100 * interval[1], draws,
+                100.0 * firstPlayerWins / perGame,
+                turns / perGame, actions / perGame,
+                godA, tokensEarnedA / perGame, godB, tokensEarnedB / perGame,
+                artifactsBought / perGame, artifactsUsed / perGame);
+    }
+}
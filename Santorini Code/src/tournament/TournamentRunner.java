@@ -0,0 +1,332 @@
+package tournament;
+
+import Board.Board;
+import GodCard.GodRegistry;
+import Player.Player;
+import Player.Worker;
+import ai.AlphaBetaPlayer;
+import ai.ComputerPlayer;
+import ai.MctsPlayer;
+import ai.RandomPlayer;
+import ai.TranspositionTable;
+import engine.Action;
+import engine.ActionType;
+import engine.GameState;
+import engine.Rules;
+import records.GameArchiveWriter;
+import records.GameRecord;
+import records.GameRecordSink;
+import records.GameRecordWriter;
+import records.GameRecorder;
+
+import java.awt.Color;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless self-play tournament for god card and artifact balance.
+ * Plays every pairing of the registered gods, with and without the shop, between computer players,
+ * and prints one line per pairing as soon as all of its games are done.
+ * Games are split into chunks that run on every core; each chunk counts into its own {@link PairingStats}.
+ * With --record every game is also appended to a game record stream, with --archive to an indexed archive.
+ *
+ * <pre>
+ * java tournament.TournamentRunner [--games N] [--agent random|alphabeta:MS|mcts:MS]
+ *                                  [--shop on|off|both] [--gods Artemis,Demeter,...] [--threads T] [--seed S]
+ *                                  [--record FILE | --archive FILE]
+ * </pre>
+ */
+public class TournamentRunner {
+    private static final int CHUNK_GAMES = 500;
+    private static final int MAX_ACTIONS = 10_000;  // Games longer than this are counted as draws
+
+    private final int gamesPerPairing;
+    private final String agent;
+    private final List<Boolean> shopSettings;
+    private final List<String> gods;
+    private final int threads;
+    private final long seed;
+    private GameRecordSink recordWriter;  // Null unless games are recorded
+
+    /**
+     * Creates a runner.
+     *
+     * @param gamesPerPairing The number of games per pairing and shop setting.
+     * @param agent The computer player used by both seats (see the class comment).
+     * @param shopSettings The shop settings to play (true = with shop).
+     * @param gods The names of the gods to pair up.
+     * @param threads The number of worker threads.
+     * @param seed The seed all game seeds are derived from.
+     */
+    public TournamentRunner(int gamesPerPairing, String agent, List<Boolean> shopSettings, List<String> gods,
+                            int threads, long seed) {
+        for (String god : gods) {
+            GodRegistry.indexOf(god);  // Rejects unknown gods
+        }
+        checkAgent(agent);  // Before any thread starts
+
+        this.gamesPerPairing = gamesPerPairing;
+        this.agent = agent;
+        this.shopSettings = shopSettings;
+        this.gods = gods;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Appends every game played from now on to a record stream or archive.
+     *
+     * @param recordWriter The writer, or null to stop recording. The caller closes it.
+     */
+    public void setRecordWriter(GameRecordSink recordWriter) {
+        this.recordWriter = recordWriter;
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        int games = 1000;
+        String agent = "random";
+        List<Boolean> shop = List.of(false, true);
+        List<String> gods = new ArrayList<>(GodRegistry.names());
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String recordFile = null;
+        boolean archive = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(value);
+                case "--agent" -> agent = value;
+                case "--shop" -> shop = switch (value) {
+                    case "on" -> List.of(true);
+                    case "off" -> List.of(false);
+                    default -> List.of(false, true);
+                };
+                case "--gods" -> gods = List.of(value.split(","));
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--record" -> recordFile = value;
+                case "--archive" -> {
+                    recordFile = value;
+                    archive = true;
+                }
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println("Usage: TournamentRunner [--games N] [--agent random|alphabeta:MS|mcts:MS]"
+                            + " [--shop on|off|both] [--gods A,B,...] [--threads T] [--seed S]"
+                            + " [--record FILE | --archive FILE]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+
+        System.out.println("# agent=" + agent + " games/pairing=" + games + " threads=" + threads + " seed=" + seed);
+        long start = System.nanoTime();
+        TournamentRunner runner = new TournamentRunner(games, agent, shop, gods, threads, seed);
+        GameRecordSink writer = recordFile == null ? null
+                : archive ? new GameArchiveWriter(Path.of(recordFile))
+                : new GameRecordWriter(new FileOutputStream(recordFile));
+        runner.setRecordWriter(writer);
+        List<PairingStats> results;
+        try {
+            results = runner.run();
+        } finally {
+            if (writer != null) writer.close();
+        }
+        long totalGames = results.stream().mapToLong(PairingStats::getGames).sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("# %d games in %.1f s (%.0f games/s)%n", totalGames, seconds, totalGames / seconds);
+        if (writer != null) {
+            System.out.printf("# recorded %d games in %d bytes (%.1f bytes/game) to %s%n", writer.getGames(),
+                    writer.getBytes(), (double) writer.getBytes() / Math.max(1, writer.getGames()), recordFile);
+        }
+    }
+
+    /**
+     * Plays all pairings, printing each pairing's line to standard output as soon as it is complete.
+     *
+     * @return the stats of every pairing.
+     */
+    public List<PairingStats> run() throws InterruptedException, ExecutionException {
+        List<PairingStats> totals = new ArrayList<>();
+        List<Integer> chunksLeft = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ExecutorCompletionService<Chunk> completion = new ExecutorCompletionService<>(pool);
+        SplittableRandom seeds = new SplittableRandom(seed);
+
+        int submitted = 0;
+        for (boolean shop : shopSettings) {
+            for (int a = 0; a < gods.size(); a++) {
+                for (int b = a + 1; b < gods.size(); b++) {
+                    int pairing = totals.size();
+                    String godA = gods.get(a);
+                    String godB = gods.get(b);
+                    totals.add(new PairingStats(godA, godB, shop));
+
+                    int chunks = 0;
+                    for (int first = 0; first < gamesPerPairing; first += CHUNK_GAMES) {
+                        int count = Math.min(CHUNK_GAMES, gamesPerPairing - first);
+                        long chunkSeed = seeds.nextLong();
+                        completion.submit(() -> new Chunk(pairing, playChunk(godA, godB, shop, count, chunkSeed)));
+                        chunks++;
+                    }
+                    chunksLeft.add(chunks);
+                    submitted += chunks;
+                }
+            }
+        }
+
+        try {
+            for (int done = 0; done < submitted; done++) {
+                Chunk chunk = completion.take().get();
+                totals.get(chunk.pairing()).merge(chunk.stats());
+                int left = chunksLeft.get(chunk.pairing()) - 1;
+                chunksLeft.set(chunk.pairing(), left);
+                if (left == 0) {
+                    System.out.println(totals.get(chunk.pairing()).toLine());
+                    System.out.flush();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return totals;
+    }
+
+    private record Chunk(int pairing, PairingStats stats) {}
+
+    /**
+     * Plays a chunk of games of one pairing on the calling thread. God A takes alternate seats.
+     */
+    private PairingStats playChunk(String godA, String godB, boolean shop, int count, long chunkSeed) {
+        PairingStats stats = new PairingStats(godA, godB, shop);
+        Random random = new Random(chunkSeed);
+        ComputerPlayer[] agents = {createAgent(agent, random.nextLong()), createAgent(agent, random.nextLong())};
+        try {
+            for (int game = 0; game < count; game++) {
+                int seatA = game % 2;
+                Player playerA = new Player(godA, GodRegistry.create(godA), Color.BLUE);
+                Player playerB = new Player(godB, GodRegistry.create(godB), Color.RED);
+                Player[] players = seatA == 0 ? new Player[]{playerA, playerB} : new Player[]{playerB, playerA};
+
+                Board board = new Board(5, 5);
+                Worker.placeMultipleRandomly(board, List.of(players), random);
+                int firstPlayer = random.nextInt(2);
+                GameState state = new GameState(board, players, firstPlayer, shop);
+                GameRecorder recorder = recordWriter != null ? new GameRecorder(state, false, null) : null;
+                playGame(state, agents, seatA, stats, recorder);
+                if (recorder != null) {
+                    record(recorder.toRecord(Rules.isTerminal(state) ? GameRecord.End.RULES
+                            : GameRecord.End.UNFINISHED));
+                }
+
+                if (state.getWinnerIndex() < 0) {
+                    stats.draws++;
+                } else {
+                    if (state.getWinnerIndex() == seatA) stats.winsA++;
+                    if (state.getWinnerIndex() == firstPlayer) stats.firstPlayerWins++;
+                }
+                stats.games++;
+            }
+        } finally {
+            for (ComputerPlayer computer : agents) {
+                computer.close();
+            }
+        }
+        return stats;
+    }
+
+    private void record(GameRecord record) {
+        try {
+            recordWriter.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void playGame(GameState state, ComputerPlayer[] agents, int seatA, PairingStats stats,
+                                 GameRecorder recorder) {
+        Player[] players = state.getPlayers();
+        int[] spent = new int[players.length];
+        int[] startTokens = {players[0].getTokens(), players[1].getTokens()};
+        int actions = 0;
+        int turns = 1;
+
+        while (!Rules.isTerminal(state) && actions < MAX_ACTIONS) {
+            int seat = state.getCurrentPlayerIndex();
+            Action action = agents[seat].chooseAction(state, 0);
+            if (action.getType() == ActionType.BUY) {
+                spent[seat] += action.getArtifact().getCost();
+                stats.artifactsBought++;
+            } else if (action.getType() == ActionType.USE_ARTIFACT) {
+                stats.artifactsUsed++;
+            }
+
+            Rules.apply(state, action);
+            if (recorder != null) recorder.onAction(action);
+            actions++;
+            if (state.getCurrentPlayerIndex() != seat) turns++;
+        }
+
+        stats.actions += actions;
+        stats.turns += turns;
+        stats.tokensEarnedA += players[seatA].getTokens() + spent[seatA] - startTokens[seatA];
+        stats.tokensEarnedB += players[1 - seatA].getTokens() + spent[1 - seatA] - startTokens[1 - seatA];
+    }
+
+    /**
+     * Checks a computer player spec without creating the player, as a search player's tables are large.
+     * @throws IllegalArgumentException if the agent is unknown or its budget is not a number.
+     */
+    private static void checkAgent(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length > 2 || !List.of("random", "alphabeta", "mcts").contains(parts[0])) {
+            throw new IllegalArgumentException("Unknown agent " + spec);
+        }
+        budgetOf(parts);
+    }
+
+    private static long budgetOf(String[] parts) {
+        return parts.length > 1 ? Long.parseLong(parts[1]) : 20;
+    }
+
+    /**
+     * Creates a computer player from a spec such as "random", "alphabeta:20" or "mcts:50".
+     */
+    private static ComputerPlayer createAgent(String spec, long agentSeed) {
+        String[] parts = spec.split(":");
+        long budget = budgetOf(parts);
+        return switch (parts[0]) {
+            case "random" -> new RandomPlayer(agentSeed);
+            case "alphabeta" -> new BudgetedPlayer(new AlphaBetaPlayer(TranspositionTable.ofMegabytes(16)), budget);
+            case "mcts" -> new BudgetedPlayer(new MctsPlayer(1, agentSeed), budget);
+            default -> throw new IllegalArgumentException("Unknown agent " + spec);
+        };
+    }
+
+    /**
+     * Gives a search player a fixed budget per action and keeps its search away from the live game.
+     */
+    private record BudgetedPlayer(ComputerPlayer player, long budgetMillis) implements ComputerPlayer {
+        @Override
+        public Action chooseAction(GameState state, long ignored) {
+            return player.chooseAction(state.copy(), budgetMillis);
+        }
+
+        @Override
+        public void close() {
+            player.close();
+        }
+    }
+}